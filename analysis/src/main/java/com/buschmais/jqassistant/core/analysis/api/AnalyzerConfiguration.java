@@ -1,6 +1,7 @@
 package com.buschmais.jqassistant.core.analysis.api;
 
 import com.buschmais.jqassistant.core.rule.api.executor.RuleSetExecutorConfiguration;
+import com.buschmais.jqassistant.core.shared.metrics.MetricsRegistry;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -12,10 +13,52 @@ import lombok.Setter;
 @Setter
 public class AnalyzerConfiguration {
 
+    /**
+     * The report property of a rule overriding
+     * {@link #getRuleExecutionTimeoutSeconds()}.
+     */
+    public static final String PROPERTY_EXECUTION_TIMEOUT_SECONDS = "executionTimeoutSeconds";
+
+    /**
+     * The report property of a rule overriding {@link #getMaxResultRows()}.
+     */
+    public static final String PROPERTY_MAX_RESULT_ROWS = "maxResultRows";
+
     private boolean executeAppliedConcepts = false;
 
     private RuleSetExecutorConfiguration ruleSetExecutorConfiguration = new RuleSetExecutorConfiguration();
 
     private int warnOnRuleExecutionTimeSeconds = 5;
 
+    /**
+     * The maximum number of rows of a rule result retained for reporting, `0`
+     * retains all rows.
+     */
+    private int maxRetainedRows = 0;
+
+    /**
+     * The time limit for executing a single rule in seconds, `0` disables the
+     * limit. A rule exceeding it is aborted and reported with status
+     * {@link com.buschmais.jqassistant.core.report.api.model.Result.Status#TIMEOUT}.
+     */
+    private int ruleExecutionTimeoutSeconds = 0;
+
+    /**
+     * The time limit for executing all rules in seconds, `0` disables the limit.
+     * Rules executed after exceeding it are reported as timed out.
+     */
+    private int analysisTimeoutSeconds = 0;
+
+    /**
+     * The maximum number of rows returned by a rule, `0` disables the limit. A
+     * rule exceeding it is aborted and reported as failed.
+     */
+    private long maxResultRows = 0;
+
+    /**
+     * The {@link MetricsRegistry} for recording execution times and row counts of
+     * concepts and constraints.
+     */
+    private MetricsRegistry metricsRegistry = MetricsRegistry.NOOP;
+
 }
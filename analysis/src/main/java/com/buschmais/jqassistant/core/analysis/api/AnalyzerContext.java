@@ -68,6 +68,44 @@ public interface AnalyzerContext {
     <T extends ExecutableRule<?>> Result.Status verify(T executable, List<String> columnNames, List<Map<String, Object>> rows, Verification verification)
             throws RuleException;
 
+    /**
+     * Create a {@link RowVerifier} for the rows returned by a query for an
+     * executable.
+     *
+     * The default implementation collects all rows and delegates to
+     * {@link #verify(ExecutableRule, List, List)}.
+     *
+     * @param <T>
+     *            The type of the executable.
+     * @param executable
+     *            The executable.
+     * @return The {@link RowVerifier}.
+     * @throws RuleException
+     *             If no valid verification strategy can be found.
+     */
+    default <T extends ExecutableRule<?>> RowVerifier createRowVerifier(T executable) throws RuleException {
+        return new CollectingRowVerifier((columnNames, rows) -> verify(executable, columnNames, rows));
+    }
+
+    /**
+     * Return the maximum number of rows of a query result which are retained in
+     * a {@link Result} for reporting, all rows are still verified.
+     *
+     * @return The maximum number of retained rows, `0` retains all rows.
+     */
+    default int getMaxRetainedRows() {
+        return 0;
+    }
+
+    /**
+     * Return the {@link RuleExecutionGuard} for the rule currently executed.
+     *
+     * @return The {@link RuleExecutionGuard}.
+     */
+    default RuleExecutionGuard getExecutionGuard() {
+        return RuleExecutionGuard.UNLIMITED;
+    }
+
     /**
      * Return a Result.ResultBuilder based on a {@link ExecutableRule} and
      * {@link Severity}.
@@ -0,0 +1,62 @@
+package com.buschmais.jqassistant.core.analysis.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.buschmais.jqassistant.core.report.api.model.Result;
+import com.buschmais.jqassistant.core.rule.api.model.RuleException;
+
+/**
+ * A {@link RowVerifier} collecting all rows and verifying them at once, e.g.
+ * for verifications which are not able to process rows incrementally.
+ */
+public class CollectingRowVerifier implements RowVerifier {
+
+    /**
+     * Verifies all rows of a result at once.
+     */
+    @FunctionalInterface
+    public interface RowsVerifier {
+
+        /**
+         * Verify the rows.
+         *
+         * @param columnNames
+         *            The column names, `null` if no row has been returned.
+         * @param rows
+         *            The rows.
+         * @return The status.
+         * @throws RuleException
+         *             If the rows cannot be verified.
+         */
+        Result.Status verify(List<String> columnNames, List<Map<String, Object>> rows) throws RuleException;
+    }
+
+    private final RowsVerifier rowsVerifier;
+
+    private final List<Map<String, Object>> rows = new ArrayList<>();
+
+    private List<String> columnNames;
+
+    /**
+     * Constructor.
+     *
+     * @param rowsVerifier
+     *            The {@link RowsVerifier} to delegate to.
+     */
+    public CollectingRowVerifier(RowsVerifier rowsVerifier) {
+        this.rowsVerifier = rowsVerifier;
+    }
+
+    @Override
+    public void verify(List<String> columnNames, Map<String, Object> row) {
+        this.columnNames = columnNames;
+        rows.add(row);
+    }
+
+    @Override
+    public Result.Status getStatus() throws RuleException {
+        return rowsVerifier.verify(columnNames, rows);
+    }
+}
@@ -0,0 +1,36 @@
+package com.buschmais.jqassistant.core.analysis.api;
+
+import java.util.List;
+import java.util.Map;
+
+import com.buschmais.jqassistant.core.report.api.model.Result;
+import com.buschmais.jqassistant.core.rule.api.model.RuleException;
+
+/**
+ * Verifies the rows returned by a query for an executable incrementally, i.e.
+ * the rows are passed one at a time while the query result is processed.
+ */
+public interface RowVerifier {
+
+    /**
+     * Verify a row.
+     *
+     * @param columnNames
+     *            The column names.
+     * @param row
+     *            The row.
+     * @throws RuleException
+     *             If the row cannot be verified.
+     */
+    void verify(List<String> columnNames, Map<String, Object> row) throws RuleException;
+
+    /**
+     * Return the status for all rows verified so far.
+     *
+     * @return The status.
+     * @throws RuleException
+     *             If the status cannot be determined.
+     */
+    Result.Status getStatus() throws RuleException;
+
+}
@@ -0,0 +1,93 @@
+package com.buschmais.jqassistant.core.analysis.api;
+
+import java.util.concurrent.TimeUnit;
+
+import com.buschmais.jqassistant.core.report.api.model.Result;
+
+/**
+ * Guards the execution of a rule against exceeding its time and row limits.
+ *
+ * The guard is provided by {@link AnalyzerContext#getExecutionGuard()},
+ * {@link RuleInterpreterPlugin}s check the row limit while processing the
+ * result of a rule, e.g. for each row returned by a query. The time limit is
+ * enforced by the database using a transaction timeout (see
+ * {@link com.buschmais.jqassistant.core.store.api.Store#beginTransaction(long, TimeUnit)}).
+ */
+public final class RuleExecutionGuard {
+
+    /**
+     * A guard without limits.
+     */
+    public static final RuleExecutionGuard UNLIMITED = new RuleExecutionGuard(Long.MAX_VALUE, 0);
+
+    private final long start = System.nanoTime();
+
+    private final long timeoutNanos;
+
+    private final long maxRows;
+
+    private RuleExecutionGuard(long timeoutNanos, long maxRows) {
+        this.timeoutNanos = timeoutNanos;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Create a guard, the time limit starts immediately.
+     *
+     * @param timeoutNanos
+     *            The time limit in nanoseconds, {@link Long#MAX_VALUE} for no
+     *            limit.
+     * @param maxRows
+     *            The maximum number of rows, `0` for no limit.
+     * @return The {@link RuleExecutionGuard}.
+     */
+    public static RuleExecutionGuard create(long timeoutNanos, long maxRows) {
+        return new RuleExecutionGuard(timeoutNanos, maxRows);
+    }
+
+    /**
+     * Determine if a time limit is set.
+     *
+     * @return `true` if a time limit is set.
+     */
+    public boolean hasTimeout() {
+        return timeoutNanos != Long.MAX_VALUE;
+    }
+
+    /**
+     * Return the remaining time until the time limit is reached.
+     *
+     * @param unit
+     *            The {@link TimeUnit}.
+     * @return The remaining time, {@link Long#MAX_VALUE} if no time limit is set.
+     */
+    public long getRemaining(TimeUnit unit) {
+        if (!hasTimeout()) {
+            return Long.MAX_VALUE;
+        }
+        return unit.convert(Math.max(0, timeoutNanos - (System.nanoTime() - start)), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Determine if the time limit has been exceeded.
+     *
+     * @return `true` if the time limit has been exceeded.
+     */
+    public boolean isTimedOut() {
+        return hasTimeout() && System.nanoTime() - start >= timeoutNanos;
+    }
+
+    /**
+     * Verify that the row limit has not been exceeded.
+     *
+     * @param rowCount
+     *            The number of rows processed so far.
+     * @throws RuleExecutionLimitException
+     *             If the row limit has been exceeded.
+     */
+    public void check(long rowCount) throws RuleExecutionLimitException {
+        if (maxRows > 0 && rowCount > maxRows) {
+            throw new RuleExecutionLimitException("The result exceeds the limit of " + maxRows + " rows.", Result.Status.FAILURE);
+        }
+    }
+}
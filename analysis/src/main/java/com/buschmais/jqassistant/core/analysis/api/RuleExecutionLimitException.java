@@ -0,0 +1,27 @@
+package com.buschmais.jqassistant.core.analysis.api;
+
+import com.buschmais.jqassistant.core.report.api.model.Result;
+import com.buschmais.jqassistant.core.rule.api.model.RuleException;
+
+/**
+ * Thrown by a {@link RuleExecutionGuard} if the execution of a rule exceeds
+ * one of its limits.
+ */
+public class RuleExecutionLimitException extends RuleException {
+
+    private final Result.Status status;
+
+    public RuleExecutionLimitException(String message, Result.Status status) {
+        super(message);
+        this.status = status;
+    }
+
+    /**
+     * Return the status the rule shall be reported with.
+     *
+     * @return The status.
+     */
+    public Result.Status getStatus() {
+        return status;
+    }
+}
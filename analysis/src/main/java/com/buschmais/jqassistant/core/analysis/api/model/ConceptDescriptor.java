@@ -11,7 +11,7 @@ import com.buschmais.xo.neo4j.api.annotation.Label;
 @Label("Concept")
 public interface ConceptDescriptor extends Descriptor {
 
-    @Indexed
+    @Indexed(unique = true)
     String getId();
 
     void setId(String id);
@@ -19,4 +19,25 @@ public interface ConceptDescriptor extends Descriptor {
     Result.Status getStatus();
 
     void setStatus(Result.Status status);
+
+    /**
+     * Return the hash of the executable, parameters and verification the concept
+     * has been applied with.
+     *
+     * @return The hash or `null` if the concept has been applied by a previous
+     *         version.
+     */
+    String getRuleHash();
+
+    void setRuleHash(String ruleHash);
+
+    /**
+     * Return the modification stamp of the graph the concept has been applied to.
+     *
+     * @return The stamp as provided by
+     *         {@link com.buschmais.jqassistant.core.store.api.Store#getGraphStamp()}.
+     */
+    Long getGraphStamp();
+
+    void setGraphStamp(Long graphStamp);
 }
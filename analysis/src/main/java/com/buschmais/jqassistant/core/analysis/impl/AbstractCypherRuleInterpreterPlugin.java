@@ -1,19 +1,26 @@
 package com.buschmais.jqassistant.core.analysis.impl;
 
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import com.buschmais.jqassistant.core.analysis.api.AnalyzerContext;
+import com.buschmais.jqassistant.core.analysis.api.CollectingRowVerifier;
+import com.buschmais.jqassistant.core.analysis.api.RowVerifier;
+import com.buschmais.jqassistant.core.analysis.api.RuleExecutionGuard;
 import com.buschmais.jqassistant.core.analysis.api.RuleInterpreterPlugin;
 import com.buschmais.jqassistant.core.report.api.model.Result;
+import com.buschmais.jqassistant.core.report.api.model.Row;
 import com.buschmais.jqassistant.core.report.api.model.Suppress;
 import com.buschmais.jqassistant.core.rule.api.model.ExecutableRule;
 import com.buschmais.jqassistant.core.rule.api.model.RuleException;
 import com.buschmais.jqassistant.core.rule.api.model.Severity;
+import com.buschmais.jqassistant.core.shared.annotation.ToBeRemovedInVersion;
 import com.buschmais.xo.api.Query;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import static com.buschmais.jqassistant.core.report.api.model.Result.Status;
 import static java.util.Collections.unmodifiableList;
 
@@ -21,38 +28,101 @@ import static java.util.Collections.unmodifiableList;
  * Abstract base class for {@link RuleInterpreterPlugin}s executing cypher
  * queries.
  *
- * The
+ * The rows of the query result are processed one at a time: suppressed rows
+ * are filtered, the remaining rows are passed to a {@link RowVerifier} and
+ * retained for reporting up to {@link AnalyzerContext#getMaxRetainedRows()}.
+ * Retained rows are represented as compact {@link Row}s sharing the column
+ * names.
+ *
+ * Queries are normalized using a {@link CypherQueryCache} before execution,
+ * its size can be configured using the plugin property
+ * {@value #PROPERTY_QUERY_CACHE_MAXIMUM_SIZE}.
  */
 public abstract class AbstractCypherRuleInterpreterPlugin implements RuleInterpreterPlugin {
 
+    public static final String PROPERTY_QUERY_CACHE_MAXIMUM_SIZE = "cypher.queryCache.maximumSize";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractCypherRuleInterpreterPlugin.class);
+
+    private long queryCacheMaximumSize = CypherQueryCache.DEFAULT_MAXIMUM_SIZE;
+
+    private CypherQueryCache queryCache = new CypherQueryCache(queryCacheMaximumSize);
+
+    /**
+     * Indicates if a sub-class overrides the deprecated
+     * {@link #getStatus(ExecutableRule, List, List, AnalyzerContext)}.
+     */
+    private final boolean statusOverridden = isStatusOverridden(getClass());
+
+    /**
+     * Configures the query cache, the cache is kept across re-configurations
+     * (e.g. for the modules of a multi-module build) as long as its size is not
+     * changed.
+     */
+    @Override
+    public void configure(Map<String, Object> properties) {
+        Object maximumSize = properties.get(PROPERTY_QUERY_CACHE_MAXIMUM_SIZE);
+        long queryCacheMaximumSize = maximumSize != null ? Long.parseLong(maximumSize.toString()) : CypherQueryCache.DEFAULT_MAXIMUM_SIZE;
+        if (queryCacheMaximumSize != this.queryCacheMaximumSize) {
+            this.queryCacheMaximumSize = queryCacheMaximumSize;
+            this.queryCache = new CypherQueryCache(queryCacheMaximumSize);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        LOGGER.debug("Cypher query cache: {}", queryCache.getStats());
+    }
+
     protected <T extends ExecutableRule<?>> Result<T> execute(String cypher, T executableRule, Map<String, Object> parameters, Severity severity,
             AnalyzerContext context) throws RuleException {
-        List<Map<String, Object>> rows = new LinkedList<>();
+        cypher = queryCache.get(cypher);
+        List<Map<String, Object>> rows = new ArrayList<>();
         context.getLogger().debug("Executing query '" + cypher + "' with parameters [" + parameters + "]");
+        RowVerifier rowVerifier = getRowVerifier(executableRule, context);
+        RuleExecutionGuard executionGuard = context.getExecutionGuard();
+        int maxRetainedRows = context.getMaxRetainedRows();
+        long fetchedRows = 0;
+        int rowCount = 0;
         String primaryColumn = null;
         List<String> columnNames = null;
+        Row.Columns columns = null;
         try (Query.Result<Query.Result.CompositeRowObject> compositeRowObjects = context.getStore().executeQuery(cypher, parameters)) {
             for (Query.Result.CompositeRowObject rowObject : compositeRowObjects) {
+                // results are streamed, aborting the iteration stops the query
+                executionGuard.check(++fetchedRows);
                 if (columnNames == null) {
                     columnNames = unmodifiableList(rowObject.getColumns());
+                    columns = Row.columns(columnNames);
                     primaryColumn = executableRule.getReport().getPrimaryColumn();
                     if (primaryColumn == null) {
                         primaryColumn = columnNames.get(0);
                     }
                 }
-                Map<String, Object> row = new LinkedHashMap<>();
-                for (String columnName : columnNames) {
-                    row.put(columnName, rowObject.get(columnName, Object.class));
+                Object[] values = new Object[columnNames.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = rowObject.get(columnNames.get(i), Object.class);
                 }
+                Row row = columns.row(values);
                 if (!isSuppressedRow(executableRule.getId(), row, primaryColumn)) {
-                    rows.add(row);
+                    rowVerifier.verify(columnNames, row);
+                    if (maxRetainedRows <= 0 || rowCount < maxRetainedRows) {
+                        rows.add(row);
+                    }
+                    rowCount++;
                 }
             }
+        } catch (RuleException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuleException("Cannot execute query for rule '" + executableRule + "'.", e);
         }
-        Status status = getStatus(executableRule, columnNames, rows, context);
-        return Result.<T> builder().rule(executableRule).status(status).severity(severity).columnNames(columnNames).rows(rows).build();
+        if (rowCount > rows.size()) {
+            context.getLogger().warn("Result of '" + executableRule + "' contains " + rowCount + " rows, only the first " + rows.size()
+                    + " are retained for reporting.");
+        }
+        Status status = rowVerifier.getStatus();
+        return Result.<T> builder().rule(executableRule).status(status).severity(severity).columnNames(columnNames).rows(rows).rowCount(rowCount).build();
     }
 
     /**
@@ -82,6 +152,27 @@ public abstract class AbstractCypherRuleInterpreterPlugin implements RuleInterpr
         return false;
     }
 
+    /**
+     * Create the {@link RowVerifier} evaluating the status of the result, may be
+     * overridden by sub-classes.
+     *
+     * @param executableRule
+     *            The {@link ExecutableRule}.
+     * @param context
+     *            The {@link AnalyzerContext}.
+     * @param <T>
+     *            The rule type.
+     * @return The {@link RowVerifier}.
+     * @throws RuleException
+     *             If no verifier can be created.
+     */
+    protected <T extends ExecutableRule<?>> RowVerifier getRowVerifier(T executableRule, AnalyzerContext context) throws RuleException {
+        if (statusOverridden) {
+            return new CollectingRowVerifier((columnNames, rows) -> getStatus(executableRule, columnNames, rows, context));
+        }
+        return context.createRowVerifier(executableRule);
+    }
+
     /**
      * Evaluate the status of the result, may be overridden by sub-classes.
      *
@@ -98,10 +189,32 @@ public abstract class AbstractCypherRuleInterpreterPlugin implements RuleInterpr
      * @return The {@link Status}.
      * @throws RuleException
      *             If evaluation fails.
+     * @deprecated Override
+     *             {@link #getRowVerifier(ExecutableRule, AnalyzerContext)}
+     *             instead, overriding this method requires all rows to be
+     *             collected before verification.
      */
+    @Deprecated
+    @ToBeRemovedInVersion(major = 1, minor = 13)
     protected <T extends ExecutableRule<?>> Status getStatus(T executableRule, List<String> columnNames, List<Map<String, Object>> rows,
             AnalyzerContext context) throws RuleException {
-        return context.verify(executableRule, columnNames, rows);
+        RowVerifier rowVerifier = context.createRowVerifier(executableRule);
+        for (Map<String, Object> row : rows) {
+            rowVerifier.verify(columnNames, row);
+        }
+        return rowVerifier.getStatus();
+    }
+
+    private static boolean isStatusOverridden(Class<?> type) {
+        for (Class<?> current = type; !AbstractCypherRuleInterpreterPlugin.class.equals(current); current = current.getSuperclass()) {
+            try {
+                current.getDeclaredMethod("getStatus", ExecutableRule.class, List.class, List.class, AnalyzerContext.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // continue with the super class
+            }
+        }
+        return false;
     }
 
 }
@@ -3,6 +3,7 @@ package com.buschmais.jqassistant.core.analysis.impl;
 import java.util.List;
 import java.util.Map;
 
+import com.buschmais.jqassistant.core.analysis.api.RowVerifier;
 import com.buschmais.jqassistant.core.report.api.model.Result;
 import com.buschmais.jqassistant.core.rule.api.model.ExecutableRule;
 import com.buschmais.jqassistant.core.rule.api.model.RuleException;
@@ -23,31 +24,52 @@ public class AggregationVerificationStrategy extends AbstractMinMaxVerificationS
     @Override
     public <T extends ExecutableRule> Result.Status verify(T executable, AggregationVerification verification, List<String> columnNames,
             List<Map<String, Object>> rows) throws RuleException {
-        LOGGER.debug("Verifying result of " + executable);
-        if (rows.isEmpty()) {
-            return getStatus(executable, 0, verification.getMin(), verification.getMax());
-        }
-        if (columnNames.isEmpty()) {
-            throw new RuleException("Result contains no columns, at least one with a numeric value is expected.");
-        }
-        String column = verification.getColumn();
-        if (column == null) {
-            column = columnNames.get(0);
-            LOGGER.debug("No aggregation column specified, using " + column);
-        }
+        RowVerifier rowVerifier = createRowVerifier(executable, verification);
         for (Map<String, Object> row : rows) {
-            Object value = row.get(column);
-            if (value == null) {
-                throw new RuleException("The result does not contain a column '" + column);
-            } else if (!Number.class.isAssignableFrom(value.getClass())) {
-                throw new RuleException("The value in column '" + column + "' must be a numeric value but was '" + value + "'");
+            rowVerifier.verify(columnNames, row);
+        }
+        return rowVerifier.getStatus();
+    }
+
+    @Override
+    public <T extends ExecutableRule> RowVerifier createRowVerifier(T executable, AggregationVerification verification) {
+        LOGGER.debug("Verifying result of " + executable);
+        return new RowVerifier() {
+
+            private String column = verification.getColumn();
+
+            private Result.Status status = null;
+
+            @Override
+            public void verify(List<String> columnNames, Map<String, Object> row) throws RuleException {
+                if (Result.Status.FAILURE.equals(status)) {
+                    // the first failing row determines the result
+                    return;
+                }
+                if (columnNames.isEmpty()) {
+                    throw new RuleException("Result contains no columns, at least one with a numeric value is expected.");
+                }
+                if (column == null) {
+                    column = columnNames.get(0);
+                    LOGGER.debug("No aggregation column specified, using " + column);
+                }
+                Object value = row.get(column);
+                if (value == null) {
+                    throw new RuleException("The result does not contain a column '" + column);
+                } else if (!Number.class.isAssignableFrom(value.getClass())) {
+                    throw new RuleException("The value in column '" + column + "' must be a numeric value but was '" + value + "'");
+                }
+                int aggregationValue = ((Number) value).intValue();
+                status = AggregationVerificationStrategy.this.getStatus(executable, aggregationValue, verification.getMin(), verification.getMax());
             }
-            int aggregationValue = ((Number) value).intValue();
-            Result.Status status = getStatus(executable, aggregationValue, verification.getMin(), verification.getMax());
-            if (Result.Status.FAILURE.equals(status)) {
-                return Result.Status.FAILURE;
+
+            @Override
+            public Result.Status getStatus() {
+                if (status == null) {
+                    return AggregationVerificationStrategy.this.getStatus(executable, 0, verification.getMin(), verification.getMax());
+                }
+                return status;
             }
-        }
-        return Result.Status.SUCCESS;
+        };
     }
 }
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Map;
 
 import com.buschmais.jqassistant.core.analysis.api.AnalyzerContext;
+import com.buschmais.jqassistant.core.analysis.api.RowVerifier;
 import com.buschmais.jqassistant.core.report.api.model.Result;
 import com.buschmais.jqassistant.core.rule.api.model.ExecutableRule;
 import com.buschmais.jqassistant.core.rule.api.model.RuleException;
@@ -27,6 +28,8 @@ public class AnalyzerContextImpl implements AnalyzerContext {
 
     private Map<Class<? extends Verification>, VerificationStrategy> verificationStrategies;
 
+    private int maxRetainedRows;
+
     /**
      * Constructor.
      *
@@ -36,11 +39,14 @@ public class AnalyzerContextImpl implements AnalyzerContext {
      *            The {@link Logger}.
      * @param verificationStrategies
      *            The {@link VerificationStrategy}s.
+     * @param maxRetainedRows
+     *            The maximum number of rows retained in a {@link Result}.
      */
-    AnalyzerContextImpl(Store store, Logger logger, Map<Class<? extends Verification>, VerificationStrategy> verificationStrategies) {
+    AnalyzerContextImpl(Store store, Logger logger, Map<Class<? extends Verification>, VerificationStrategy> verificationStrategies, int maxRetainedRows) {
         this.store = store;
         this.logger = logger;
         this.verificationStrategies = verificationStrategies;
+        this.maxRetainedRows = maxRetainedRows;
     }
 
     @Override
@@ -55,22 +61,41 @@ public class AnalyzerContextImpl implements AnalyzerContext {
 
     @Override
     public <T extends ExecutableRule<?>> Result.Status verify(T executable, List<String> columnNames, List<Map<String, Object>> rows) throws RuleException {
+        return verify(executable, columnNames, rows, getVerification(executable));
+    }
+
+    @Override
+    public <T extends ExecutableRule<?>> Result.Status verify(T executable, List<String> columnNames, List<Map<String, Object>> rows, Verification verification)
+            throws RuleException {
+        return getVerificationStrategy(verification).verify(executable, verification, columnNames, rows);
+    }
+
+    @Override
+    public <T extends ExecutableRule<?>> RowVerifier createRowVerifier(T executable) throws RuleException {
+        Verification verification = getVerification(executable);
+        return getVerificationStrategy(verification).createRowVerifier(executable, verification);
+    }
+
+    @Override
+    public int getMaxRetainedRows() {
+        return maxRetainedRows;
+    }
+
+    private <T extends ExecutableRule<?>> Verification getVerification(T executable) {
         Verification verification = executable.getVerification();
         if (verification == null) {
             getLogger().debug("Using default verification for '{}'.", executable);
             verification = DEFAULT_VERIFICATION;
         }
-        return verify(executable, columnNames, rows, verification);
+        return verification;
     }
 
-    @Override
-    public <T extends ExecutableRule<?>> Result.Status verify(T executable, List<String> columnNames, List<Map<String, Object>> rows, Verification verification)
-            throws RuleException {
+    private VerificationStrategy getVerificationStrategy(Verification verification) throws RuleException {
         VerificationStrategy strategy = verificationStrategies.get(verification.getClass());
         if (strategy == null) {
             throw new RuleException("Result verification not supported: " + verification.getClass().getName());
         }
-        return strategy.verify(executable, verification, columnNames, rows);
+        return strategy;
     }
 
     @Override
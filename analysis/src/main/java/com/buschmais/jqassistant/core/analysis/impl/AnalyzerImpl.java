@@ -48,15 +48,18 @@ public class AnalyzerImpl implements Analyzer {
     public AnalyzerImpl(AnalyzerConfiguration configuration, Store store, Map<String, Collection<RuleInterpreterPlugin>> ruleInterpreterPlugins,
             ReportPlugin reportPlugin, Logger log) {
         this.configuration = configuration;
-        this.analyzerContext = new AnalyzerContextImpl(store, log, initVerificationStrategies());
+        this.analyzerContext = new AnalyzerContextImpl(store, log, initVerificationStrategies(), configuration.getMaxRetainedRows());
         this.ruleInterpreterPlugins = ruleInterpreterPlugins;
         this.reportPlugin = reportPlugin;
     }
 
     @Override
     public void execute(RuleSet ruleSet, RuleSelection ruleSelection, Map<String, String> ruleParameters) throws RuleException {
-        RuleVisitor visitor = new TransactionalRuleVisitor(
-                new AnalyzerRuleVisitor(configuration, analyzerContext, ruleParameters, ruleInterpreterPlugins, reportPlugin), analyzerContext.getStore());
+        AnalyzerRuleVisitor analyzerRuleVisitor = new AnalyzerRuleVisitor(configuration, analyzerContext, ruleParameters, ruleInterpreterPlugins,
+                reportPlugin);
+        RuleVisitor visitor = configuration.getRuleSetExecutorConfiguration().getParallelism() > 1
+                ? new ConcurrentTransactionalRuleVisitor<>(analyzerRuleVisitor, analyzerContext.getStore())
+                : new TransactionalRuleVisitor(analyzerRuleVisitor, analyzerContext.getStore());
         RuleSetExecutor executor = new RuleSetExecutor(visitor, configuration.getRuleSetExecutorConfiguration());
         executor.execute(ruleSet, ruleSelection);
     }
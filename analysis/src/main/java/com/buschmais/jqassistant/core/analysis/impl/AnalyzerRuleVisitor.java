@@ -1,17 +1,25 @@
 package com.buschmais.jqassistant.core.analysis.impl;
 
+import java.security.MessageDigest;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
 
 import com.buschmais.jqassistant.core.analysis.api.AnalyzerConfiguration;
 import com.buschmais.jqassistant.core.analysis.api.AnalyzerContext;
+import com.buschmais.jqassistant.core.analysis.api.RuleExecutionGuard;
+import com.buschmais.jqassistant.core.analysis.api.RuleExecutionLimitException;
 import com.buschmais.jqassistant.core.analysis.api.RuleInterpreterPlugin;
 import com.buschmais.jqassistant.core.analysis.api.model.ConceptDescriptor;
 import com.buschmais.jqassistant.core.report.api.ReportPlugin;
 import com.buschmais.jqassistant.core.report.api.model.Result;
 import com.buschmais.jqassistant.core.rule.api.executor.AbstractRuleVisitor;
+import com.buschmais.jqassistant.core.rule.api.executor.ConcurrentRuleVisitor;
+import com.buschmais.jqassistant.core.rule.api.filter.RuleFilter;
 import com.buschmais.jqassistant.core.rule.api.model.Concept;
 import com.buschmais.jqassistant.core.rule.api.model.Constraint;
 import com.buschmais.jqassistant.core.rule.api.model.Executable;
@@ -20,19 +28,34 @@ import com.buschmais.jqassistant.core.rule.api.model.Group;
 import com.buschmais.jqassistant.core.rule.api.model.Parameter;
 import com.buschmais.jqassistant.core.rule.api.model.RuleException;
 import com.buschmais.jqassistant.core.rule.api.model.Severity;
+import com.buschmais.jqassistant.core.shared.hash.HashHelper;
+import com.buschmais.jqassistant.core.shared.metrics.MetricsRegistry;
+import com.buschmais.jqassistant.core.store.api.Store;
+import com.buschmais.xo.api.Query;
 
 import org.apache.commons.lang3.time.StopWatch;
 
+import static com.buschmais.jqassistant.core.analysis.api.AnalyzerConfiguration.PROPERTY_EXECUTION_TIMEOUT_SECONDS;
+import static com.buschmais.jqassistant.core.analysis.api.AnalyzerConfiguration.PROPERTY_MAX_RESULT_ROWS;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 /**
  * Implementation of a rule visitor for analysis execution.
  */
-public class AnalyzerRuleVisitor extends AbstractRuleVisitor {
+public class AnalyzerRuleVisitor extends AbstractRuleVisitor implements ConcurrentRuleVisitor<AnalyzerRuleVisitor.ExecutedConstraint> {
+
+
+    private static final String APPLIED_CONCEPTS_QUERY = "MATCH (concept:Concept) RETURN concept";
 
     private AnalyzerConfiguration configuration;
     private AnalyzerContext analyzerContext;
     private Map<String, String> ruleParameters;
     private ReportPlugin reportPlugin;
     private Map<String, Collection<RuleInterpreterPlugin>> ruleInterpreterPlugins;
+    private Map<String, ConceptDescriptor> appliedConcepts;
+    private final Map<String, String> conceptHashes = new HashMap<>();
+    private Long graphStamp;
+    private final long analysisStart = System.nanoTime();
 
     /**
      * Constructor.
@@ -65,11 +88,24 @@ public class AnalyzerRuleVisitor extends AbstractRuleVisitor {
         reportPlugin.end();
     }
 
+    /**
+     * Applies a concept.
+     *
+     * An already applied concept is only skipped if neither the rule (i.e.
+     * executable, parameters, verification and required concepts) nor the graph
+     * have been changed since, otherwise it is applied again and the stored
+     * status is updated.
+     */
     @Override
     public boolean visitConcept(Concept concept, Severity effectiveSeverity) throws RuleException {
-        ConceptDescriptor conceptDescriptor = analyzerContext.getStore().find(ConceptDescriptor.class, concept.getId());
+        Store store = analyzerContext.getStore();
+        Map<String, ConceptDescriptor> appliedConcepts = getAppliedConcepts();
+        ConceptDescriptor conceptDescriptor = appliedConcepts.get(concept.getId());
+        String ruleHash = getRuleHash(concept);
+        conceptHashes.put(concept.getId(), ruleHash);
+        long graphStamp = getGraphStamp();
         Result.Status status;
-        if (conceptDescriptor == null || configuration.isExecuteAppliedConcepts()) {
+        if (conceptDescriptor == null || configuration.isExecuteAppliedConcepts() || !isUpToDate(conceptDescriptor, ruleHash, graphStamp)) {
             analyzerContext.getLogger()
                     .info("Applying concept '" + concept.getId() + "' with severity: '" + concept.getSeverity().getInfo(effectiveSeverity) + "'" + ".");
             reportPlugin.beginConcept(concept);
@@ -77,17 +113,94 @@ public class AnalyzerRuleVisitor extends AbstractRuleVisitor {
             reportPlugin.setResult(result);
             status = result.getStatus();
             if (conceptDescriptor == null) {
-                conceptDescriptor = analyzerContext.getStore().create(ConceptDescriptor.class);
+                conceptDescriptor = store.create(ConceptDescriptor.class);
                 conceptDescriptor.setId(concept.getId());
-                conceptDescriptor.setStatus(status);
+                appliedConcepts.put(concept.getId(), conceptDescriptor);
             }
+            conceptDescriptor.setStatus(status);
+            // an aborted concept must be applied again by the next analysis
+            conceptDescriptor.setRuleHash(Result.Status.TIMEOUT.equals(status) ? null : ruleHash);
+            // the concept may have modified the graph, the stamp is only changed by scanning
+            conceptDescriptor.setGraphStamp(graphStamp);
             reportPlugin.endConcept();
         } else {
+            analyzerContext.getLogger().debug("Concept '" + concept.getId() + "' is up to date, skipping it.");
             status = conceptDescriptor.getStatus();
         }
         return Result.Status.SUCCESS.equals(status);
     }
 
+    /**
+     * Returns the concepts applied by previous analysis runs, they are loaded
+     * using a single query on first access instead of looking up each concept
+     * separately.
+     *
+     * @return The {@link ConceptDescriptor}s by their ids.
+     */
+    private Map<String, ConceptDescriptor> getAppliedConcepts() {
+        if (appliedConcepts == null) {
+            appliedConcepts = new HashMap<>();
+            try (Query.Result<Query.Result.CompositeRowObject> result = analyzerContext.getStore().executeQuery(APPLIED_CONCEPTS_QUERY)) {
+                for (Query.Result.CompositeRowObject row : result) {
+                    ConceptDescriptor conceptDescriptor = row.get("concept", ConceptDescriptor.class);
+                    appliedConcepts.put(conceptDescriptor.getId(), conceptDescriptor);
+                }
+            }
+            analyzerContext.getLogger().debug("Loaded " + appliedConcepts.size() + " applied concepts.");
+        }
+        return appliedConcepts;
+    }
+
+    /**
+     * Returns the stamp of the graph, it is only changed by scanning and
+     * therefore read once per analysis.
+     */
+    private long getGraphStamp() {
+        if (graphStamp == null) {
+            graphStamp = analyzerContext.getStore().getGraphStamp();
+        }
+        return graphStamp;
+    }
+
+    private boolean isUpToDate(ConceptDescriptor conceptDescriptor, String ruleHash, long graphStamp) {
+        return ruleHash.equals(conceptDescriptor.getRuleHash()) && conceptDescriptor.getGraphStamp() != null && conceptDescriptor.getGraphStamp() == graphStamp;
+    }
+
+    /**
+     * Calculates a hash over all properties of a rule which determine its result,
+     * i.e. the executable, the resolved parameter values and the verification.
+     *
+     * The hashes of the required concepts are included, a change of a required
+     * concept is therefore propagated transitively to all depending concepts.
+     * Required concepts are visited before, their hashes are taken from
+     * {@link #conceptHashes}.
+     */
+    private String getRuleHash(ExecutableRule<?> executableRule) throws RuleException {
+        MessageDigest digest = HashHelper.createDigest();
+        Executable<?> executable = executableRule.getExecutable();
+        update(digest, executable.getLanguage());
+        update(digest, executable.getSource());
+        update(digest, new TreeMap<>(getRuleParameters(executableRule)));
+        update(digest, executableRule.getVerification());
+        for (String requiredConceptPattern : new TreeSet<>(executableRule.getRequiresConcepts().keySet())) {
+            for (String requiredConceptId : new TreeSet<>(RuleFilter.getInstance().match(conceptHashes.keySet(), requiredConceptPattern))) {
+                if (!requiredConceptId.equals(executableRule.getId())) {
+                    update(digest, requiredConceptId);
+                    update(digest, conceptHashes.get(requiredConceptId));
+                }
+            }
+        }
+        return HashHelper.toHex(digest);
+    }
+
+    private void update(MessageDigest digest, Object value) {
+        byte[] bytes = String.valueOf(value).getBytes(UTF_8);
+        // prefix each value with its length to avoid ambiguous concatenations
+        digest.update(Integer.toString(bytes.length).getBytes(UTF_8));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+
     @Override
     public void skipConcept(Concept concept, Severity effectiveSeverity) throws RuleException {
         reportPlugin.beginConcept(concept);
@@ -105,6 +218,53 @@ public class AnalyzerRuleVisitor extends AbstractRuleVisitor {
         reportPlugin.endConstraint();
     }
 
+    /**
+     * Executes a constraint using a separate store session. The session is kept
+     * open until the result has been reported as the result may contain
+     * descriptors of the session.
+     */
+    @Override
+    public ExecutedConstraint executeConstraint(Constraint constraint, Severity effectiveSeverity) throws RuleException {
+        analyzerContext.getLogger()
+                .info("Validating constraint '" + constraint.getId() + "' with severity: '" + constraint.getSeverity().getInfo(effectiveSeverity) + "'.");
+        Store session = analyzerContext.getStore().openSession();
+        try {
+            session.beginTransaction();
+            Result<Constraint> result = execute(constraint, effectiveSeverity, new SessionAnalyzerContext(analyzerContext, session));
+            session.commitTransaction();
+            return new ExecutedConstraint(session, result);
+        } catch (RuleException e) {
+            close(session);
+            throw e;
+        } catch (RuntimeException e) {
+            close(session);
+            throw new RuleException("Caught unexpected exception from store.", e);
+        }
+    }
+
+    private void close(Store session) {
+        if (session.hasActiveTransaction()) {
+            session.rollbackTransaction();
+        }
+        session.stop();
+    }
+
+    @Override
+    public void reportConstraint(Constraint constraint, Severity effectiveSeverity, ExecutedConstraint executedConstraint) throws RuleException {
+        try {
+            reportPlugin.beginConstraint(constraint);
+            reportPlugin.setResult(executedConstraint.result);
+            reportPlugin.endConstraint();
+        } finally {
+            executedConstraint.session.stop();
+        }
+    }
+
+    @Override
+    public void discardConstraint(Constraint constraint, ExecutedConstraint executedConstraint) {
+        close(executedConstraint.session);
+    }
+
     @Override
     public void skipConstraint(Constraint constraint, Severity effectiveSeverity) throws RuleException {
         reportPlugin.beginConstraint(constraint);
@@ -125,15 +285,25 @@ public class AnalyzerRuleVisitor extends AbstractRuleVisitor {
     }
 
     private <T extends ExecutableRule> Result<T> execute(T executableRule, Severity severity) throws RuleException {
+        return execute(executableRule, severity, analyzerContext);
+    }
+
+    private <T extends ExecutableRule> Result<T> execute(T executableRule, Severity severity, AnalyzerContext context) throws RuleException {
         Map<String, Object> ruleParameters = getRuleParameters(executableRule);
         Executable<?> executable = executableRule.getExecutable();
         Collection<RuleInterpreterPlugin> languagePlugins = ruleInterpreterPlugins.get(executable.getLanguage());
         if (languagePlugins == null) {
             throw new RuleException("Could not determine plugin to execute " + executableRule);
         }
+        RuleExecutionGuard executionGuard = createExecutionGuard(executableRule);
+        if (executionGuard.isTimedOut()) {
+            analyzerContext.getLogger().warn("Skipping execution of rule '" + executableRule.getId() + "' as the analysis time limit has been exceeded.");
+            return Result.<T> builder().rule(executableRule).status(Result.Status.TIMEOUT).severity(severity).build();
+        }
+        AnalyzerContext guardedContext = new SessionAnalyzerContext(context, context.getStore(), executionGuard);
         for (RuleInterpreterPlugin languagePlugin : languagePlugins) {
             if (languagePlugin.accepts(executableRule)) {
-                Result<T> result = execute(executableRule, severity, ruleParameters, languagePlugin);
+                Result<T> result = execute(executableRule, severity, ruleParameters, languagePlugin, guardedContext);
                 if (result != null) {
                     return result;
                 }
@@ -143,15 +313,41 @@ public class AnalyzerRuleVisitor extends AbstractRuleVisitor {
     }
 
     private <T extends ExecutableRule> Result<T> execute(T executableRule, Severity severity, Map<String, Object> ruleParameters,
-            RuleInterpreterPlugin languagePlugin) throws RuleException {
+            RuleInterpreterPlugin languagePlugin, AnalyzerContext context) throws RuleException {
         StopWatch stopWatch = StopWatch.createStarted();
+        Result<T> result = null;
+        Store store = context.getStore();
+        RuleExecutionGuard executionGuard = context.getExecutionGuard();
+        boolean timeoutTransaction = executionGuard.hasTimeout() && store.hasActiveTransaction();
+        if (timeoutTransaction) {
+            // execute the rule within its own transaction which is terminated by the database if the time limit is exceeded
+            store.commitTransaction();
+            store.beginTransaction(executionGuard.getRemaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        }
         try {
-            Result<T> result = languagePlugin.execute(executableRule, ruleParameters, severity, analyzerContext);
+            result = languagePlugin.execute(executableRule, ruleParameters, severity, context);
+            if (timeoutTransaction) {
+                store.commitTransaction();
+                store.beginTransaction();
+            }
             if (result != null) {
                 return result;
             }
+        } catch (RuleExecutionLimitException e) {
+            analyzerContext.getLogger().warn("Aborted execution of rule '" + executableRule.getId() + "': " + e.getMessage());
+            result = abort(executableRule, severity, e.getStatus(), context);
+            return result;
+        } catch (RuleException | RuntimeException e) {
+            // the transaction of a rule exceeding its time limit is terminated by the database
+            if (!executionGuard.isTimedOut()) {
+                throw e;
+            }
+            analyzerContext.getLogger().warn("Aborted execution of rule '" + executableRule.getId() + "' as it exceeded its time limit.");
+            result = abort(executableRule, severity, Result.Status.TIMEOUT, context);
+            return result;
         } finally {
             stopWatch.stop();
+            recordMetrics(executableRule, stopWatch.getNanoTime(), result);
             long ruleExecutionTime = stopWatch.getTime(TimeUnit.SECONDS);
             if (ruleExecutionTime > configuration.getWarnOnRuleExecutionTimeSeconds()) {
                 analyzerContext.getLogger().warn("Execution of rule defined in '{}' took {} seconds.", executableRule.getSource().getId(), ruleExecutionTime);
@@ -160,6 +356,60 @@ public class AnalyzerRuleVisitor extends AbstractRuleVisitor {
         return null;
     }
 
+    /**
+     * Discards the changes of an aborted rule but keeps a transaction open for
+     * reporting.
+     */
+    private <T extends ExecutableRule> Result<T> abort(T executableRule, Severity severity, Result.Status status, AnalyzerContext context) {
+        Store store = context.getStore();
+        if (store.hasActiveTransaction()) {
+            store.rollbackTransaction();
+            store.beginTransaction();
+        }
+        return Result.<T> builder().rule(executableRule).status(status).severity(severity).build();
+    }
+
+    /**
+     * Creates the {@link RuleExecutionGuard} for a rule. The configured limits
+     * may be overridden by report properties of the rule, the time limit is
+     * reduced to the remaining time of the analysis.
+     */
+    private RuleExecutionGuard createExecutionGuard(ExecutableRule<?> executableRule) throws RuleException {
+        Properties properties = executableRule.getReport() != null ? executableRule.getReport().getProperties() : null;
+        long timeoutSeconds = getLimit(executableRule, properties, PROPERTY_EXECUTION_TIMEOUT_SECONDS, configuration.getRuleExecutionTimeoutSeconds());
+        long maxRows = getLimit(executableRule, properties, PROPERTY_MAX_RESULT_ROWS, configuration.getMaxResultRows());
+        long timeoutNanos = timeoutSeconds > 0 ? TimeUnit.SECONDS.toNanos(timeoutSeconds) : Long.MAX_VALUE;
+        if (configuration.getAnalysisTimeoutSeconds() > 0) {
+            long remainingNanos = TimeUnit.SECONDS.toNanos(configuration.getAnalysisTimeoutSeconds()) - (System.nanoTime() - analysisStart);
+            timeoutNanos = Math.min(timeoutNanos, remainingNanos);
+        }
+        return RuleExecutionGuard.create(timeoutNanos, maxRows);
+    }
+
+    private long getLimit(ExecutableRule<?> executableRule, Properties properties, String name, long defaultValue) throws RuleException {
+        String value = properties != null ? properties.getProperty(name) : null;
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new RuleException("Invalid value '" + value + "' for property '" + name + "' of rule '" + executableRule + "'.", e);
+        }
+    }
+
+    private void recordMetrics(ExecutableRule executableRule, long executionNanos, Result<?> result) {
+        MetricsRegistry metricsRegistry = configuration.getMetricsRegistry();
+        if (!metricsRegistry.isEnabled()) {
+            return;
+        }
+        String prefix = "analysis." + (executableRule instanceof Concept ? "concept." : "constraint.") + executableRule.getId();
+        metricsRegistry.histogram(prefix + ".time").record(executionNanos);
+        if (result != null) {
+            metricsRegistry.histogram(prefix + ".rows").record(result.getRowCount());
+        }
+    }
+
     private Map<String, Object> getRuleParameters(ExecutableRule executableRule) throws RuleException {
         Map<String, Object> ruleParameters = new HashMap<>();
         Map<String, Parameter> parameters = executableRule.getParameters();
@@ -185,4 +435,20 @@ public class AnalyzerRuleVisitor extends AbstractRuleVisitor {
         return ruleParameters;
     }
 
+    /**
+     * The result of a constraint executed by
+     * {@link #executeConstraint(Constraint, Severity)} and the store session it
+     * has been executed with.
+     */
+    static final class ExecutedConstraint {
+
+        private final Store session;
+
+        private final Result<Constraint> result;
+
+        private ExecutedConstraint(Store session, Result<Constraint> result) {
+            this.session = session;
+            this.result = result;
+        }
+    }
 }
@@ -0,0 +1,41 @@
+package com.buschmais.jqassistant.core.analysis.impl;
+
+import com.buschmais.jqassistant.core.rule.api.executor.ConcurrentRuleVisitor;
+import com.buschmais.jqassistant.core.rule.api.model.Constraint;
+import com.buschmais.jqassistant.core.rule.api.model.RuleException;
+import com.buschmais.jqassistant.core.rule.api.model.Severity;
+import com.buschmais.jqassistant.core.store.api.Store;
+
+/**
+ * A {@link TransactionalRuleVisitor} for a {@link ConcurrentRuleVisitor}.
+ *
+ * Concurrently executed constraints are passed through as the delegate uses
+ * its own store sessions, reporting their results is done within a transaction.
+ *
+ * @param <R>
+ *            The type of the execution result of a constraint.
+ */
+public class ConcurrentTransactionalRuleVisitor<R> extends TransactionalRuleVisitor implements ConcurrentRuleVisitor<R> {
+
+    private final ConcurrentRuleVisitor<R> delegate;
+
+    public ConcurrentTransactionalRuleVisitor(ConcurrentRuleVisitor<R> delegate, Store store) {
+        super(delegate, store);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public R executeConstraint(Constraint constraint, Severity effectiveSeverity) throws RuleException {
+        return delegate.executeConstraint(constraint, effectiveSeverity);
+    }
+
+    @Override
+    public void reportConstraint(Constraint constraint, Severity effectiveSeverity, R result) throws RuleException {
+        doInXOTransaction(() -> delegate.reportConstraint(constraint, effectiveSeverity, result));
+    }
+
+    @Override
+    public void discardConstraint(Constraint constraint, R result) throws RuleException {
+        delegate.discardConstraint(constraint, result);
+    }
+}
@@ -0,0 +1,123 @@
+package com.buschmais.jqassistant.core.analysis.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Cache for the Cypher queries of rules.
+ *
+ * XO does not provide prepared statements, execution plans are cached by Neo4j
+ * using the query text as key. Rules which only differ by formatting (e.g.
+ * indentation, line breaks or comments) would therefore be parsed and planned
+ * separately. The cache provides the normalized text of a query which is
+ * passed to the store instead, the normalized text is only computed once per
+ * query.
+ */
+class CypherQueryCache {
+
+    /**
+     * The default maximum number of cached queries.
+     */
+    static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final Cache<String, String> queries;
+
+    CypherQueryCache(long maximumSize) {
+        this.queries = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    /**
+     * Return the normalized text of a query.
+     *
+     * @param cypher
+     *            The query as provided by the rule.
+     * @return The normalized query.
+     */
+    String get(String cypher) {
+        return queries.get(cypher, CypherQueryCache::normalize);
+    }
+
+    /**
+     * Return the statistics of the cache.
+     *
+     * @return The {@link CacheStats}.
+     */
+    CacheStats getStats() {
+        return queries.stats();
+    }
+
+    /**
+     * Normalizes a query by removing comments, collapsing whitespace into single
+     * blanks and removing a trailing semicolon. String literals and quoted
+     * identifiers are preserved.
+     *
+     * @param cypher
+     *            The query.
+     * @return The normalized query.
+     */
+    static String normalize(String cypher) {
+        StringBuilder normalized = new StringBuilder(cypher.length());
+        boolean whitespace = false;
+        int length = cypher.length();
+        int i = 0;
+        while (i < length) {
+            char c = cypher.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                int end = skipQuoted(cypher, i, c);
+                appendPendingBlank(normalized, whitespace);
+                whitespace = false;
+                normalized.append(cypher, i, end);
+                i = end;
+            } else if (c == '/' && i + 1 < length && cypher.charAt(i + 1) == '/') {
+                int end = cypher.indexOf('\n', i);
+                i = end < 0 ? length : end;
+                whitespace = true;
+            } else if (c == '/' && i + 1 < length && cypher.charAt(i + 1) == '*') {
+                int end = cypher.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                whitespace = true;
+            } else if (Character.isWhitespace(c)) {
+                whitespace = true;
+                i++;
+            } else {
+                appendPendingBlank(normalized, whitespace);
+                whitespace = false;
+                normalized.append(c);
+                i++;
+            }
+        }
+        int end = normalized.length();
+        if (end > 0 && normalized.charAt(end - 1) == ';') {
+            normalized.setLength(end - 1);
+        }
+        return normalized.toString().trim();
+    }
+
+    private static void appendPendingBlank(StringBuilder normalized, boolean whitespace) {
+        if (whitespace && normalized.length() > 0) {
+            normalized.append(' ');
+        }
+    }
+
+    /**
+     * Determine the end of a quoted string literal or identifier.
+     *
+     * @return The index after the closing quote or the length of the query if the
+     *         quote is not closed.
+     */
+    private static int skipQuoted(String cypher, int start, char quote) {
+        int i = start + 1;
+        while (i < cypher.length()) {
+            char c = cypher.charAt(i);
+            if (c == '\\' && quote != '`') {
+                i += 2;
+            } else if (c == quote) {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return cypher.length();
+    }
+}
@@ -3,6 +3,7 @@ package com.buschmais.jqassistant.core.analysis.impl;
 import java.util.List;
 import java.util.Map;
 
+import com.buschmais.jqassistant.core.analysis.api.RowVerifier;
 import com.buschmais.jqassistant.core.report.api.model.Result;
 import com.buschmais.jqassistant.core.rule.api.model.ExecutableRule;
 import com.buschmais.jqassistant.core.rule.api.reader.RowCountVerification;
@@ -20,4 +21,22 @@ public class RowCountVerificationStrategy extends AbstractMinMaxVerificationStra
         return getStatus(executable, rows.size(), verification.getMin(), verification.getMax());
     }
 
+    @Override
+    public <T extends ExecutableRule> RowVerifier createRowVerifier(T executable, RowCountVerification verification) {
+        return new RowVerifier() {
+
+            private int rowCount = 0;
+
+            @Override
+            public void verify(List<String> columnNames, Map<String, Object> row) {
+                rowCount++;
+            }
+
+            @Override
+            public Result.Status getStatus() {
+                return RowCountVerificationStrategy.this.getStatus(executable, rowCount, verification.getMin(), verification.getMax());
+            }
+        };
+    }
+
 }
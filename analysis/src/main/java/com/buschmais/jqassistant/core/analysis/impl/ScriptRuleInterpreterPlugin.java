@@ -1,16 +1,8 @@
 package com.buschmais.jqassistant.core.analysis.impl;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.TreeSet;
-
-import javax.script.ScriptEngine;
-import javax.script.ScriptEngineFactory;
-import javax.script.ScriptEngineManager;
-import javax.script.ScriptException;
+import java.util.*;
+
+import javax.script.*;
 
 import com.buschmais.jqassistant.core.analysis.api.AnalyzerContext;
 import com.buschmais.jqassistant.core.analysis.api.RuleInterpreterPlugin;
@@ -20,17 +12,45 @@ import com.buschmais.jqassistant.core.rule.api.model.ExecutableRule;
 import com.buschmais.jqassistant.core.rule.api.model.RuleException;
 import com.buschmais.jqassistant.core.rule.api.model.Severity;
 import com.buschmais.jqassistant.core.rule.impl.SourceExecutable;
+import com.buschmais.jqassistant.core.shared.hash.HashHelper;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Implementation of a {@link RuleInterpreterPlugin} for executing scripts using
+ * JSR-223 script engines.
+ *
+ * Script engines are pooled per language, an engine is used by one rule
+ * execution at a time. Scripts are compiled once per engine if the engine
+ * supports it (see {@link Compilable}), each execution uses its own
+ * {@link Bindings}. The number of idle engines retained per language is
+ * limited, engines exceeding the limit are discarded after use.
+ */
 public class ScriptRuleInterpreterPlugin implements RuleInterpreterPlugin {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ScriptRuleInterpreterPlugin.class);
+    private static final int DEFAULT_MAX_IDLE_SCRIPT_ENGINES = Runtime.getRuntime().availableProcessors();
     private ScriptEngineManager scriptEngineManager;
     private Set<String> languages = new TreeSet<>();
+    private final Map<String, Deque<PooledScriptEngine>> idleScriptEngines = new HashMap<>();
+    private final int maxIdleScriptEngines;
+
     public ScriptRuleInterpreterPlugin() {
-        this.scriptEngineManager = new ScriptEngineManager();
+        this(new ScriptEngineManager(), DEFAULT_MAX_IDLE_SCRIPT_ENGINES);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param scriptEngineManager
+     *            The {@link ScriptEngineManager} providing the script engines.
+     * @param maxIdleScriptEngines
+     *            The maximum number of idle script engines retained per language.
+     */
+    ScriptRuleInterpreterPlugin(ScriptEngineManager scriptEngineManager, int maxIdleScriptEngines) {
+        this.scriptEngineManager = scriptEngineManager;
+        this.maxIdleScriptEngines = maxIdleScriptEngines;
         for (ScriptEngineFactory factory : scriptEngineManager.getEngineFactories()) {
             for (String name : factory.getNames()) {
                 languages.add(name.toLowerCase());
@@ -54,7 +74,42 @@ public class ScriptRuleInterpreterPlugin implements RuleInterpreterPlugin {
             throws RuleException {
         Executable<String> executable = executableRule.getExecutable();
         String language = executable.getLanguage();
-        ScriptEngine scriptEngine = scriptEngineManager.getEngineByName(language);
+        PooledScriptEngine pooledScriptEngine = borrow(language);
+        Object scriptResult;
+        try {
+            ScriptEngine scriptEngine = pooledScriptEngine.scriptEngine;
+            Bindings bindings = scriptEngine.createBindings();
+            // Set default variables
+            bindings.put(ScriptVariable.STORE.getVariableName(), context.getStore());
+            bindings.put(ScriptVariable.CONTEXT.getVariableName(), context);
+            bindings.put(ScriptVariable.RULE.getVariableName(), executableRule);
+            bindings.put(ScriptVariable.SEVERITY.getVariableName(), severity);
+            // Set rule parameters
+            bindings.putAll(ruleParameters);
+            CompiledScript compiledScript = pooledScriptEngine.getCompiledScript(executableRule.getId(), executable.getSource());
+            scriptResult = compiledScript != null ? compiledScript.eval(bindings) : scriptEngine.eval(executable.getSource(), bindings);
+        } catch (ScriptException e) {
+            throw new RuleException("Cannot execute script.", e);
+        } finally {
+            release(language, pooledScriptEngine);
+        }
+        if (!(scriptResult instanceof Result)) {
+            throw new RuleException("Script returned an invalid result type, expected " + Result.class.getName() + " but got " + scriptResult);
+        }
+        return Result.class.cast(scriptResult);
+    }
+
+    private PooledScriptEngine borrow(String language) throws RuleException {
+        synchronized (idleScriptEngines) {
+            PooledScriptEngine pooledScriptEngine = idleScriptEngines.computeIfAbsent(language, key -> new ArrayDeque<>()).pollFirst();
+            if (pooledScriptEngine != null) {
+                return pooledScriptEngine;
+            }
+        }
+        ScriptEngine scriptEngine;
+        synchronized (scriptEngineManager) {
+            scriptEngine = scriptEngineManager.getEngineByName(language);
+        }
         if (scriptEngine == null) {
             List<String> availableLanguages = new ArrayList<>();
             for (ScriptEngineFactory factory : scriptEngineManager.getEngineFactories()) {
@@ -62,26 +117,76 @@ public class ScriptRuleInterpreterPlugin implements RuleInterpreterPlugin {
             }
             throw new RuleException("Cannot resolve scripting engine for '" + language + "', available languages are " + availableLanguages);
         }
+        LOGGER.debug("Created script engine for language '{}'.", language);
+        return new PooledScriptEngine(scriptEngine);
+    }
 
-        // Set default variables
-        scriptEngine.put(ScriptVariable.STORE.getVariableName(), context.getStore());
-        scriptEngine.put(ScriptVariable.CONTEXT.getVariableName(), context);
-        scriptEngine.put(ScriptVariable.RULE.getVariableName(), executableRule);
-        scriptEngine.put(ScriptVariable.SEVERITY.getVariableName(), severity);
-        // Set rule parameters
-        for (Map.Entry<String, Object> entry : ruleParameters.entrySet()) {
-            scriptEngine.put(entry.getKey(), entry.getValue());
+    private void release(String language, PooledScriptEngine pooledScriptEngine) {
+        synchronized (idleScriptEngines) {
+            Deque<PooledScriptEngine> scriptEngines = idleScriptEngines.computeIfAbsent(language, key -> new ArrayDeque<>());
+            if (scriptEngines.size() < maxIdleScriptEngines) {
+                scriptEngines.addFirst(pooledScriptEngine);
+                return;
+            }
         }
-        Object scriptResult;
-        try {
-            scriptResult = scriptEngine.eval(executable.getSource());
-        } catch (ScriptException e) {
-            throw new RuleException("Cannot execute script.", e);
+        LOGGER.debug("Discarding script engine for language '{}', the maximum of {} idle engines is reached.", language, maxIdleScriptEngines);
+    }
+
+    @Override
+    public void destroy() {
+        synchronized (idleScriptEngines) {
+            idleScriptEngines.clear();
         }
-        if (!(scriptResult instanceof Result)) {
-            throw new RuleException("Script returned an invalid result type, expected " + Result.class.getName() + " but got " + scriptResult);
+    }
+
+    /**
+     * A pooled {@link ScriptEngine} and the scripts compiled by it, a
+     * {@link CompiledScript} is bound to the engine which created it.
+     */
+    private static final class PooledScriptEngine {
+
+        private final ScriptEngine scriptEngine;
+
+        /**
+         * The compiled scripts by rule id, only the latest source of a rule is
+         * retained.
+         */
+        private final Map<String, CachedScript> compiledScripts = new HashMap<>();
+
+        private PooledScriptEngine(ScriptEngine scriptEngine) {
+            this.scriptEngine = scriptEngine;
+        }
+
+        /**
+         * Return the compiled script for a rule.
+         *
+         * @return The {@link CompiledScript} or `null` if the engine does not
+         *         support compilation.
+         */
+        private CompiledScript getCompiledScript(String ruleId, String source) throws ScriptException {
+            if (!(scriptEngine instanceof Compilable)) {
+                return null;
+            }
+            String sourceHash = HashHelper.hash(source);
+            CachedScript cachedScript = compiledScripts.get(ruleId);
+            if (cachedScript == null || !cachedScript.sourceHash.equals(sourceHash)) {
+                cachedScript = new CachedScript(sourceHash, ((Compilable) scriptEngine).compile(source));
+                compiledScripts.put(ruleId, cachedScript);
+            }
+            return cachedScript.compiledScript;
+        }
+    }
+
+    private static final class CachedScript {
+
+        private final String sourceHash;
+
+        private final CompiledScript compiledScript;
+
+        private CachedScript(String sourceHash, CompiledScript compiledScript) {
+            this.sourceHash = sourceHash;
+            this.compiledScript = compiledScript;
         }
-        return Result.class.cast(scriptResult);
     }
 
     /**
@@ -0,0 +1,103 @@
+package com.buschmais.jqassistant.core.analysis.impl;
+
+import java.util.List;
+import java.util.Map;
+
+import com.buschmais.jqassistant.core.analysis.api.AnalyzerContext;
+import com.buschmais.jqassistant.core.analysis.api.RowVerifier;
+import com.buschmais.jqassistant.core.analysis.api.RuleExecutionGuard;
+import com.buschmais.jqassistant.core.report.api.model.Result;
+import com.buschmais.jqassistant.core.rule.api.model.ExecutableRule;
+import com.buschmais.jqassistant.core.rule.api.model.RuleException;
+import com.buschmais.jqassistant.core.rule.api.model.Severity;
+import com.buschmais.jqassistant.core.rule.api.model.Verification;
+import com.buschmais.jqassistant.core.store.api.Store;
+
+import org.slf4j.Logger;
+
+/**
+ * An {@link AnalyzerContext} providing a store session (see
+ * {@link Store#openSession()}) and delegating all other methods to the
+ * {@link AnalyzerContext} of the analyzer, used for executing rules
+ * concurrently.
+ *
+ * It is also used to provide the {@link RuleExecutionGuard} of a single rule
+ * execution.
+ */
+class SessionAnalyzerContext implements AnalyzerContext {
+
+    private final AnalyzerContext delegate;
+
+    private final Store session;
+
+    private final RuleExecutionGuard executionGuard;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate
+     *            The {@link AnalyzerContext} of the analyzer.
+     * @param session
+     *            The store session.
+     */
+    SessionAnalyzerContext(AnalyzerContext delegate, Store session) {
+        this(delegate, session, delegate.getExecutionGuard());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param delegate
+     *            The {@link AnalyzerContext} of the analyzer.
+     * @param session
+     *            The store session.
+     * @param executionGuard
+     *            The {@link RuleExecutionGuard}.
+     */
+    SessionAnalyzerContext(AnalyzerContext delegate, Store session, RuleExecutionGuard executionGuard) {
+        this.delegate = delegate;
+        this.session = session;
+        this.executionGuard = executionGuard;
+    }
+
+    @Override
+    public Store getStore() {
+        return session;
+    }
+
+    @Override
+    public Logger getLogger() {
+        return delegate.getLogger();
+    }
+
+    @Override
+    public <T extends ExecutableRule<?>> Result.Status verify(T executable, List<String> columnNames, List<Map<String, Object>> rows) throws RuleException {
+        return delegate.verify(executable, columnNames, rows);
+    }
+
+    @Override
+    public <T extends ExecutableRule<?>> Result.Status verify(T executable, List<String> columnNames, List<Map<String, Object>> rows, Verification verification)
+            throws RuleException {
+        return delegate.verify(executable, columnNames, rows, verification);
+    }
+
+    @Override
+    public <T extends ExecutableRule<?>> RowVerifier createRowVerifier(T executable) throws RuleException {
+        return delegate.createRowVerifier(executable);
+    }
+
+    @Override
+    public int getMaxRetainedRows() {
+        return delegate.getMaxRetainedRows();
+    }
+
+    @Override
+    public RuleExecutionGuard getExecutionGuard() {
+        return executionGuard;
+    }
+
+    @Override
+    public <R extends ExecutableRule<?>> Result.ResultBuilder<R> resultBuilder(R rule, Severity severity) {
+        return delegate.resultBuilder(rule, severity);
+    }
+}
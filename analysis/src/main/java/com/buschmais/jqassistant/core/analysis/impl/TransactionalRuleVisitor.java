@@ -58,7 +58,7 @@ public class TransactionalRuleVisitor implements RuleVisitor {
         doInXOTransaction(() -> delegate.afterGroup(group));
     }
 
-    private void doInXOTransaction(TransactionalAction transactionalAction) throws RuleException {
+    protected void doInXOTransaction(TransactionalAction transactionalAction) throws RuleException {
         doInXOTransaction((TransactionalSupplier<Void>) () -> {
             transactionalAction.execute();
             return null;
@@ -77,7 +77,7 @@ public class TransactionalRuleVisitor implements RuleVisitor {
      *             If the transaction failed due to an underlying
      *             {@link XOException}.
      */
-    private <T> T doInXOTransaction(TransactionalSupplier<T> txSupplier) throws RuleException {
+    protected <T> T doInXOTransaction(TransactionalSupplier<T> txSupplier) throws RuleException {
         try {
             store.beginTransaction();
             T result = txSupplier.execute();
@@ -97,14 +97,14 @@ public class TransactionalRuleVisitor implements RuleVisitor {
     /**
      * Defines a transactional action.
      */
-    private interface TransactionalAction {
+    protected interface TransactionalAction {
         void execute() throws RuleException;
     }
 
     /**
      * Defines a transactional supplier.
      */
-    private interface TransactionalSupplier<T> {
+    protected interface TransactionalSupplier<T> {
         T execute() throws RuleException;
     }
 
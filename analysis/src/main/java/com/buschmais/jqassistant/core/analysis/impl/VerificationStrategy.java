@@ -3,6 +3,8 @@ package com.buschmais.jqassistant.core.analysis.impl;
 import java.util.List;
 import java.util.Map;
 
+import com.buschmais.jqassistant.core.analysis.api.CollectingRowVerifier;
+import com.buschmais.jqassistant.core.analysis.api.RowVerifier;
 import com.buschmais.jqassistant.core.report.api.model.Result;
 import com.buschmais.jqassistant.core.rule.api.model.ExecutableRule;
 import com.buschmais.jqassistant.core.rule.api.model.RuleException;
@@ -19,4 +21,23 @@ public interface VerificationStrategy<V extends Verification> {
     <T extends ExecutableRule> Result.Status verify(T executable, V verification, List<String> columnNames, List<Map<String, Object>> rows)
             throws RuleException;
 
+    /**
+     * Create a {@link RowVerifier} which verifies rows incrementally.
+     *
+     * The default implementation collects all rows and delegates to
+     * {@link #verify(ExecutableRule, Verification, List, List)}, strategies
+     * should override it if verification does not require all rows at once.
+     *
+     * @param executable
+     *            The executable.
+     * @param verification
+     *            The verification.
+     * @param <T>
+     *            The executable type.
+     * @return The {@link RowVerifier}.
+     */
+    default <T extends ExecutableRule> RowVerifier createRowVerifier(T executable, V verification) {
+        return new CollectingRowVerifier((columnNames, rows) -> verify(executable, verification, columnNames, rows));
+    }
+
 }
@@ -5,6 +5,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.buschmais.jqassistant.core.analysis.api.RowVerifier;
 import com.buschmais.jqassistant.core.rule.api.model.Concept;
 import com.buschmais.jqassistant.core.rule.api.model.Constraint;
 import com.buschmais.jqassistant.core.rule.api.model.RuleException;
@@ -114,6 +115,19 @@ class AggregationVerificationStrategyTest {
         assertThat(strategy.verify(constraint, aggregationVerification, COLUMN_NAMES, result), equalTo(SUCCESS));
     }
 
+    @Test
+    void rowVerifier() throws RuleException {
+        AggregationVerification aggregationVerification = AggregationVerification.builder().build();
+        RowVerifier rowVerifier = strategy.createRowVerifier(constraint, aggregationVerification);
+        assertThat(rowVerifier.getStatus(), equalTo(SUCCESS));
+        rowVerifier.verify(COLUMN_NAMES, createRow(0));
+        assertThat(rowVerifier.getStatus(), equalTo(SUCCESS));
+        rowVerifier.verify(COLUMN_NAMES, createRow(1));
+        assertThat(rowVerifier.getStatus(), equalTo(FAILURE));
+        rowVerifier.verify(COLUMN_NAMES, createRow(0));
+        assertThat(rowVerifier.getStatus(), equalTo(FAILURE));
+    }
+
     private Map<String, Object> createRow(int... values) {
         Map<String, Object> row = new LinkedHashMap<>();
         for (int i = 0; i < values.length; i++) {
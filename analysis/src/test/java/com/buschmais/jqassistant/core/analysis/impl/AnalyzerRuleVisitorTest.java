@@ -2,9 +2,12 @@ package com.buschmais.jqassistant.core.analysis.impl;
 
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 import com.buschmais.jqassistant.core.analysis.api.AnalyzerConfiguration;
 import com.buschmais.jqassistant.core.analysis.api.AnalyzerContext;
+import com.buschmais.jqassistant.core.analysis.api.RuleExecutionGuard;
+import com.buschmais.jqassistant.core.analysis.api.RuleExecutionLimitException;
 import com.buschmais.jqassistant.core.analysis.api.RuleInterpreterPlugin;
 import com.buschmais.jqassistant.core.analysis.api.model.ConceptDescriptor;
 import com.buschmais.jqassistant.core.report.api.ReportPlugin;
@@ -12,6 +15,9 @@ import com.buschmais.jqassistant.core.report.api.model.Result;
 import com.buschmais.jqassistant.core.rule.api.model.*;
 import com.buschmais.jqassistant.core.rule.api.reader.RowCountVerification;
 import com.buschmais.jqassistant.core.rule.api.source.FileRuleSource;
+import com.buschmais.jqassistant.core.shared.metrics.Histogram;
+import com.buschmais.jqassistant.core.shared.metrics.InMemoryMetricsRegistry;
+import com.buschmais.jqassistant.core.shared.metrics.MetricsRegistry;
 import com.buschmais.jqassistant.core.store.api.Store;
 import com.buschmais.xo.api.Query;
 import com.buschmais.xo.api.ResultIterator;
@@ -20,17 +26,22 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.slf4j.Logger;
 
+import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Matchers.anyMap;
 import static org.mockito.Mockito.*;
@@ -76,6 +87,8 @@ class AnalyzerRuleVisitorTest {
 
     private Map<String, String> ruleParameters;
 
+    private MetricsRegistry metricsRegistry;
+
     @BeforeEach
     void setUp() {
         statement = "match (n) return n";
@@ -87,9 +100,13 @@ class AnalyzerRuleVisitorTest {
 
         Query.Result<Query.Result.CompositeRowObject> result = createResult(columnNames);
         when(store.executeQuery(eq(statement), anyMap())).thenReturn(result);
+        mockAppliedConcepts();
 
         doReturn(store).when(analyzerContext).getStore();
         doReturn(logger).when(analyzerContext).getLogger();
+        doCallRealMethod().when(analyzerContext).createRowVerifier(any(ExecutableRule.class));
+        metricsRegistry = new InMemoryMetricsRegistry();
+        doReturn(metricsRegistry).when(configuration).getMetricsRegistry();
 
         List<RuleInterpreterPlugin> languagePlugins = new ArrayList<>();
         languagePlugins.add(new CypherRuleInterpreterPlugin());
@@ -118,6 +135,17 @@ class AnalyzerRuleVisitorTest {
         assertThat("The reported column names must match the given column names.", new ArrayList<>(capturedRow.keySet()), equalTo(columnNames));
     }
 
+    @Test
+    void ruleMetrics() throws RuleException {
+        analyzerRuleVisitor.visitConcept(concept, Severity.MINOR);
+
+        Histogram executionTimes = metricsRegistry.getHistograms().get("analysis.concept." + concept.getId() + ".time");
+        assertThat(executionTimes.getCount(), equalTo(1L));
+        Histogram rows = metricsRegistry.getHistograms().get("analysis.concept." + concept.getId() + ".rows");
+        assertThat(rows.getCount(), equalTo(1L));
+        assertThat(rows.getSum(), equalTo(1L));
+    }
+
     @Test
     void executeConcept() throws RuleException {
         doReturn(Result.Status.SUCCESS).when(analyzerContext).verify(eq(concept), anyList(), anyList());
@@ -142,6 +170,20 @@ class AnalyzerRuleVisitorTest {
         verify(store).create(ConceptDescriptor.class);
     }
 
+    @Test
+    void recordAppliedConceptWithinAnalysis() throws RuleException {
+        doReturn(Result.Status.SUCCESS).when(analyzerContext).verify(eq(concept), anyList(), anyList());
+        ConceptDescriptor conceptDescriptor = mock(ConceptDescriptor.class);
+        doReturn(conceptDescriptor).when(store).create(ConceptDescriptor.class);
+
+        analyzerRuleVisitor.visitConcept(concept, Severity.MINOR);
+        analyzerRuleVisitor.visitConcept(concept, Severity.MINOR);
+
+        // the concept is recorded once within the transaction of the concept and updated afterwards
+        verify(store, times(1)).create(ConceptDescriptor.class);
+        verify(conceptDescriptor, times(2)).setStatus(Result.Status.SUCCESS);
+    }
+
     @Test
     void skipConcept() throws RuleException {
         analyzerRuleVisitor.skipConcept(concept, Severity.MAJOR);
@@ -179,6 +221,145 @@ class AnalyzerRuleVisitorTest {
         verify(reportWriter).endConstraint();
     }
 
+    @Test
+    void maxRetainedRows() throws RuleException {
+        Query.Result<Query.Result.CompositeRowObject> result = createResult(columnNames, 3);
+        when(store.executeQuery(eq(statement), anyMap())).thenReturn(result);
+        doReturn(2).when(analyzerContext).getMaxRetainedRows();
+        doReturn(Result.Status.FAILURE).when(analyzerContext).verify(eq(constraint), anyList(), anyList());
+
+        analyzerRuleVisitor.visitConstraint(constraint, Severity.BLOCKER);
+
+        ArgumentCaptor<List> rowsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(analyzerContext).verify(eq(constraint), eq(columnNames), rowsCaptor.capture());
+        assertThat("All rows must be verified.", rowsCaptor.getValue().size(), equalTo(3));
+        ArgumentCaptor<Result> resultCaptor = ArgumentCaptor.forClass(Result.class);
+        verify(reportWriter).setResult(resultCaptor.capture());
+        Result capturedResult = resultCaptor.getValue();
+        assertThat(capturedResult.getStatus(), equalTo(Result.Status.FAILURE));
+        assertThat(capturedResult.getRows().size(), equalTo(2));
+        assertThat(capturedResult.getRowCount(), equalTo(3));
+    }
+
+    @Test
+    void maxResultRows() throws RuleException {
+        Query.Result<Query.Result.CompositeRowObject> result = createResult(columnNames, 3);
+        when(store.executeQuery(eq(statement), anyMap())).thenReturn(result);
+        doReturn(2L).when(configuration).getMaxResultRows();
+
+        analyzerRuleVisitor.visitConstraint(constraint, Severity.BLOCKER);
+
+        ArgumentCaptor<Result> resultCaptor = ArgumentCaptor.forClass(Result.class);
+        verify(reportWriter).setResult(resultCaptor.capture());
+        assertThat(resultCaptor.getValue().getStatus(), equalTo(Result.Status.FAILURE));
+        verify(result).close();
+        verify(logger).warn(contains("exceeds the limit of 2 rows"));
+    }
+
+    @Test
+    void executionTimeout() throws RuleException {
+        RuleInterpreterPlugin languagePlugin = mock(RuleInterpreterPlugin.class);
+        doReturn(true).when(languagePlugin).accepts(concept);
+        // simulates the termination of the transaction by the database
+        doAnswer(invocation -> {
+            Thread.sleep(1100);
+            throw new RuleException("Cannot execute query for rule.");
+        }).when(languagePlugin).execute(eq(concept), anyMap(), eq(Severity.MINOR), any(AnalyzerContext.class));
+        ruleInterpreterPlugins.put("cypher", singletonList(languagePlugin));
+        concept.getReport().getProperties().setProperty("executionTimeoutSeconds", "1");
+        ConceptDescriptor conceptDescriptor = mock(ConceptDescriptor.class);
+        when(store.create(ConceptDescriptor.class)).thenReturn(conceptDescriptor);
+        when(store.hasActiveTransaction()).thenReturn(true);
+
+        boolean success = analyzerRuleVisitor.visitConcept(concept, Severity.MINOR);
+
+        assertThat(success, equalTo(false));
+        ArgumentCaptor<Result> resultCaptor = ArgumentCaptor.forClass(Result.class);
+        verify(reportWriter).setResult(resultCaptor.capture());
+        assertThat(resultCaptor.getValue().getStatus(), equalTo(Result.Status.TIMEOUT));
+        InOrder inOrder = inOrder(store);
+        inOrder.verify(store).commitTransaction();
+        inOrder.verify(store).beginTransaction(anyLong(), eq(TimeUnit.NANOSECONDS));
+        inOrder.verify(store).rollbackTransaction();
+        inOrder.verify(store).beginTransaction();
+        verify(logger).warn(contains("exceeded its time limit"));
+        verify(conceptDescriptor).setStatus(Result.Status.TIMEOUT);
+        verify(conceptDescriptor).setRuleHash(null);
+    }
+
+    @Test
+    void executionWithinTimeLimit() throws RuleException {
+        RuleInterpreterPlugin languagePlugin = mock(RuleInterpreterPlugin.class);
+        doReturn(true).when(languagePlugin).accepts(concept);
+        doReturn(Result.<Concept> builder().rule(concept).status(Result.Status.SUCCESS).severity(Severity.MINOR).build()).when(languagePlugin)
+                .execute(eq(concept), anyMap(), eq(Severity.MINOR), any(AnalyzerContext.class));
+        ruleInterpreterPlugins.put("cypher", singletonList(languagePlugin));
+        concept.getReport().getProperties().setProperty("executionTimeoutSeconds", "60");
+        when(store.hasActiveTransaction()).thenReturn(true);
+
+        boolean success = analyzerRuleVisitor.visitConcept(concept, Severity.MINOR);
+
+        assertThat(success, equalTo(true));
+        InOrder inOrder = inOrder(store, languagePlugin);
+        inOrder.verify(store).commitTransaction();
+        inOrder.verify(store).beginTransaction(anyLong(), eq(TimeUnit.NANOSECONDS));
+        inOrder.verify(languagePlugin).execute(eq(concept), anyMap(), eq(Severity.MINOR), any(AnalyzerContext.class));
+        inOrder.verify(store).commitTransaction();
+        inOrder.verify(store).beginTransaction();
+        verify(store, never()).rollbackTransaction();
+    }
+
+    @Test
+    void executionFailureWithinTimeLimit() throws RuleException {
+        RuleInterpreterPlugin languagePlugin = mock(RuleInterpreterPlugin.class);
+        doReturn(true).when(languagePlugin).accepts(concept);
+        doThrow(new RuleException("Cannot execute query for rule.")).when(languagePlugin)
+                .execute(eq(concept), anyMap(), eq(Severity.MINOR), any(AnalyzerContext.class));
+        ruleInterpreterPlugins.put("cypher", singletonList(languagePlugin));
+        concept.getReport().getProperties().setProperty("executionTimeoutSeconds", "60");
+
+        try {
+            analyzerRuleVisitor.visitConcept(concept, Severity.MINOR);
+            fail("Expecting a " + RuleException.class.getName());
+        } catch (RuleException e) {
+            assertThat(e.getMessage(), containsString("Cannot execute query"));
+        }
+    }
+
+    @Test
+    void executionLimitOverriddenByRule() throws RuleException {
+        RuleInterpreterPlugin languagePlugin = mock(RuleInterpreterPlugin.class);
+        doReturn(true).when(languagePlugin).accepts(concept);
+        doReturn(Result.<Concept> builder().rule(concept).status(Result.Status.SUCCESS).severity(Severity.MINOR).build()).when(languagePlugin)
+                .execute(eq(concept), anyMap(), eq(Severity.MINOR), any(AnalyzerContext.class));
+        ruleInterpreterPlugins.put("cypher", singletonList(languagePlugin));
+        concept.getReport().getProperties().setProperty("maxResultRows", "5");
+
+        analyzerRuleVisitor.visitConcept(concept, Severity.MINOR);
+
+        ArgumentCaptor<AnalyzerContext> contextCaptor = ArgumentCaptor.forClass(AnalyzerContext.class);
+        verify(languagePlugin).execute(eq(concept), anyMap(), eq(Severity.MINOR), contextCaptor.capture());
+        RuleExecutionGuard executionGuard = contextCaptor.getValue().getExecutionGuard();
+        executionGuard.check(5);
+        try {
+            executionGuard.check(6);
+            fail("Expecting a " + RuleExecutionLimitException.class.getName());
+        } catch (RuleExecutionLimitException e) {
+            assertThat(e.getStatus(), equalTo(Result.Status.FAILURE));
+        }
+    }
+
+    @Test
+    void invalidExecutionLimit() {
+        concept.getReport().getProperties().setProperty("executionTimeoutSeconds", "ten");
+        try {
+            analyzerRuleVisitor.visitConcept(concept, Severity.MINOR);
+            fail("Expecting a " + RuleException.class.getName());
+        } catch (RuleException e) {
+            assertThat(e.getMessage(), containsString("executionTimeoutSeconds"));
+        }
+    }
+
     @Test
     void skipConstraint() throws RuleException {
         analyzerRuleVisitor.skipConstraint(constraint, Severity.BLOCKER);
@@ -196,7 +377,11 @@ class AnalyzerRuleVisitorTest {
 
     @Test
     void skipAppliedConcept() throws RuleException {
-        when(store.find(ConceptDescriptor.class, concept.getId())).thenReturn(mock(ConceptDescriptor.class));
+        ConceptDescriptor conceptDescriptor = mock(ConceptDescriptor.class);
+        doReturn(getAppliedRuleHash()).when(conceptDescriptor).getRuleHash();
+        doReturn(1L).when(conceptDescriptor).getGraphStamp();
+        when(store.getGraphStamp()).thenReturn(1L);
+        mockAppliedConcepts(conceptDescriptor);
 
         analyzerRuleVisitor.visitConcept(concept, Severity.MINOR);
 
@@ -206,9 +391,71 @@ class AnalyzerRuleVisitorTest {
         verify(store, never()).executeQuery(eq(statement), anyMap());
     }
 
+    @Test
+    void reapplyConceptIfGraphChanged() throws RuleException {
+        ConceptDescriptor conceptDescriptor = mock(ConceptDescriptor.class);
+        doReturn(getAppliedRuleHash()).when(conceptDescriptor).getRuleHash();
+        doReturn(1L).when(conceptDescriptor).getGraphStamp();
+        when(store.getGraphStamp()).thenReturn(2L);
+        mockAppliedConcepts(conceptDescriptor);
+
+        analyzerRuleVisitor.visitConcept(concept, Severity.MINOR);
+
+        verify(reportWriter).beginConcept(concept);
+        verify(store, never()).create(ConceptDescriptor.class);
+        verify(conceptDescriptor).setGraphStamp(2L);
+    }
+
+    @Test
+    void reapplyConceptIfRuleChanged() throws RuleException {
+        String appliedRuleHash = getAppliedRuleHash();
+        ConceptDescriptor conceptDescriptor = mock(ConceptDescriptor.class);
+        doReturn(appliedRuleHash).when(conceptDescriptor).getRuleHash();
+        doReturn(0L).when(conceptDescriptor).getGraphStamp();
+        mockAppliedConcepts(conceptDescriptor);
+        ruleParameters.put(PARAMETER_WITH_DEFAULT, "otherValue");
+
+        analyzerRuleVisitor.visitConcept(concept, Severity.MINOR);
+
+        verify(reportWriter).beginConcept(concept);
+        ArgumentCaptor<String> ruleHashCaptor = ArgumentCaptor.forClass(String.class);
+        verify(conceptDescriptor).setRuleHash(ruleHashCaptor.capture());
+        assertThat(ruleHashCaptor.getValue(), not(equalTo(appliedRuleHash)));
+    }
+
+    @Test
+    void reapplyConceptIfRequiredConceptChanged() throws RuleException {
+        String appliedRuleHash = getDependentConceptRuleHash("match (r) return r");
+
+        assertThat(getDependentConceptRuleHash("match (r) return r"), equalTo(appliedRuleHash));
+        assertThat(getDependentConceptRuleHash("match (r:Changed) return r"), not(equalTo(appliedRuleHash)));
+    }
+
+    @Test
+    void readGraphStampOncePerAnalysis() throws RuleException {
+        Concept otherConcept = Concept.builder().id("test:OtherConcept").ruleSource(FILE_RULE_SOURCE).severity(Severity.MINOR)
+                .executable(new CypherExecutable(statement)).verification(ROW_COUNT_VERIFICATION).report(Report.builder().build()).build();
+        when(store.executeQuery(eq(statement), anyMap())).thenReturn(createResult(columnNames), createResult(columnNames));
+
+        analyzerRuleVisitor.visitConcept(concept, Severity.MINOR);
+        analyzerRuleVisitor.visitConcept(otherConcept, Severity.MINOR);
+
+        verify(store, times(1)).getGraphStamp();
+    }
+
+    @Test
+    void reapplyConceptWithoutRuleHash() throws RuleException {
+        mockAppliedConcepts(mock(ConceptDescriptor.class));
+
+        analyzerRuleVisitor.visitConcept(concept, Severity.MINOR);
+
+        verify(reportWriter).beginConcept(concept);
+        verify(store, never()).create(ConceptDescriptor.class);
+    }
+
     @Test
     void executeAppliedConcept() throws RuleException {
-        when(store.find(ConceptDescriptor.class, concept.getId())).thenReturn(mock(ConceptDescriptor.class));
+        mockAppliedConcepts(mock(ConceptDescriptor.class));
         when(configuration.isExecuteAppliedConcepts()).thenReturn(true);
 
         analyzerRuleVisitor.visitConcept(concept, Severity.MINOR);
@@ -251,6 +498,64 @@ class AnalyzerRuleVisitorTest {
         }
     }
 
+    /**
+     * Applies the concept and returns the rule hash which has been stored for it.
+     */
+    private String getAppliedRuleHash() throws RuleException {
+        ConceptDescriptor conceptDescriptor = mock(ConceptDescriptor.class);
+        when(store.create(ConceptDescriptor.class)).thenReturn(conceptDescriptor);
+        new AnalyzerRuleVisitor(configuration, analyzerContext, new HashMap<>(ruleParameters), ruleInterpreterPlugins, mock(ReportPlugin.class))
+                .visitConcept(concept, Severity.MINOR);
+        ArgumentCaptor<String> ruleHashCaptor = ArgumentCaptor.forClass(String.class);
+        verify(conceptDescriptor).setRuleHash(ruleHashCaptor.capture());
+        clearInvocations(store);
+        return ruleHashCaptor.getValue();
+    }
+
+    /**
+     * Applies a required concept with the given statement followed by a
+     * depending concept and returns the rule hash stored for the latter.
+     */
+    private String getDependentConceptRuleHash(String requiredStatement) throws RuleException {
+        RuleInterpreterPlugin languagePlugin = mock(RuleInterpreterPlugin.class);
+        doReturn(true).when(languagePlugin).accepts(any(ExecutableRule.class));
+        doAnswer(invocation -> Result.builder().rule(invocation.getArgument(0)).status(Result.Status.SUCCESS).severity(Severity.MINOR).build())
+                .when(languagePlugin).execute(any(ExecutableRule.class), anyMap(), any(Severity.class), any(AnalyzerContext.class));
+        Concept requiredConcept = Concept.builder().id("test:RequiredConcept").ruleSource(FILE_RULE_SOURCE).severity(Severity.MINOR)
+                .executable(new CypherExecutable(requiredStatement)).verification(ROW_COUNT_VERIFICATION).report(Report.builder().build()).build();
+        Concept dependentConcept = Concept.builder().id("test:DependentConcept").ruleSource(FILE_RULE_SOURCE).severity(Severity.MINOR)
+                .executable(new CypherExecutable(statement)).verification(ROW_COUNT_VERIFICATION).report(Report.builder().build())
+                .requiresConcepts(Collections.singletonMap("test:Required*", null)).build();
+        ConceptDescriptor requiredConceptDescriptor = mock(ConceptDescriptor.class);
+        ConceptDescriptor dependentConceptDescriptor = mock(ConceptDescriptor.class);
+        when(store.create(ConceptDescriptor.class)).thenReturn(requiredConceptDescriptor, dependentConceptDescriptor);
+        AnalyzerRuleVisitor visitor = new AnalyzerRuleVisitor(configuration, analyzerContext, ruleParameters,
+                Collections.singletonMap("cypher", singletonList(languagePlugin)), mock(ReportPlugin.class));
+
+        visitor.visitConcept(requiredConcept, Severity.MINOR);
+        visitor.visitConcept(dependentConcept, Severity.MINOR);
+
+        ArgumentCaptor<String> ruleHashCaptor = ArgumentCaptor.forClass(String.class);
+        verify(dependentConceptDescriptor).setRuleHash(ruleHashCaptor.capture());
+        return ruleHashCaptor.getValue();
+    }
+
+    /**
+     * Mocks the query for the concepts applied by previous analysis runs.
+     */
+    private void mockAppliedConcepts(ConceptDescriptor... conceptDescriptors) {
+        List<Query.Result.CompositeRowObject> rows = new ArrayList<>();
+        for (ConceptDescriptor conceptDescriptor : conceptDescriptors) {
+            doReturn(concept.getId()).when(conceptDescriptor).getId();
+            Query.Result.CompositeRowObject row = mock(Query.Result.CompositeRowObject.class);
+            doReturn(conceptDescriptor).when(row).get("concept", ConceptDescriptor.class);
+            rows.add(row);
+        }
+        Query.Result<Query.Result.CompositeRowObject> result = mock(Query.Result.class);
+        doAnswer(invocation -> rows.iterator()).when(result).iterator();
+        doReturn(result).when(store).executeQuery("MATCH (concept:Concept) RETURN concept");
+    }
+
     private Concept createConcept(String statement) {
         Executable executable = new CypherExecutable(statement);
         Parameter parameterWithoutDefaultValue = new Parameter(PARAMETER_WITHOUT_DEFAULT, Parameter.Type.STRING, null);
@@ -276,10 +581,17 @@ class AnalyzerRuleVisitorTest {
     }
 
     private Query.Result<Query.Result.CompositeRowObject> createResult(List<String> columnNames) {
+        return createResult(columnNames, 1);
+    }
+
+    private Query.Result<Query.Result.CompositeRowObject> createResult(List<String> columnNames, int rowCount) {
         Query.Result.CompositeRowObject row = mock(Query.Result.CompositeRowObject.class);
         when(row.getColumns()).thenReturn(columnNames);
         ResultIterator<Query.Result.CompositeRowObject> iterator = mock(ResultIterator.class);
-        when(iterator.hasNext()).thenReturn(true, false);
+        Boolean[] hasNext = new Boolean[rowCount];
+        Arrays.fill(hasNext, true);
+        hasNext[rowCount - 1] = false;
+        when(iterator.hasNext()).thenReturn(true, hasNext);
         when(iterator.next()).thenReturn(row);
         Query.Result<Query.Result.CompositeRowObject> result = mock(Query.Result.class);
         when(result.iterator()).thenReturn(iterator);
@@ -0,0 +1,45 @@
+package com.buschmais.jqassistant.core.analysis.impl;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CypherQueryCacheTest {
+
+    @Test
+    void normalizeWhitespaceAndComments() {
+        String cypher = String.join("\n", //
+                "  // Find all nodes", //
+                "MATCH", //
+                "  (n:Node)   /* with a value */", //
+                "WHERE", //
+                "\tn.value > 5", //
+                "RETURN", //
+                "  n;", //
+                "");
+
+        assertThat(CypherQueryCache.normalize(cypher)).isEqualTo("MATCH (n:Node) WHERE n.value > 5 RETURN n");
+    }
+
+    @Test
+    void preserveLiteralsAndQuotedIdentifiers() {
+        assertThat(CypherQueryCache.normalize("MATCH (n)  WHERE n.name = 'a  // b'   RETURN n.`my  value`"))
+                .isEqualTo("MATCH (n) WHERE n.name = 'a  // b' RETURN n.`my  value`");
+        assertThat(CypherQueryCache.normalize("RETURN \"a \\\"  ;\"   as value")).isEqualTo("RETURN \"a \\\"  ;\" as value");
+    }
+
+    @Test
+    void cacheStatistics() {
+        CypherQueryCache queryCache = new CypherQueryCache(CypherQueryCache.DEFAULT_MAXIMUM_SIZE);
+
+        String first = queryCache.get("MATCH (n)\nRETURN n");
+        String second = queryCache.get("MATCH (n)\nRETURN n");
+
+        assertThat(first).isEqualTo("MATCH (n) RETURN n");
+        assertThat(second).isSameAs(first);
+        CacheStats stats = queryCache.getStats();
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(stats.hitCount()).isEqualTo(1);
+    }
+}
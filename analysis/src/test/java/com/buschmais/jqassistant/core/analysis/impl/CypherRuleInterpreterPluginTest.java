@@ -0,0 +1,87 @@
+package com.buschmais.jqassistant.core.analysis.impl;
+
+import java.util.List;
+import java.util.Map;
+
+import com.buschmais.jqassistant.core.analysis.api.AnalyzerContext;
+import com.buschmais.jqassistant.core.analysis.api.CollectingRowVerifier;
+import com.buschmais.jqassistant.core.analysis.api.RuleExecutionGuard;
+import com.buschmais.jqassistant.core.report.api.model.Result;
+import com.buschmais.jqassistant.core.rule.api.model.*;
+import com.buschmais.jqassistant.core.store.api.Store;
+import com.buschmais.xo.api.Query;
+import com.buschmais.xo.api.ResultIterator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.slf4j.Logger;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CypherRuleInterpreterPluginTest {
+
+    @Mock
+    private AnalyzerContext context;
+
+    @Mock
+    private Store store;
+
+    private final Concept concept = Concept.builder().id("test:Concept").severity(Severity.MINOR).executable(new CypherExecutable("MATCH (n) RETURN n"))
+            .report(Report.builder().build()).build();
+
+    @BeforeEach
+    void setUp() {
+        Query.Result.CompositeRowObject row = mock(Query.Result.CompositeRowObject.class);
+        doReturn(singletonList("n")).when(row).getColumns();
+        ResultIterator<Query.Result.CompositeRowObject> iterator = mock(ResultIterator.class);
+        doReturn(true, true, false).when(iterator).hasNext();
+        doReturn(row).when(iterator).next();
+        Query.Result<Query.Result.CompositeRowObject> result = mock(Query.Result.class);
+        doReturn(iterator).when(result).iterator();
+        doReturn(result).when(store).executeQuery(anyString(), anyMap());
+        doReturn(store).when(context).getStore();
+        doReturn(mock(Logger.class)).when(context).getLogger();
+        doReturn(RuleExecutionGuard.UNLIMITED).when(context).getExecutionGuard();
+    }
+
+    @Test
+    void verifyRowsUsingRowVerifier() throws RuleException {
+        doReturn(new CollectingRowVerifier((columnNames, rows) -> rows.size() == 2 ? Result.Status.SUCCESS : Result.Status.FAILURE)).when(context)
+                .createRowVerifier(concept);
+
+        Result<Concept> result = new CypherRuleInterpreterPlugin().execute(concept, emptyMap(), Severity.MINOR, context);
+
+        assertThat(result.getStatus()).isEqualTo(Result.Status.SUCCESS);
+        assertThat(result.getRowCount()).isEqualTo(2);
+    }
+
+    @Test
+    void verifyRowsUsingDeprecatedStatus() throws RuleException {
+        CypherRuleInterpreterPlugin plugin = new CypherRuleInterpreterPlugin() {
+            @Override
+            protected <T extends ExecutableRule<?>> Result.Status getStatus(T executableRule, List<String> columnNames, List<Map<String, Object>> rows,
+                    AnalyzerContext context) {
+                assertThat(columnNames).containsExactly("n");
+                assertThat(rows).hasSize(2);
+                return Result.Status.FAILURE;
+            }
+        };
+
+        Result<Concept> result = plugin.execute(concept, emptyMap(), Severity.MINOR, context);
+
+        assertThat(result.getStatus()).isEqualTo(Result.Status.FAILURE);
+        verify(context, never()).createRowVerifier(any(ExecutableRule.class));
+    }
+}
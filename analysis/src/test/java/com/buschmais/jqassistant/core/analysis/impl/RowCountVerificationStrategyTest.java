@@ -4,6 +4,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import com.buschmais.jqassistant.core.analysis.api.RowVerifier;
 import com.buschmais.jqassistant.core.rule.api.model.Concept;
 import com.buschmais.jqassistant.core.rule.api.model.Constraint;
 import com.buschmais.jqassistant.core.rule.api.model.RuleException;
@@ -83,4 +84,17 @@ class RowCountVerificationStrategyTest {
         assertThat(strategy.verify(constraint, rowCountVerification, COLUMN_NAMES, result), equalTo(FAILURE));
     }
 
+    @Test
+    void rowVerifier() throws RuleException {
+        RowCountVerification rowCountVerification = RowCountVerification.builder().min(1).max(2).build();
+        RowVerifier rowVerifier = strategy.createRowVerifier(concept, rowCountVerification);
+        assertThat(rowVerifier.getStatus(), equalTo(FAILURE));
+        rowVerifier.verify(COLUMN_NAMES, Collections.singletonMap("a", 1));
+        assertThat(rowVerifier.getStatus(), equalTo(SUCCESS));
+        rowVerifier.verify(COLUMN_NAMES, Collections.singletonMap("a", 2));
+        assertThat(rowVerifier.getStatus(), equalTo(SUCCESS));
+        rowVerifier.verify(COLUMN_NAMES, Collections.singletonMap("a", 3));
+        assertThat(rowVerifier.getStatus(), equalTo(FAILURE));
+    }
+
 }
@@ -0,0 +1,206 @@
+package com.buschmais.jqassistant.core.analysis.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import javax.script.*;
+
+import com.buschmais.jqassistant.core.analysis.api.AnalyzerContext;
+import com.buschmais.jqassistant.core.report.api.model.Result;
+import com.buschmais.jqassistant.core.rule.api.model.Concept;
+import com.buschmais.jqassistant.core.rule.api.model.RuleException;
+import com.buschmais.jqassistant.core.rule.api.model.ScriptExecutable;
+import com.buschmais.jqassistant.core.rule.api.model.Severity;
+import com.buschmais.jqassistant.core.store.api.Store;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ScriptRuleInterpreterPluginTest {
+
+    private static final String LANGUAGE = "test";
+
+    @Mock
+    private ScriptEngineFactory scriptEngineFactory;
+
+    @Mock
+    private AnalyzerContext context;
+
+    @Mock
+    private Store store;
+
+    private ScriptRuleInterpreterPlugin plugin;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> new TestScriptEngine(scriptEngineFactory)).when(scriptEngineFactory).getScriptEngine();
+        doReturn(store).when(context).getStore();
+        ScriptEngineManager scriptEngineManager = new ScriptEngineManager();
+        scriptEngineManager.registerEngineName(LANGUAGE, scriptEngineFactory);
+        plugin = new ScriptRuleInterpreterPlugin(scriptEngineManager, 1);
+    }
+
+    @Test
+    void executeWithDifferentParameters() throws RuleException {
+        Concept concept = createConcept("value");
+
+        Result<Concept> first = plugin.execute(concept, singletonMap("value", "first"), Severity.MINOR, context);
+        Result<Concept> second = plugin.execute(concept, singletonMap("value", "second"), Severity.MAJOR, context);
+
+        assertThat(first.getRows()).containsExactly(singletonMap("value", "first"));
+        assertThat(second.getRows()).containsExactly(singletonMap("value", "second"));
+        verify(scriptEngineFactory, times(1)).getScriptEngine();
+    }
+
+    @Test
+    void parametersDoNotLeakIntoSubsequentExecutions() throws RuleException {
+        Concept concept = createConcept("value");
+
+        Result<Concept> first = plugin.execute(concept, singletonMap("value", "first"), Severity.MINOR, context);
+        Result<Concept> second = plugin.execute(concept, emptyMap(), Severity.MINOR, context);
+
+        assertThat(first.getRows()).containsExactly(singletonMap("value", "first"));
+        assertThat(second.getRows()).containsExactly(singletonMap("value", null));
+        verify(scriptEngineFactory, times(1)).getScriptEngine();
+    }
+
+    @Test
+    void defaultVariables() throws RuleException {
+        Concept concept = createConcept("severity");
+
+        Result<Concept> result = plugin.execute(concept, emptyMap(), Severity.CRITICAL, context);
+
+        assertThat(result.getRows()).containsExactly(singletonMap("severity", Severity.CRITICAL));
+    }
+
+    @Test
+    void limitIdleScriptEngines() throws RuleException {
+        Concept concept = createConcept("value");
+        Concept nestedConcept = createConcept("nested");
+        Map<String, Object> parameters = singletonMap("nested",
+                (Callable<Result<Concept>>) () -> plugin.execute(concept, singletonMap("value", "nested"), Severity.MINOR, context));
+
+        Result<Concept> result = plugin.execute(nestedConcept, parameters, Severity.MINOR, context);
+
+        // the nested execution requires a second engine, only one of both is retained afterwards
+        Result<?> nestedResult = (Result<?>) result.getRows().get(0).get("nested");
+        assertThat(nestedResult.getRows()).containsExactly(singletonMap("value", "nested"));
+        verify(scriptEngineFactory, times(2)).getScriptEngine();
+        plugin.execute(nestedConcept, parameters, Severity.MINOR, context);
+        verify(scriptEngineFactory, times(3)).getScriptEngine();
+    }
+
+    @Test
+    void invalidResult() {
+        Concept concept = createConcept("invalid");
+
+        assertThatThrownBy(() -> plugin.execute(concept, emptyMap(), Severity.MINOR, context)).isInstanceOf(RuleException.class);
+        // the engine is released to the pool
+        plugin.execute(createConcept("value"), emptyMap(), Severity.MINOR, context);
+        verify(scriptEngineFactory, times(1)).getScriptEngine();
+    }
+
+    private Concept createConcept(String source) {
+        return Concept.builder().id("test:" + source).severity(Severity.MINOR).executable(new ScriptExecutable(LANGUAGE, source)).build();
+    }
+
+    /**
+     * A {@link ScriptEngine} returning a {@link Result} containing a single row
+     * with the value of the variable named by the script. Callable values are
+     * invoked, the script `invalid` returns a value which is not a
+     * {@link Result}.
+     */
+    private static class TestScriptEngine extends AbstractScriptEngine implements Compilable {
+
+        private final ScriptEngineFactory factory;
+
+        private TestScriptEngine(ScriptEngineFactory factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public Object eval(String script, ScriptContext context) throws ScriptException {
+            if ("invalid".equals(script)) {
+                return script;
+            }
+            Object value = context.getAttribute(script);
+            if (value instanceof Callable) {
+                try {
+                    value = ((Callable<?>) value).call();
+                } catch (Exception e) {
+                    throw new ScriptException(e);
+                }
+            }
+            Map<String, Object> row = new HashMap<>();
+            row.put(script, value);
+            return Result.builder().rows(singletonList(row)).build();
+        }
+
+        @Override
+        public Object eval(Reader reader, ScriptContext context) throws ScriptException {
+            return eval(read(reader), context);
+        }
+
+        @Override
+        public CompiledScript compile(String script) {
+            ScriptEngine scriptEngine = this;
+            return new CompiledScript() {
+                @Override
+                public Object eval(ScriptContext context) throws ScriptException {
+                    return scriptEngine.eval(script, context);
+                }
+
+                @Override
+                public ScriptEngine getEngine() {
+                    return scriptEngine;
+                }
+            };
+        }
+
+        @Override
+        public CompiledScript compile(Reader reader) throws ScriptException {
+            return compile(read(reader));
+        }
+
+        @Override
+        public Bindings createBindings() {
+            return new SimpleBindings();
+        }
+
+        @Override
+        public ScriptEngineFactory getFactory() {
+            return factory;
+        }
+
+        private static String read(Reader reader) throws ScriptException {
+            StringBuilder builder = new StringBuilder();
+            char[] buffer = new char[1024];
+            int read;
+            try {
+                while ((read = reader.read(buffer)) != -1) {
+                    builder.append(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                throw new ScriptException(e);
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.buschmais.jqassistant.core.benchmarks;
+
+import com.buschmais.jqassistant.core.store.api.model.Descriptor;
+import com.buschmais.xo.neo4j.api.annotation.Label;
+
+/**
+ * A node created by the benchmarks.
+ */
+@Label("Benchmark")
+public interface BenchmarkDescriptor extends Descriptor {
+
+    String getName();
+
+    void setName(String name);
+
+}
@@ -0,0 +1,20 @@
+package com.buschmais.jqassistant.core.benchmarks;
+
+import com.buschmais.jqassistant.core.store.api.model.Descriptor;
+import com.buschmais.xo.neo4j.api.annotation.Relation;
+import com.buschmais.xo.neo4j.api.annotation.Relation.Incoming;
+import com.buschmais.xo.neo4j.api.annotation.Relation.Outgoing;
+
+/**
+ * A relationship created by the benchmarks.
+ */
+@Relation("BENCHMARK_RELATION")
+public interface BenchmarkRelationDescriptor extends Descriptor {
+
+    @Outgoing
+    BenchmarkDescriptor getSource();
+
+    @Incoming
+    BenchmarkDescriptor getTarget();
+
+}
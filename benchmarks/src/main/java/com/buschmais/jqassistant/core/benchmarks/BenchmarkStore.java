@@ -0,0 +1,50 @@
+package com.buschmais.jqassistant.core.benchmarks;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.buschmais.jqassistant.core.store.api.Store;
+import com.buschmais.jqassistant.core.store.api.StoreConfiguration;
+import com.buschmais.jqassistant.core.store.api.StoreFactory;
+import com.buschmais.jqassistant.core.store.spi.StorePluginRepository;
+
+/**
+ * Provides an embedded in-memory {@link Store} for the benchmarks.
+ */
+final class BenchmarkStore {
+
+    private static final URI MEMORY_URI = URI.create("memory:///");
+
+    private BenchmarkStore() {
+    }
+
+    /**
+     * Create and start an embedded in-memory store supporting
+     * {@link BenchmarkDescriptor}s.
+     *
+     * @return The started {@link Store}.
+     */
+    static Store start() {
+        StoreConfiguration storeConfiguration = StoreConfiguration.builder().uri(MEMORY_URI).build();
+        Store store = StoreFactory.getStore(storeConfiguration, new StorePluginRepository() {
+            @Override
+            public List<Class<?>> getDescriptorTypes() {
+                return Arrays.asList(BenchmarkDescriptor.class, BenchmarkRelationDescriptor.class);
+            }
+
+            @Override
+            public List<Class<?>> getProcedureTypes() {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public List<Class<?>> getFunctionTypes() {
+                return Collections.emptyList();
+            }
+        });
+        store.start();
+        return store;
+    }
+}
@@ -0,0 +1,128 @@
+package com.buschmais.jqassistant.core.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.buschmais.jqassistant.core.analysis.api.AnalyzerContext;
+import com.buschmais.jqassistant.core.analysis.api.RowVerifier;
+import com.buschmais.jqassistant.core.analysis.impl.CypherRuleInterpreterPlugin;
+import com.buschmais.jqassistant.core.analysis.impl.RowCountVerificationStrategy;
+import com.buschmais.jqassistant.core.report.api.model.Result;
+import com.buschmais.jqassistant.core.rule.api.model.Constraint;
+import com.buschmais.jqassistant.core.rule.api.model.CypherExecutable;
+import com.buschmais.jqassistant.core.rule.api.model.ExecutableRule;
+import com.buschmais.jqassistant.core.rule.api.model.Report;
+import com.buschmais.jqassistant.core.rule.api.model.RuleException;
+import com.buschmais.jqassistant.core.rule.api.model.Severity;
+import com.buschmais.jqassistant.core.rule.api.model.Verification;
+import com.buschmais.jqassistant.core.rule.api.reader.RowCountVerification;
+import com.buschmais.jqassistant.core.store.api.Store;
+
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.util.Collections.singletonMap;
+
+/**
+ * Measures the execution of a Cypher constraint by
+ * {@link CypherRuleInterpreterPlugin}, i.e. reading, verifying and
+ * materializing the rows of the query result.
+ *
+ * The query generates its rows using UNWIND, so the measured time is dominated
+ * by result processing instead of graph access.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CypherResultBenchmark {
+
+    private static final String QUERY = "UNWIND range(1, $rows) AS i RETURN i AS id, 'value' + i AS name, i % 10 AS bucket";
+
+    @Param({ "1000", "100000" })
+    private int rows;
+
+    private Store store;
+
+    private CypherRuleInterpreterPlugin plugin;
+
+    private Constraint constraint;
+
+    private AnalyzerContext analyzerContext;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = BenchmarkStore.start();
+        plugin = new CypherRuleInterpreterPlugin();
+        constraint = Constraint.builder().id("benchmark:Constraint").executable(new CypherExecutable(QUERY)).report(Report.builder().build()).build();
+        analyzerContext = new BenchmarkAnalyzerContext(store);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        store.stop();
+    }
+
+    @Benchmark
+    public Result<Constraint> execute() throws RuleException {
+        store.beginTransaction();
+        try {
+            return plugin.execute(constraint, singletonMap("rows", rows), Severity.MAJOR, analyzerContext);
+        } finally {
+            store.commitTransaction();
+        }
+    }
+
+    /**
+     * A minimal {@link AnalyzerContext} using the default row count verification.
+     */
+    private static class BenchmarkAnalyzerContext implements AnalyzerContext {
+
+        private static final Logger LOGGER = LoggerFactory.getLogger(BenchmarkAnalyzerContext.class);
+
+        private static final RowCountVerification VERIFICATION = RowCountVerification.builder().build();
+
+        private final RowCountVerificationStrategy verificationStrategy = new RowCountVerificationStrategy();
+
+        private final Store store;
+
+        private BenchmarkAnalyzerContext(Store store) {
+            this.store = store;
+        }
+
+        @Override
+        public Store getStore() {
+            return store;
+        }
+
+        @Override
+        public Logger getLogger() {
+            return LOGGER;
+        }
+
+        @Override
+        public <T extends ExecutableRule<?>> Result.Status verify(T executable, List<String> columnNames, List<Map<String, Object>> rows) {
+            return verificationStrategy.verify(executable, VERIFICATION, columnNames, rows);
+        }
+
+        @Override
+        public <T extends ExecutableRule<?>> Result.Status verify(T executable, List<String> columnNames, List<Map<String, Object>> rows,
+                Verification verification) {
+            return verify(executable, columnNames, rows);
+        }
+
+        @Override
+        public <T extends ExecutableRule<?>> RowVerifier createRowVerifier(T executable) {
+            return verificationStrategy.createRowVerifier(executable, VERIFICATION);
+        }
+
+        @Override
+        public <T extends ExecutableRule<?>> Result.ResultBuilder<T> resultBuilder(T rule, Severity severity) {
+            return Result.<T> builder().rule(rule).severity(severity);
+        }
+    }
+}
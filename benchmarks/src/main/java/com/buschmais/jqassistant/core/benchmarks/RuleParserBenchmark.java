@@ -0,0 +1,151 @@
+package com.buschmais.jqassistant.core.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.buschmais.jqassistant.core.rule.api.model.RuleException;
+import com.buschmais.jqassistant.core.rule.api.model.RuleSet;
+import com.buschmais.jqassistant.core.rule.api.reader.RuleConfiguration;
+import com.buschmais.jqassistant.core.rule.api.reader.RuleParserPlugin;
+import com.buschmais.jqassistant.core.rule.api.source.FileRuleSource;
+import com.buschmais.jqassistant.core.rule.api.source.RuleSource;
+import com.buschmais.jqassistant.core.rule.impl.reader.AsciidocRuleParserPlugin;
+import com.buschmais.jqassistant.core.rule.impl.reader.RuleParser;
+import com.buschmais.jqassistant.core.rule.impl.reader.XmlRuleParserPlugin;
+import com.buschmais.jqassistant.core.rule.impl.reader.YamlRuleParserPlugin;
+
+import org.openjdk.jmh.annotations.*;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+
+/**
+ * Measures parsing a generated rule file using the XML, AsciiDoc or YAML rule
+ * parser plugin.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RuleParserBenchmark {
+
+    private static final String SOURCE = "MATCH (n:Benchmark) WHERE n.name = 'value' RETURN n";
+
+    @Param({ "xml", "adoc", "yaml" })
+    private String format;
+
+    @Param({ "100" })
+    private int rules;
+
+    private RuleParser ruleParser;
+
+    private List<RuleSource> ruleSources;
+
+    @Setup(Level.Trial)
+    public void setUp() throws RuleException, IOException {
+        List<RuleParserPlugin> ruleParserPlugins = asList(new AsciidocRuleParserPlugin(), new XmlRuleParserPlugin(), new YamlRuleParserPlugin());
+        for (RuleParserPlugin ruleParserPlugin : ruleParserPlugins) {
+            ruleParserPlugin.initialize();
+            ruleParserPlugin.configure(RuleConfiguration.DEFAULT);
+        }
+        ruleParser = new RuleParser(ruleParserPlugins);
+        File directory = Files.createTempDirectory("jqassistant-rules").toFile();
+        directory.deleteOnExit();
+        String fileName = "rules." + format;
+        File file = new File(directory, fileName);
+        file.deleteOnExit();
+        Files.write(file.toPath(), createRules().getBytes(StandardCharsets.UTF_8));
+        ruleSources = singletonList(new FileRuleSource(directory, fileName));
+    }
+
+    @Benchmark
+    public RuleSet parse() throws RuleException {
+        return ruleParser.parse(ruleSources);
+    }
+
+    private String createRules() {
+        switch (format) {
+        case "xml":
+            return createXmlRules();
+        case "adoc":
+            return createAsciidocRules();
+        case "yaml":
+            return createYamlRules();
+        default:
+            throw new IllegalArgumentException("Unsupported format " + format);
+        }
+    }
+
+    private String createXmlRules() {
+        StringBuilder builder = new StringBuilder("<jqassistant-rules xmlns=\"http://schema.jqassistant.org/rule/v1.10\">\n");
+        for (int i = 0; i < rules; i++) {
+            builder.append("<concept id=\"").append(conceptId(i)).append("\">\n");
+            if (i > 0) {
+                builder.append("<requiresConcept refId=\"").append(conceptId(i / 2)).append("\"/>\n");
+            }
+            builder.append("<description>Concept ").append(i).append(".</description>\n");
+            builder.append("<cypher><![CDATA[").append(SOURCE).append("]]></cypher>\n");
+            builder.append("</concept>\n");
+            builder.append("<constraint id=\"").append(constraintId(i)).append("\">\n");
+            builder.append("<requiresConcept refId=\"").append(conceptId(i)).append("\"/>\n");
+            builder.append("<description>Constraint ").append(i).append(".</description>\n");
+            builder.append("<cypher><![CDATA[").append(SOURCE).append("]]></cypher>\n");
+            builder.append("</constraint>\n");
+        }
+        return builder.append("</jqassistant-rules>\n").toString();
+    }
+
+    private String createAsciidocRules() {
+        StringBuilder builder = new StringBuilder("= Benchmark Rules\n\n");
+        for (int i = 0; i < rules; i++) {
+            builder.append("[[").append(conceptId(i)).append("]]\n");
+            builder.append(".Concept ").append(i).append(".\n");
+            builder.append("[source,cypher,role=concept");
+            if (i > 0) {
+                builder.append(",requiresConcepts=\"").append(conceptId(i / 2)).append('"');
+            }
+            builder.append("]\n----\n").append(SOURCE).append("\n----\n\n");
+            builder.append("[[").append(constraintId(i)).append("]]\n");
+            builder.append(".Constraint ").append(i).append(".\n");
+            builder.append("[source,cypher,role=constraint,requiresConcepts=\"").append(conceptId(i)).append("\"]\n");
+            builder.append("----\n").append(SOURCE).append("\n----\n\n");
+        }
+        return builder.toString();
+    }
+
+    private String createYamlRules() {
+        StringBuilder builder = new StringBuilder("---\nconcepts:\n");
+        for (int i = 0; i < rules; i++) {
+            builder.append("  - id: ").append(conceptId(i)).append('\n');
+            builder.append("    description: Concept ").append(i).append(".\n");
+            if (i > 0) {
+                builder.append("    requiresConcepts:\n");
+                builder.append("      - refId: ").append(conceptId(i / 2)).append('\n');
+            }
+            builder.append("    source: ").append(SOURCE).append('\n');
+        }
+        builder.append("constraints:\n");
+        for (int i = 0; i < rules; i++) {
+            builder.append("  - id: ").append(constraintId(i)).append('\n');
+            builder.append("    description: Constraint ").append(i).append(".\n");
+            builder.append("    requiresConcepts:\n");
+            builder.append("      - refId: ").append(conceptId(i)).append('\n');
+            builder.append("    source: ").append(SOURCE).append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static String conceptId(int i) {
+        return "benchmark:Concept" + i;
+    }
+
+    private static String constraintId(int i) {
+        return "benchmark:Constraint" + i;
+    }
+}
@@ -0,0 +1,99 @@
+package com.buschmais.jqassistant.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.buschmais.jqassistant.core.rule.api.executor.AbstractRuleVisitor;
+import com.buschmais.jqassistant.core.rule.api.executor.RuleSetExecutor;
+import com.buschmais.jqassistant.core.rule.api.executor.RuleSetExecutorConfiguration;
+import com.buschmais.jqassistant.core.rule.api.model.Concept;
+import com.buschmais.jqassistant.core.rule.api.model.Constraint;
+import com.buschmais.jqassistant.core.rule.api.model.CypherExecutable;
+import com.buschmais.jqassistant.core.rule.api.model.Group;
+import com.buschmais.jqassistant.core.rule.api.model.RuleException;
+import com.buschmais.jqassistant.core.rule.api.model.RuleSelection;
+import com.buschmais.jqassistant.core.rule.api.model.RuleSet;
+import com.buschmais.jqassistant.core.rule.api.model.RuleSetBuilder;
+import com.buschmais.jqassistant.core.rule.api.model.Severity;
+
+import org.openjdk.jmh.annotations.*;
+
+import static java.util.Collections.singletonMap;
+
+/**
+ * Measures the overhead of {@link RuleSetExecutor} for resolving and visiting
+ * a synthetic rule set, the rules themselves are not executed.
+ *
+ * Each concept requires the concept with half of its index, i.e. the
+ * dependencies form a tree, each constraint requires one concept.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RuleSetExecutorBenchmark {
+
+    private static final String GROUP_ID = "benchmark:Group";
+
+    @Param({ "100", "1000" })
+    private int rules;
+
+    private RuleSet ruleSet;
+
+    private RuleSelection ruleSelection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws RuleException {
+        RuleSetBuilder ruleSetBuilder = RuleSetBuilder.newInstance();
+        Group.GroupBuilder groupBuilder = Group.builder().id(GROUP_ID);
+        for (int i = 0; i < rules; i++) {
+            Concept.ConceptBuilder conceptBuilder = Concept.builder().id(conceptId(i)).executable(new CypherExecutable("MATCH (n) RETURN n"));
+            if (i > 0) {
+                conceptBuilder.requiresConcepts(singletonMap(conceptId(i / 2), false));
+            }
+            ruleSetBuilder.addConcept(conceptBuilder.build());
+            String constraintId = "benchmark:Constraint" + i;
+            ruleSetBuilder.addConstraint(Constraint.builder().id(constraintId).executable(new CypherExecutable("MATCH (n) RETURN n"))
+                    .requiresConcepts(singletonMap(conceptId(i), false)).build());
+            groupBuilder.constraint(constraintId, null);
+        }
+        ruleSetBuilder.addGroup(groupBuilder.build());
+        ruleSet = ruleSetBuilder.getRuleSet();
+        ruleSelection = RuleSelection.builder().groupId(GROUP_ID).build();
+    }
+
+    @Benchmark
+    public CountingRuleVisitor execute() throws RuleException {
+        CountingRuleVisitor visitor = new CountingRuleVisitor();
+        new RuleSetExecutor(visitor, new RuleSetExecutorConfiguration()).execute(ruleSet, ruleSelection);
+        return visitor;
+    }
+
+    private static String conceptId(int i) {
+        return "benchmark:Concept" + i;
+    }
+
+    /**
+     * A {@link AbstractRuleVisitor} which only counts the visited rules.
+     */
+    public static class CountingRuleVisitor extends AbstractRuleVisitor {
+
+        private int visited = 0;
+
+        @Override
+        public boolean visitConcept(Concept concept, Severity effectiveSeverity) {
+            visited++;
+            return true;
+        }
+
+        @Override
+        public void visitConstraint(Constraint constraint, Severity effectiveSeverity) {
+            visited++;
+        }
+
+        public int getVisited() {
+            return visited;
+        }
+    }
+}
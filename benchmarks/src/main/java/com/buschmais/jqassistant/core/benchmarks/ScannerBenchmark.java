@@ -0,0 +1,155 @@
+package com.buschmais.jqassistant.core.benchmarks;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.buschmais.jqassistant.core.scanner.api.DefaultScope;
+import com.buschmais.jqassistant.core.scanner.api.Scanner;
+import com.buschmais.jqassistant.core.scanner.api.ScannerConfiguration;
+import com.buschmais.jqassistant.core.scanner.api.ScannerContext;
+import com.buschmais.jqassistant.core.scanner.api.ScannerPlugin;
+import com.buschmais.jqassistant.core.scanner.impl.ScannerContextImpl;
+import com.buschmais.jqassistant.core.scanner.impl.ScannerImpl;
+import com.buschmais.jqassistant.core.scanner.spi.ScannerPluginRepository;
+import com.buschmais.jqassistant.core.store.api.Store;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static java.util.Collections.emptyMap;
+
+/**
+ * Measures the dispatch of items to scanner plugins by {@link ScannerImpl}.
+ *
+ * The plugins only check the path of an item and do not create any
+ * descriptors, i.e. the store is not involved apart from one transaction per
+ * batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScannerBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({ "10", "100" })
+    private int plugins;
+
+    private Store store;
+
+    private Scanner scanner;
+
+    private String[] paths;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = BenchmarkStore.start();
+        ScannerContext scannerContext = new ScannerContextImpl(store, new File("target/benchmarks"));
+        Map<String, ScannerPlugin<?, ?>> scannerPlugins = new HashMap<>();
+        for (int i = 0; i < plugins; i++) {
+            scannerPlugins.put("plugin" + i, new PathScannerPlugin(".p" + i));
+        }
+        scanner = new ScannerImpl(new ScannerConfiguration(), emptyMap(), scannerContext, new BenchmarkScannerPluginRepository(scannerPlugins));
+        paths = new String[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            paths[i] = "/item" + i + ".p" + (i % plugins);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        store.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void dispatch(Blackhole blackhole) {
+        store.beginTransaction();
+        for (String path : paths) {
+            blackhole.consume(scanner.scan(path, path, DefaultScope.NONE));
+        }
+        store.commitTransaction();
+    }
+
+    /**
+     * A scanner plugin accepting items with a given path suffix.
+     */
+    private static class PathScannerPlugin implements ScannerPlugin<String, BenchmarkDescriptor> {
+
+        private final String suffix;
+
+        private PathScannerPlugin(String suffix) {
+            this.suffix = suffix;
+        }
+
+        @Override
+        public Class<? extends String> getType() {
+            return String.class;
+        }
+
+        @Override
+        public Class<BenchmarkDescriptor> getDescriptorType() {
+            return BenchmarkDescriptor.class;
+        }
+
+        @Override
+        public boolean accepts(String item, String path, com.buschmais.jqassistant.core.scanner.api.Scope scope) {
+            return path.endsWith(suffix);
+        }
+
+        @Override
+        public BenchmarkDescriptor scan(String item, String path, com.buschmais.jqassistant.core.scanner.api.Scope scope, Scanner scanner) {
+            return null;
+        }
+
+        @Override
+        public String getName() {
+            return "PathScannerPlugin" + suffix;
+        }
+    }
+
+    /**
+     * A {@link ScannerPluginRepository} providing a fixed set of plugins.
+     */
+    private static class BenchmarkScannerPluginRepository implements ScannerPluginRepository {
+
+        private final Map<String, ScannerPlugin<?, ?>> scannerPlugins;
+
+        private BenchmarkScannerPluginRepository(Map<String, ScannerPlugin<?, ?>> scannerPlugins) {
+            this.scannerPlugins = scannerPlugins;
+        }
+
+        @Override
+        public Map<String, ScannerPlugin<?, ?>> getScannerPlugins(ScannerContext scannerContext, Map<String, Object> properties) {
+            return scannerPlugins;
+        }
+
+        @Override
+        public Map<String, ScannerPlugin<?, ?>> createScannerPlugins(ScannerContext scannerContext, Map<String, Object> properties) {
+            return scannerPlugins;
+        }
+
+        @Override
+        public com.buschmais.jqassistant.core.scanner.api.Scope getScope(String name) {
+            return DefaultScope.NONE;
+        }
+
+        @Override
+        public Map<String, com.buschmais.jqassistant.core.scanner.api.Scope> getScopes() {
+            return emptyMap();
+        }
+
+        @Override
+        public void initialize() {
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+}
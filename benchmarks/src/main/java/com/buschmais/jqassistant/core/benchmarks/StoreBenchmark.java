@@ -0,0 +1,77 @@
+package com.buschmais.jqassistant.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.buschmais.jqassistant.core.store.api.Store;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures creating nodes and relationships using an embedded store including
+ * the auto commits and explicit flushes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StoreBenchmark {
+
+    @Param({ "1000", "10000" })
+    private int nodes;
+
+    @Param({ "1000" })
+    private int flushInterval;
+
+    private Store store;
+
+    @Setup(Level.Trial)
+    public void startStore() {
+        store = BenchmarkStore.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void resetStore() {
+        store.reset();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopStore() {
+        store.stop();
+    }
+
+    @Benchmark
+    public BenchmarkDescriptor create() {
+        store.beginTransaction();
+        BenchmarkDescriptor previous = null;
+        for (int i = 0; i < nodes; i++) {
+            previous = createNode(i, previous);
+        }
+        store.commitTransaction();
+        return previous;
+    }
+
+    @Benchmark
+    public BenchmarkDescriptor createAndFlush() {
+        store.beginTransaction();
+        BenchmarkDescriptor previous = null;
+        for (int i = 0; i < nodes; i++) {
+            previous = createNode(i, previous);
+            if (i % flushInterval == 0) {
+                store.flush();
+            }
+        }
+        store.commitTransaction();
+        return previous;
+    }
+
+    private BenchmarkDescriptor createNode(int i, BenchmarkDescriptor previous) {
+        BenchmarkDescriptor descriptor = store.create(BenchmarkDescriptor.class);
+        descriptor.setName("node" + i);
+        if (previous != null) {
+            store.create(previous, BenchmarkRelationDescriptor.class, descriptor);
+        }
+        return descriptor;
+    }
+}
@@ -0,0 +1,72 @@
+package com.buschmais.jqassistant.core.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.buschmais.jqassistant.core.report.api.ReportException;
+import com.buschmais.jqassistant.core.report.api.model.Result;
+import com.buschmais.jqassistant.core.report.api.model.Row;
+import com.buschmais.jqassistant.core.report.impl.ReportContextImpl;
+import com.buschmais.jqassistant.core.report.impl.XmlReportPlugin;
+import com.buschmais.jqassistant.core.rule.api.model.Constraint;
+import com.buschmais.jqassistant.core.rule.api.model.CypherExecutable;
+import com.buschmais.jqassistant.core.rule.api.model.Report;
+import com.buschmais.jqassistant.core.rule.api.model.Severity;
+
+import org.openjdk.jmh.annotations.*;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+
+/**
+ * Measures writing a constraint result by the {@link XmlReportPlugin}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class XmlReportBenchmark {
+
+    @Param({ "1000", "100000" })
+    private int rows;
+
+    private XmlReportPlugin xmlReportPlugin;
+
+    private Constraint constraint;
+
+    private Result<Constraint> result;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        File outputDirectory = new File("target/benchmarks");
+        outputDirectory.mkdirs();
+        xmlReportPlugin = new XmlReportPlugin();
+        xmlReportPlugin.initialize();
+        // The XML report plugin does not access the store
+        xmlReportPlugin.configure(new ReportContextImpl(null, outputDirectory), emptyMap());
+        constraint = Constraint.builder().id("benchmark:Constraint").description("Benchmark constraint").severity(Severity.MAJOR)
+                .executable(new CypherExecutable("MATCH (n) RETURN n")).report(Report.builder().build()).build();
+        Row.Columns columns = Row.columns(asList("id", "name", "bucket"));
+        List<Map<String, Object>> resultRows = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            resultRows.add(columns.row(i, "value" + i, i % 10));
+        }
+        result = Result.<Constraint> builder().rule(constraint).status(Result.Status.FAILURE).severity(Severity.MAJOR).columnNames(columns.getNames())
+                .rows(resultRows).build();
+    }
+
+    @Benchmark
+    public File write() throws ReportException {
+        xmlReportPlugin.begin();
+        xmlReportPlugin.beginConstraint(constraint);
+        xmlReportPlugin.setResult(result);
+        xmlReportPlugin.endConstraint();
+        xmlReportPlugin.end();
+        return xmlReportPlugin.getXmlReportFile();
+    }
+}
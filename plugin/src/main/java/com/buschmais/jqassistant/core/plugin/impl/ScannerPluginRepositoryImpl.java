@@ -23,6 +23,8 @@ public class ScannerPluginRepositoryImpl extends AbstractPluginRepository implem
 
     private Map<String, ScannerPlugin<?, ?>> scannerPlugins = new HashMap<>();
 
+    private Map<String, String> scannerPluginTypes = new HashMap<>();
+
     private Map<String, Scope> scopes;
 
     /**
@@ -51,6 +53,18 @@ public class ScannerPluginRepositoryImpl extends AbstractPluginRepository implem
         return scannerPlugins;
     }
 
+    @Override
+    public Map<String, ScannerPlugin<?, ?>> createScannerPlugins(ScannerContext scannerContext, Map<String, Object> properties) {
+        Map<String, ScannerPlugin<?, ?>> instances = new HashMap<>();
+        for (Map.Entry<String, String> entry : scannerPluginTypes.entrySet()) {
+            ScannerPlugin<?, ?> scannerPlugin = createInstance(entry.getValue());
+            scannerPlugin.initialize();
+            scannerPlugin.configure(scannerContext, new HashMap<>(properties));
+            instances.put(entry.getKey(), scannerPlugin);
+        }
+        return instances;
+    }
+
     @Override
     public Scope getScope(String name) {
         return scopes.get(name.toLowerCase());
@@ -74,6 +88,7 @@ public class ScannerPluginRepositoryImpl extends AbstractPluginRepository implem
                             id = scannerPlugin.getClass().getSimpleName();
                         }
                         scannerPlugins.put(id, scannerPlugin);
+                        scannerPluginTypes.put(id, classType.getValue());
                     }
                 }
             }
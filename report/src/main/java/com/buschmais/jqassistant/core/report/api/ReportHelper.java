@@ -10,6 +10,7 @@ import java.util.stream.StreamSupport;
 
 import com.buschmais.jqassistant.core.report.api.model.LanguageElement;
 import com.buschmais.jqassistant.core.report.api.model.Result;
+import com.buschmais.jqassistant.core.report.api.model.Row;
 import com.buschmais.jqassistant.core.report.impl.InMemoryReportPlugin;
 import com.buschmais.jqassistant.core.rule.api.model.Concept;
 import com.buschmais.jqassistant.core.rule.api.model.Constraint;
@@ -38,6 +39,7 @@ public final class ReportHelper {
 
     public static String CONSTRAINT_VIOLATION_HEADER = "--[ Constraint Violation ]-----------------------------------------";
     public static String CONCEPT_FAILED_HEADER = "--[ Concept Application Failure ]----------------------------------";
+    public static String TIMEOUT_MESSAGE = "Execution has been aborted after exceeding the time limit.";
     private static String FOOTER = "-------------------------------------------------------------------";
     private final LoggingStrategy warnLogger;
     private final LoggingStrategy errorLogger;
@@ -153,6 +155,10 @@ public final class ReportHelper {
     /**
      * Verifies the given results and logs messages.
      *
+     * Rules which have been aborted after exceeding their time limit (i.e.
+     * {@link Result.Status#TIMEOUT}) are treated like failed rules as their
+     * result could not be verified.
+     *
      * @param results
      *            The collection of results to verify.
      * @param warnOnSeverity
@@ -171,7 +177,8 @@ public final class ReportHelper {
             String header, boolean logResult) {
         int violations = 0;
         for (Result<?> result : results) {
-            if (Result.Status.FAILURE.equals(result.getStatus())) {
+            Result.Status status = result.getStatus();
+            if (Result.Status.FAILURE.equals(status) || Result.Status.TIMEOUT.equals(status)) {
                 ExecutableRule rule = result.getRule();
                 String severityInfo = rule.getSeverity().getInfo(result.getSeverity());
                 List<String> resultRows = getResultRows(result, logResult);
@@ -187,17 +194,21 @@ public final class ReportHelper {
                 } else {
                     loggingStrategy = debugLogger;
                 }
-                log(loggingStrategy, rule, resultRows, severityInfo, type, header);
+                log(loggingStrategy, rule, status, result.getRowCount(), resultRows, severityInfo, type, header);
             }
         }
         return violations;
     }
 
-    private void log(LoggingStrategy loggingStrategy, ExecutableRule rule, List<String> resultRows, String severityInfo, String type, String header) {
+    private void log(LoggingStrategy loggingStrategy, ExecutableRule rule, Result.Status status, int rowCount, List<String> resultRows, String severityInfo,
+            String type, String header) {
         loggingStrategy.log(header);
         loggingStrategy.log(type + ": " + rule.getId());
         loggingStrategy.log("Severity: " + severityInfo);
-        loggingStrategy.log("Number of rows: " + resultRows.size());
+        if (Result.Status.TIMEOUT.equals(status)) {
+            loggingStrategy.log(TIMEOUT_MESSAGE);
+        }
+        loggingStrategy.log("Number of rows: " + rowCount);
         logDescription(loggingStrategy, rule);
         // we need lambdas...
         for (String row : resultRows) {
@@ -221,14 +232,16 @@ public final class ReportHelper {
         if (logResult) {
             for (Map<String, Object> columns : result.getRows()) {
                 StringBuilder row = new StringBuilder();
-                for (Map.Entry<String, Object> entry : columns.entrySet()) {
-                    if (row.length() > 0) {
-                        row.append(", ");
+                if (columns instanceof Row) {
+                    Row compactRow = (Row) columns;
+                    List<String> columnNames = compactRow.getColumnNames();
+                    for (int i = 0; i < columnNames.size(); i++) {
+                        appendColumn(row, columnNames.get(i), compactRow.getValue(i));
+                    }
+                } else {
+                    for (Map.Entry<String, Object> entry : columns.entrySet()) {
+                        appendColumn(row, entry.getKey(), entry.getValue());
                     }
-                    row.append(entry.getKey());
-                    row.append('=');
-                    String stringValue = getLabel(entry.getValue());
-                    row.append(stringValue);
                 }
                 rows.add("  " + row.toString());
             }
@@ -236,6 +249,15 @@ public final class ReportHelper {
         return rows;
     }
 
+    private void appendColumn(StringBuilder row, String columnName, Object value) {
+        if (row.length() > 0) {
+            row.append(", ");
+        }
+        row.append(columnName);
+        row.append('=');
+        row.append(getLabel(value));
+    }
+
     /**
      * Log the description of a rule.
      *
@@ -26,9 +26,12 @@ public class Result<T extends ExecutableRule> {
 
     /**
      * The defined status for the result of a rule.
+     *
+     * {@link #TIMEOUT} indicates that the execution of the rule has been aborted
+     * after exceeding its time limit.
      */
     public enum Status {
-        SUCCESS, FAILURE, SKIPPED
+        SUCCESS, FAILURE, SKIPPED, TIMEOUT
     }
 
     /**
@@ -49,10 +52,16 @@ public class Result<T extends ExecutableRule> {
     private List<String> columnNames;
 
     /**
-     * The returned rows.
+     * The returned rows, rows of executed queries are provided as {@link Row}s.
      */
     private List<Map<String, Object>> rows;
 
+    /**
+     * The total number of returned rows, may be larger than the number of
+     * retained {@link #rows}. If not set the number of {@link #rows} is used.
+     */
+    private Integer rowCount;
+
     public T getRule() {
         return rule;
     }
@@ -73,7 +82,14 @@ public class Result<T extends ExecutableRule> {
         return rows;
     }
 
+    public int getRowCount() {
+        if (rowCount != null) {
+            return rowCount;
+        }
+        return rows != null ? rows.size() : 0;
+    }
+
     public boolean isEmpty() {
-        return rows.isEmpty();
+        return getRowCount() == 0;
     }
 }
@@ -0,0 +1,163 @@
+package com.buschmais.jqassistant.core.report.api.model;
+
+import java.util.*;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * A compact, immutable row of a {@link Result}.
+ *
+ * The column names are shared by all rows created from the same
+ * {@link Columns}, the values are stored in an array. The {@link Map} view is
+ * provided for compatibility, consumers may use {@link #getColumnNames()} and
+ * {@link #getValue(int)} to iterate over the values without allocating
+ * entries.
+ */
+public final class Row extends AbstractMap<String, Object> {
+
+    /**
+     * The column names shared by rows.
+     */
+    public static final class Columns {
+
+        private final List<String> names;
+
+        private final Map<String, Integer> indexes;
+
+        private Columns(List<String> names) {
+            this.names = unmodifiableList(new ArrayList<>(names));
+            this.indexes = new HashMap<>(names.size() * 2);
+            for (int i = 0; i < names.size(); i++) {
+                indexes.put(names.get(i), i);
+            }
+        }
+
+        /**
+         * Create a row.
+         *
+         * @param values
+         *            The values, ordered like the column names. The array is not
+         *            copied.
+         * @return The {@link Row}.
+         */
+        public Row row(Object... values) {
+            if (values.length != names.size()) {
+                throw new IllegalArgumentException("Expected " + names.size() + " values but got " + values.length + ".");
+            }
+            return new Row(this, values);
+        }
+
+        public List<String> getNames() {
+            return names;
+        }
+    }
+
+    private final Columns columns;
+
+    private final Object[] values;
+
+    private Row(Columns columns, Object[] values) {
+        this.columns = columns;
+        this.values = values;
+    }
+
+    /**
+     * Create the {@link Columns} for the given column names.
+     *
+     * @param columnNames
+     *            The column names.
+     * @return The {@link Columns}.
+     */
+    public static Columns columns(List<String> columnNames) {
+        return new Columns(columnNames);
+    }
+
+    public List<String> getColumnNames() {
+        return columns.names;
+    }
+
+    /**
+     * Return the value of a column.
+     *
+     * @param columnIndex
+     *            The index of the column within {@link #getColumnNames()}.
+     * @return The value.
+     */
+    public Object getValue(int columnIndex) {
+        return values[columnIndex];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return columns.indexes.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        Integer index = columns.indexes.get(key);
+        return index != null ? values[index] : null;
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return new AbstractSet<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                return columns.names.iterator();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public int size() {
+                return values.length;
+            }
+        };
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return unmodifiableList(Arrays.asList(values));
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<Entry<String, Object>>() {
+
+                    private int index = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < values.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, Object> entry = new SimpleImmutableEntry<>(columns.names.get(index), values[index]);
+                        index++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return values.length;
+            }
+        };
+    }
+}
@@ -19,6 +19,7 @@ import com.buschmais.jqassistant.core.report.api.*;
 import com.buschmais.jqassistant.core.report.api.ReportPlugin.Default;
 import com.buschmais.jqassistant.core.report.api.model.LanguageElement;
 import com.buschmais.jqassistant.core.report.api.model.Result;
+import com.buschmais.jqassistant.core.report.api.model.Row;
 import com.buschmais.jqassistant.core.report.api.model.source.ArtifactLocation;
 import com.buschmais.jqassistant.core.report.api.model.source.FileLocation;
 import com.buschmais.jqassistant.core.rule.api.model.*;
@@ -43,7 +44,7 @@ public class XmlReportPlugin implements ReportPlugin {
 
     public static final String ENCODING = "UTF-8";
 
-    public static final String NAMESPACE_URL = "http://schema.jqassistant.org/report/v1.11";
+    public static final String NAMESPACE_URL = "http://schema.jqassistant.org/report/v1.12";
 
     private XMLOutputFactory xmlOutputFactory;
 
@@ -181,13 +182,21 @@ public class XmlReportPlugin implements ReportPlugin {
                         xmlStreamWriter.writeEndElement(); // columns
                         xmlStreamWriter.writeStartElement("rows");
                         List<Map<String, Object>> rows = result.getRows();
-                        xmlStreamWriter.writeAttribute("count", Integer.toString(rows.size()));
+                        xmlStreamWriter.writeAttribute("count", Integer.toString(result.getRowCount()));
                         for (Map<String, Object> row : rows) {
                             xmlStreamWriter.writeStartElement("row");
-                            for (Map.Entry<String, Object> rowEntry : row.entrySet()) {
-                                String columnName = rowEntry.getKey();
-                                Object value = rowEntry.getValue();
-                                writeColumn(columnName, value);
+                            if (row instanceof Row) {
+                                Row compactRow = (Row) row;
+                                List<String> rowColumnNames = compactRow.getColumnNames();
+                                for (int i = 0; i < rowColumnNames.size(); i++) {
+                                    writeColumn(rowColumnNames.get(i), compactRow.getValue(i));
+                                }
+                            } else {
+                                for (Map.Entry<String, Object> rowEntry : row.entrySet()) {
+                                    String columnName = rowEntry.getKey();
+                                    Object value = rowEntry.getValue();
+                                    writeColumn(columnName, value);
+                                }
                             }
                             xmlStreamWriter.writeEndElement();
                         }
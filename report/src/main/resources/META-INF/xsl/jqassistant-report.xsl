@@ -1,7 +1,7 @@
 <?xml version="1.0" encoding="ISO-8859-1"?>
 <xsl:stylesheet version="1.0"
                 xmlns:xsl="http://www.w3.org/1999/XSL/Transform"
-                xmlns:tns="http://schema.jqassistant.org/report/v1.11">
+                xmlns:tns="http://schema.jqassistant.org/report/v1.12">
     <xsl:output method="html" version="1.0" encoding="iso-8859-1"
                 indent="yes"/>
     <xsl:template name="content">
@@ -107,6 +107,15 @@
             .concept_warn * .ruleName:after{
             content:" ?";
             }
+
+            .rule_timeout {
+            background-color:#a3a09c;
+            color:#fff;
+            }
+
+            .rule_timeout * .ruleName:after{
+            content:" \231B";
+            }
         </style>
         <h1>jQAssistant Report</h1>
         <div>
@@ -189,6 +198,7 @@
         <tr>
             <xsl:attribute name="class">
                 <xsl:choose>
+                    <xsl:when test="tns:status='timeout'">rule_timeout</xsl:when>
                     <xsl:when test="tns:result and name()='constraint'">constraint_error</xsl:when>
                     <xsl:when test="not(tns:result) and name()='constraint'">constraint_success</xsl:when>
                     <xsl:when test="not(tns:result) and name()='concept'">concept_warn</xsl:when>
@@ -212,7 +222,7 @@
                 </span>
             </td>
             <td class="right">
-                <xsl:value-of select="count(tns:result/tns:rows/tns:row)"/>
+                <xsl:value-of select="tns:result/tns:rows/@count"/>
             </td>
             <td class="right">
                 <xsl:value-of select="tns:severity/text()"/>
@@ -26,6 +26,7 @@ import org.mockito.stubbing.Answer;
 import org.slf4j.Logger;
 
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -125,6 +126,18 @@ class ReportHelperTest {
         assertThat(errorMessages.size(), equalTo(0));
     }
 
+    @Test
+    void timedOutConstraint() {
+        Result<Constraint> constraintResult = mockResult("test:constraint", Constraint.class, Result.Status.TIMEOUT, Severity.MAJOR);
+        Map<String, Result<Constraint>> constraintResults = new HashMap<>();
+        constraintResults.put("test:constraint", constraintResult);
+        when(inMemoryReportWriter.getConstraintResults()).thenReturn(constraintResults);
+        int violations = reportHelper.verifyConstraintResults(Severity.MINOR, Severity.MAJOR, inMemoryReportWriter);
+        assertThat(violations, equalTo(1));
+        verifyMessages(errorMessages, ReportHelper.CONSTRAINT_VIOLATION_HEADER, "Constraint: test:constraint", "Severity: MAJOR");
+        assertThat(errorMessages, hasItem(ReportHelper.TIMEOUT_MESSAGE));
+    }
+
     @Test
     void failedConstraints() {
         Map<String, Object> infoRow = new HashMap<>();
@@ -153,6 +166,18 @@ class ReportHelperTest {
                 "MajorElement=MajorValue");
     }
 
+    @Test
+    void failedConstraintWithRetainedRows() {
+        Map<String, Object> row = new HashMap<>();
+        row.put("MajorElement", "MajorValue");
+        Result<Constraint> constraintResult = mockResult("test:constraint", Constraint.class, Result.Status.FAILURE, Severity.MAJOR, singletonList(row));
+        when(constraintResult.getRowCount()).thenReturn(42);
+        when(inMemoryReportWriter.getConstraintResults()).thenReturn(singletonMap("test:constraint", constraintResult));
+        int violations = reportHelper.verifyConstraintResults(Severity.MINOR, Severity.MAJOR, inMemoryReportWriter);
+        assertThat(violations, equalTo(1));
+        assertThat(errorMessages, hasItem("Number of rows: 42"));
+    }
+
     @Test
     void failedConstraintsWithOverriddenSeverity() {
         Map<String, Object> infoRow = new HashMap<>();
@@ -244,6 +269,7 @@ class ReportHelperTest {
         when(ruleResult.getStatus()).thenReturn(status);
         when(ruleResult.getSeverity()).thenReturn(effectiveSeverity);
         when(ruleResult.getRows()).thenReturn(rows);
+        when(ruleResult.getRowCount()).thenReturn(rows.size());
         return ruleResult;
     }
 
@@ -93,6 +93,19 @@ class XmlReportTest {
         List<ColumnHeaderType> columnHeaders = columnsHeader.getColumn();
         verifyColumnHeader(columnHeaders.get(0), "c1", true);
         verifyColumnHeader(columnHeaders.get(1), "c2", false);
+        assertThat(result.getRows().getCount()).isEqualTo(5);
+        assertThat(result.getRows().getRow()).hasSize(1);
+    }
+
+    @Test
+    void reportWithTimedOutConstraint() throws JAXBException, SAXException, ReportException, IOException {
+        File xmlReport = xmlReportTestHelper.createXmlReportWithTimedOutConstraint();
+        JqassistantReport report = readReport(xmlReport);
+        GroupType groupType = (GroupType) report.getGroupOrConceptOrConstraint().get(0);
+        ExecutableRuleType ruleType = (ExecutableRuleType) groupType.getGroupOrConceptOrConstraint().get(0);
+        assertThat(ruleType.getId()).isEqualTo("my:Constraint");
+        assertThat(ruleType.getStatus()).isEqualTo(StatusEnumType.TIMEOUT);
+        assertThat(ruleType.getResult()).isNull();
     }
 
     @Test
@@ -115,7 +128,7 @@ class XmlReportTest {
 
     private JqassistantReport readReport(File xmlReport) throws SAXException, JAXBException, IOException {
         SchemaFactory xsdFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-        Schema schema = xsdFactory.newSchema(new StreamSource(XmlReportTest.class.getResourceAsStream("/META-INF/report/xsd/jqassistant-report-v1.11.xsd")));
+        Schema schema = xsdFactory.newSchema(new StreamSource(XmlReportTest.class.getResourceAsStream("/META-INF/report/xsd/jqassistant-report-v1.12.xsd")));
         JAXBContext jaxbContext = JAXBContext.newInstance(ObjectFactory.class);
         StreamSource streamSource = new StreamSource(new InputStreamReader(new FileInputStream(xmlReport), XmlReportPlugin.ENCODING));
         Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
@@ -112,7 +112,7 @@ public final class XmlReportTestHelper {
         List<Map<String, Object>> rows = new ArrayList<>();
         rows.add(createRow());
         Result<Constraint> result = Result.<Constraint> builder().rule(constraint).status(Result.Status.FAILURE).severity(Severity.CRITICAL)
-                .columnNames(Arrays.asList(C1, C2)).rows(rows).build();
+                .columnNames(Arrays.asList(C1, C2)).rows(rows).rowCount(5).build();
         xmlReportWriter.setResult(result);
         xmlReportWriter.endConstraint();
         xmlReportWriter.endGroup();
@@ -120,6 +120,20 @@ public final class XmlReportTestHelper {
         return xmlReportWriter.getXmlReportFile();
     }
 
+    public File createXmlReportWithTimedOutConstraint() throws ReportException {
+        xmlReportWriter.begin();
+        Constraint constraint = Constraint.builder().id("my:Constraint").description("My constraint description").severity(Severity.BLOCKER)
+                .executable(new CypherExecutable("match...")).verification(ROW_COUNT_VERIFICATION).report(Report.builder().build()).build();
+        Group group = Group.builder().id("default").description("My group").constraints(Collections.singletonMap("my:Constraint", Severity.INFO)).build();
+        xmlReportWriter.beginGroup(group);
+        xmlReportWriter.beginConstraint(constraint);
+        xmlReportWriter.setResult(Result.<Constraint> builder().rule(constraint).status(Result.Status.TIMEOUT).severity(Severity.CRITICAL).build());
+        xmlReportWriter.endConstraint();
+        xmlReportWriter.endGroup();
+        xmlReportWriter.end();
+        return xmlReportWriter.getXmlReportFile();
+    }
+
     private static Map<String, Object> createRow() {
         Map<String, Object> row = new HashMap<>();
         row.put(C1, "simpleValue");
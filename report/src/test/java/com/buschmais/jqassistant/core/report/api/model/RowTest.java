@@ -0,0 +1,50 @@
+package com.buschmais.jqassistant.core.report.api.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RowTest {
+
+    private final Row.Columns columns = Row.columns(asList("c2", "c1", "c0"));
+
+    @Test
+    void mapView() {
+        Row row = columns.row("v2", null, 0);
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("c2", "v2");
+        expected.put("c1", null);
+        expected.put("c0", 0);
+        assertThat(row).isEqualTo(expected);
+        assertThat(row.hashCode()).isEqualTo(expected.hashCode());
+        assertThat(row.keySet()).containsExactly("c2", "c1", "c0");
+        assertThat(row.values()).containsExactly("v2", null, 0);
+        assertThat(row.get("c2")).isEqualTo("v2");
+        assertThat(row.containsKey("c1")).isTrue();
+        assertThat(row.get("unknown")).isNull();
+        assertThat(row.containsKey("unknown")).isFalse();
+    }
+
+    @Test
+    void indexedAccess() {
+        Row row = columns.row("v2", "v1", "v0");
+
+        assertThat(row.getColumnNames()).isSameAs(columns.getNames());
+        assertThat(row.getValue(0)).isEqualTo("v2");
+        assertThat(row.getValue(2)).isEqualTo("v0");
+    }
+
+    @Test
+    void immutable() {
+        Row row = columns.row("v2", "v1", "v0");
+
+        assertThatThrownBy(() -> row.put("c0", "other")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> columns.row("v0")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
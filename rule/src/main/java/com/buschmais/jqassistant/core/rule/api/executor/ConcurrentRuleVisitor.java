@@ -0,0 +1,67 @@
+package com.buschmais.jqassistant.core.rule.api.executor;
+
+import com.buschmais.jqassistant.core.rule.api.model.Constraint;
+import com.buschmais.jqassistant.core.rule.api.model.RuleException;
+import com.buschmais.jqassistant.core.rule.api.model.Severity;
+
+/**
+ * Extends the {@link RuleVisitor} by separating execution and reporting of
+ * constraints, allowing the {@link RuleSetExecutor} to validate constraints
+ * concurrently (see {@link RuleSetExecutorConfiguration#getParallelism()}).
+ *
+ * @param <R>
+ *            The type of the execution result of a constraint.
+ */
+public interface ConcurrentRuleVisitor<R> extends RuleVisitor {
+
+    /**
+     * Execute a constraint with the given severity.
+     *
+     * This method is called concurrently by multiple threads and must not
+     * report the result. It is only called after all concepts which must be
+     * applied before the constraint have been visited.
+     *
+     * @param constraint
+     *            The constraint.
+     * @param effectiveSeverity
+     *            The severity to use.
+     * @return The result.
+     * @throws RuleException
+     *             If an error occurred.
+     */
+    R executeConstraint(Constraint constraint, Severity effectiveSeverity) throws RuleException;
+
+    /**
+     * Report the result of a constraint previously executed by
+     * {@link #executeConstraint(Constraint, Severity)}.
+     *
+     * This method is called by the thread executing the rule set in the order
+     * given by the rule set.
+     *
+     * @param constraint
+     *            The constraint.
+     * @param effectiveSeverity
+     *            The severity to use.
+     * @param result
+     *            The result.
+     * @throws RuleException
+     *             If an error occurred.
+     */
+    void reportConstraint(Constraint constraint, Severity effectiveSeverity, R result) throws RuleException;
+
+    /**
+     * Discard the result of a constraint previously executed by
+     * {@link #executeConstraint(Constraint, Severity)} which will not be
+     * reported, e.g. as reporting a preceding constraint failed.
+     *
+     * Resources held by the result must be released.
+     *
+     * @param constraint
+     *            The constraint.
+     * @param result
+     *            The result.
+     * @throws RuleException
+     *             If an error occurred.
+     */
+    void discardConstraint(Constraint constraint, R result) throws RuleException;
+}
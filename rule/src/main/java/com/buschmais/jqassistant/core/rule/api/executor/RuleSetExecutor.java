@@ -1,6 +1,10 @@
 package com.buschmais.jqassistant.core.rule.api.executor;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.buschmais.jqassistant.core.rule.api.model.*;
 
@@ -20,6 +24,13 @@ import org.slf4j.LoggerFactory;
  * all concepts and nested concepts are applied. This allows for non-explicit
  * dependencies between rules, e.g. a constraint relying on a specific label may
  * include results of concepts that are not explicitly required.
+ * <p/>
+ * If the {@link RuleVisitor} is a {@link ConcurrentRuleVisitor} and
+ * {@link RuleSetExecutorConfiguration#getParallelism()} is greater than 1
+ * constraints are executed concurrently. A constraint is submitted once all
+ * concepts preceding it in the execution order have been applied, before the
+ * next concept is applied all submitted constraints are completed. The results
+ * are reported in the execution order.
  */
 public class RuleSetExecutor {
 
@@ -35,12 +46,20 @@ public class RuleSetExecutor {
 
     private RuleSetExecutorConfiguration configuration;
 
+    private ExecutorService executorService;
+
+    private Deque<PendingConstraint<?>> pendingConstraints = new ArrayDeque<>();
+
     public RuleSetExecutor(RuleVisitor ruleVisitor, RuleSetExecutorConfiguration configuration) {
         this.ruleVisitor = ruleVisitor;
         this.configuration = configuration;
     }
 
     public void execute(RuleSet ruleSet, RuleSelection ruleSelection) throws RuleException {
+        if (ruleVisitor instanceof ConcurrentRuleVisitor && configuration.getParallelism() > 1) {
+            LOGGER.debug("Validating constraints using {} threads.", configuration.getParallelism());
+            executorService = Executors.newFixedThreadPool(configuration.getParallelism());
+        }
         this.ruleVisitor.beforeRules();
         try {
             for (String conceptPattern : ruleSelection.getConceptIds()) {
@@ -52,7 +71,13 @@ public class RuleSetExecutor {
             for (String constraintPattern : ruleSelection.getConstraintIds()) {
                 validateConstraints(ruleSet, constraintPattern, null, null);
             }
+            completePendingConstraints();
         } finally {
+            if (executorService != null) {
+                discardPendingConstraints();
+                executorService.shutdownNow();
+                executorService = null;
+            }
             this.ruleVisitor.afterRules();
         }
     }
@@ -69,6 +94,7 @@ public class RuleSetExecutor {
      */
     private void executeGroup(RuleSet ruleSet, Group group, Severity parentSeverity) throws RuleException {
         if (!executedGroups.contains(group)) {
+            completePendingConstraints();
             ruleVisitor.beforeGroup(group, getEffectiveSeverity(group, parentSeverity, parentSeverity));
             for (Map.Entry<String, Severity> conceptEntry : group.getConcepts().entrySet()) {
                 applyConcepts(ruleSet, conceptEntry.getKey(), parentSeverity, conceptEntry.getValue());
@@ -80,6 +106,7 @@ public class RuleSetExecutor {
             for (Map.Entry<String, Severity> constraintEntry : constraints.entrySet()) {
                 validateConstraints(ruleSet, constraintEntry.getKey(), parentSeverity, constraintEntry.getValue());
             }
+            completePendingConstraints();
             ruleVisitor.afterGroup(group);
             executedGroups.add(group);
         }
@@ -150,14 +177,58 @@ public class RuleSetExecutor {
     private void validateConstraint(RuleSet ruleSet, Constraint constraint, Severity severity) throws RuleException {
         if (!executedConstraints.contains(constraint)) {
             if (applyRequiredConcepts(ruleSet, constraint, new LinkedHashSet<>())) {
-                ruleVisitor.visitConstraint(constraint, severity);
+                if (executorService != null) {
+                    submitConstraint((ConcurrentRuleVisitor<?>) ruleVisitor, constraint, severity);
+                } else {
+                    ruleVisitor.visitConstraint(constraint, severity);
+                }
             } else {
+                completePendingConstraints();
                 ruleVisitor.skipConstraint(constraint, severity);
             }
             executedConstraints.add(constraint);
         }
     }
 
+    /**
+     * Submits the execution of a constraint, the result is reported by
+     * {@link #completePendingConstraints()}.
+     */
+    private <R> void submitConstraint(ConcurrentRuleVisitor<R> concurrentRuleVisitor, Constraint constraint, Severity severity) {
+        Future<R> future = executorService.submit(() -> concurrentRuleVisitor.executeConstraint(constraint, severity));
+        pendingConstraints.add(new PendingConstraint<>(concurrentRuleVisitor, constraint, severity, future));
+    }
+
+    /**
+     * Waits for all submitted constraints and reports their results in the order
+     * of submission.
+     *
+     * If reporting fails the results of the remaining constraints are discarded
+     * after their execution has been completed.
+     *
+     * @throws RuleException
+     *             If the execution of a constraint failed.
+     */
+    private void completePendingConstraints() throws RuleException {
+        try {
+            while (!pendingConstraints.isEmpty()) {
+                pendingConstraints.poll().report();
+            }
+        } finally {
+            discardPendingConstraints();
+        }
+    }
+
+    /**
+     * Waits for all submitted constraints and discards their results without
+     * reporting them.
+     */
+    private void discardPendingConstraints() {
+        while (!pendingConstraints.isEmpty()) {
+            pendingConstraints.poll().discard();
+        }
+    }
+
     /**
      * Applies the given concept.
      *
@@ -180,8 +251,11 @@ public class RuleSetExecutor {
             executionStack.add(concept);
             applyProvidedConcepts(ruleSet, concept, severity, executionStack);
             if (applyRequiredConcepts(ruleSet, concept, executionStack)) {
+                // Concepts modify the graph, so complete all running constraints first
+                completePendingConstraints();
                 result = ruleVisitor.visitConcept(concept, severity);
             } else {
+                completePendingConstraints();
                 ruleVisitor.skipConcept(concept, severity);
                 result = false;
             }
@@ -227,4 +301,56 @@ public class RuleSetExecutor {
         }
         return requiredConceptsApplied;
     }
+
+    /**
+     * A constraint which has been submitted for execution.
+     */
+    private static class PendingConstraint<R> {
+
+        private final ConcurrentRuleVisitor<R> ruleVisitor;
+
+        private final Constraint constraint;
+
+        private final Severity severity;
+
+        private final Future<R> future;
+
+        private PendingConstraint(ConcurrentRuleVisitor<R> ruleVisitor, Constraint constraint, Severity severity, Future<R> future) {
+            this.ruleVisitor = ruleVisitor;
+            this.constraint = constraint;
+            this.severity = severity;
+            this.future = future;
+        }
+
+        private void report() throws RuleException {
+            R result;
+            try {
+                result = future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuleException("Interrupted while validating constraint " + constraint.getId(), e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuleException) {
+                    throw (RuleException) cause;
+                }
+                throw new RuleException("Cannot validate constraint " + constraint.getId(), cause);
+            }
+            ruleVisitor.reportConstraint(constraint, severity, result);
+        }
+
+        private void discard() {
+            try {
+                ruleVisitor.discardConstraint(constraint, future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.warn("Interrupted while discarding result of constraint {}.", constraint.getId());
+            } catch (ExecutionException e) {
+                // The visitor already released the resources of the failed execution
+                LOGGER.debug("Discarding failed constraint {}.", constraint.getId(), e.getCause());
+            } catch (RuleException | RuntimeException e) {
+                LOGGER.warn("Cannot discard result of constraint {}.", constraint.getId(), e);
+            }
+        }
+    }
 }
@@ -7,6 +7,8 @@ public class RuleSetExecutorConfiguration {
 
     private boolean requiredConceptsAreOptionalByDefault = true;
 
+    private int parallelism = 1;
+
     public boolean isRequiredConceptsAreOptionalByDefault() {
         return requiredConceptsAreOptionalByDefault;
     }
@@ -14,4 +16,18 @@ public class RuleSetExecutorConfiguration {
     public void setRequiredConceptsAreOptionalByDefault(boolean requiredConceptsAreOptionalByDefault) {
         this.requiredConceptsAreOptionalByDefault = requiredConceptsAreOptionalByDefault;
     }
+
+    /**
+     * Return the number of threads used for validating constraints if the
+     * {@link RuleVisitor} is a {@link ConcurrentRuleVisitor}.
+     *
+     * @return The degree of parallelism, `1` disables concurrent validation.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
 }
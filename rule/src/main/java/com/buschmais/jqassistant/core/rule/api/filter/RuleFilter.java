@@ -2,11 +2,11 @@ package com.buschmais.jqassistant.core.rule.api.filter;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
-import org.apache.commons.io.FilenameUtils;
-
 import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toList;
 
@@ -17,6 +17,14 @@ public final class RuleFilter {
 
     private static final RuleFilter INSTANCE = new RuleFilter();
 
+    /**
+     * The maximum number of cached compiled patterns, the cache is cleared if it
+     * is exceeded.
+     */
+    private static final int MAX_CACHED_PATTERNS = 4096;
+
+    private final Map<String, WildcardPattern> patterns = new ConcurrentHashMap<>();
+
     private RuleFilter() {
     }
 
@@ -42,8 +50,9 @@ public final class RuleFilter {
         if (filter != null) {
             List<String> rulePatterns = asList(filter.split("\\s*,\\s*"));
 
-            List<String> includePatterns = rulePatterns.stream().filter(pattern -> !pattern.startsWith("!")).collect(toList());
-            List<String> excludePatterns = rulePatterns.stream().filter(pattern -> pattern.startsWith("!")).map(pattern -> pattern.substring(1))
+            List<WildcardPattern> includePatterns = rulePatterns.stream().filter(pattern -> !pattern.startsWith("!")).map(this::compile)
+                    .collect(toList());
+            List<WildcardPattern> excludePatterns = rulePatterns.stream().filter(pattern -> pattern.startsWith("!")).map(pattern -> compile(pattern.substring(1)))
                     .collect(toList());
 
             apply(rules, includePatterns, rule -> matches.add(rule));
@@ -52,10 +61,10 @@ public final class RuleFilter {
         return matches;
     }
 
-    private void apply(Iterable<String> rules, List<String> patterns, Consumer<String> consumer) {
+    private void apply(Iterable<String> rules, List<WildcardPattern> patterns, Consumer<String> consumer) {
         for (String rule : rules) {
-            for (String pattern : patterns) {
-                if (matches(rule, pattern)) {
+            for (WildcardPattern pattern : patterns) {
+                if (pattern.matches(rule)) {
                     consumer.accept(rule);
                 }
             }
@@ -63,6 +72,25 @@ public final class RuleFilter {
     }
 
     public boolean matches(String rule, String pattern) {
-        return FilenameUtils.wildcardMatch(rule, pattern);
+        return compile(pattern).matches(rule);
+    }
+
+    /**
+     * Return the compiled representation of a pattern which may contain the
+     * wildcards "*" or "?".
+     *
+     * @param pattern
+     *            The pattern.
+     * @return The {@link WildcardPattern}.
+     */
+    public WildcardPattern compile(String pattern) {
+        WildcardPattern wildcardPattern = patterns.get(pattern);
+        if (wildcardPattern == null) {
+            if (patterns.size() >= MAX_CACHED_PATTERNS) {
+                patterns.clear();
+            }
+            wildcardPattern = patterns.computeIfAbsent(pattern, WildcardPattern::new);
+        }
+        return wildcardPattern;
     }
 }
@@ -0,0 +1,94 @@
+package com.buschmais.jqassistant.core.rule.api.filter;
+
+/**
+ * A compiled pattern which may contain the wildcards "*" (any sequence of
+ * characters) and "?" (exactly one character), matching is case sensitive.
+ *
+ * The literal prefix of the pattern, i.e. all characters before the first
+ * wildcard, is exposed to allow narrowing the candidates in a sorted index
+ * before matching.
+ *
+ * Instances are immutable and may be shared between threads, they are created
+ * and cached by {@link RuleFilter#compile(String)}.
+ */
+public final class WildcardPattern {
+
+    private final String pattern;
+
+    private final char[] chars;
+
+    private final String prefix;
+
+    WildcardPattern(String pattern) {
+        this.pattern = pattern;
+        this.chars = pattern.toCharArray();
+        int wildcard = 0;
+        while (wildcard < chars.length && !isWildcard(chars[wildcard])) {
+            wildcard++;
+        }
+        this.prefix = pattern.substring(0, wildcard);
+    }
+
+    /**
+     * Return the literal prefix of the pattern.
+     *
+     * @return The characters preceding the first wildcard.
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Determine if the pattern contains wildcards.
+     *
+     * @return `true` if the pattern contains wildcards.
+     */
+    public boolean hasWildcards() {
+        return prefix.length() < chars.length;
+    }
+
+    /**
+     * Match a value against the pattern.
+     *
+     * @param value
+     *            The value.
+     * @return `true` if the value matches.
+     */
+    public boolean matches(String value) {
+        if (!value.startsWith(prefix)) {
+            return false;
+        }
+        int p = prefix.length();
+        int v = prefix.length();
+        int star = -1;
+        int starValue = 0;
+        while (v < value.length()) {
+            if (p < chars.length && chars[p] == '*') {
+                // remember the position for backtracking and try to match an empty sequence first
+                star = p++;
+                starValue = v;
+            } else if (p < chars.length && (chars[p] == '?' || chars[p] == value.charAt(v))) {
+                p++;
+                v++;
+            } else if (star >= 0) {
+                p = star + 1;
+                v = ++starValue;
+            } else {
+                return false;
+            }
+        }
+        while (p < chars.length && chars[p] == '*') {
+            p++;
+        }
+        return p == chars.length;
+    }
+
+    private static boolean isWildcard(char c) {
+        return c == '*' || c == '?';
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
@@ -3,6 +3,7 @@ package com.buschmais.jqassistant.core.rule.api.model;
 import java.util.*;
 
 import com.buschmais.jqassistant.core.rule.api.filter.RuleFilter;
+import com.buschmais.jqassistant.core.rule.api.filter.WildcardPattern;
 
 /**
  * Container to store {@link Rule Rules}.
@@ -73,6 +74,9 @@ public abstract class AbstractRuleBucket<T extends AbstractRule> {
      * Matches the rules in this bucket against the given pattern that might contain
      * wildcards, i.e. '*' and '?'.
      *
+     * Only the rules with ids starting with the literal prefix of the pattern are
+     * matched, they are determined from the sorted ids.
+     *
      * @param pattern
      *            The pattern.
      * @return The list of matching rules.
@@ -82,9 +86,14 @@ public abstract class AbstractRuleBucket<T extends AbstractRule> {
      */
     public List<T> match(String pattern) throws RuleException {
         List<T> matches = new ArrayList<>();
-        if (pattern.contains("?") || pattern.contains("*")) {
-            for (Map.Entry<String, T> entry : rules.entrySet()) {
-                if (RuleFilter.getInstance().matches(entry.getKey(), pattern)) {
+        WildcardPattern wildcardPattern = RuleFilter.getInstance().compile(pattern);
+        if (wildcardPattern.hasWildcards()) {
+            String prefix = wildcardPattern.getPrefix();
+            for (Map.Entry<String, T> entry : rules.tailMap(prefix, true).entrySet()) {
+                if (!entry.getKey().startsWith(prefix)) {
+                    break;
+                }
+                if (wildcardPattern.matches(entry.getKey())) {
                     matches.add(entry.getValue());
                 }
             }
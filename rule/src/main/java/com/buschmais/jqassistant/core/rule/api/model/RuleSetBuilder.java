@@ -34,6 +34,22 @@ public class RuleSetBuilder {
         return this;
     }
 
+    /**
+     * Add all rules of the given {@link RuleSet}.
+     *
+     * @param ruleSet
+     *            The {@link RuleSet}.
+     * @return The {@link RuleSetBuilder}.
+     * @throws RuleException
+     *             If a rule has already been added.
+     */
+    public RuleSetBuilder addRuleSet(RuleSet ruleSet) throws RuleException {
+        this.ruleSet.conceptBucket.add(ruleSet.getConceptBucket());
+        this.ruleSet.constraintBucket.add(ruleSet.getConstraintBucket());
+        this.ruleSet.groupsBucket.add(ruleSet.getGroupsBucket());
+        return this;
+    }
+
     public RuleSet getRuleSet() {
         return ruleSet;
     }
@@ -0,0 +1,486 @@
+package com.buschmais.jqassistant.core.rule.impl.reader;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * Extracts rule blocks from the text of an AsciiDoc document without loading
+ * it through Asciidoctor.
+ *
+ * Only the subset of AsciiDoc which is commonly used for rules is supported:
+ * block anchors, block titles, attribute lists and source listings with
+ * verbatim content, groups may be declared on sections or paragraphs. If a
+ * document contains a construct which might be interpreted differently by
+ * Asciidoctor (e.g. conditional preprocessor directives, attribute references,
+ * callouts or rules declared on native blocks like tables or diagrams) no
+ * result is returned and the document must be loaded by Asciidoctor.
+ */
+class AsciidocRuleExtractor {
+
+    private static final String ROLE_CONCEPT = "concept";
+    private static final String ROLE_CONSTRAINT = "constraint";
+    private static final String ROLE_GROUP = "group";
+
+    private static final String ID = "id";
+    private static final String ROLE = "role";
+    private static final String STYLE = "style";
+    private static final String TITLE = "title";
+    private static final String SOURCE = "source";
+    private static final String LANGUAGE = "language";
+
+    /**
+     * Attributes which change how Asciidoctor processes the content of a
+     * listing.
+     */
+    private static final Set<String> CONTENT_ATTRIBUTES = new HashSet<>(Arrays.asList("subs", "indent", "tabsize"));
+
+    private static final Pattern ANCHOR = Pattern.compile("\\[\\[([^\\[\\],]+)(,[^\\]]*)?\\]\\]");
+    private static final Pattern ATTRIBUTE_LIST = Pattern.compile("\\[(.*)\\]");
+    private static final Pattern ATTRIBUTE_ENTRY = Pattern.compile(":!?([\\w][\\w-]*)!?:.*");
+    private static final Pattern BLOCK_TITLE = Pattern.compile("\\.([^\\s.].*)");
+    private static final Pattern SECTION_TITLE = Pattern.compile("(=+)\\s+(.*)");
+    private static final Pattern CONDITIONAL_DIRECTIVE = Pattern.compile("(ifdef|ifndef|ifeval|endif)::.*");
+    private static final Pattern VERBATIM_DELIMITER = Pattern.compile("-{4,}|\\.{4,}|\\+{4,}|/{4,}|[|,:!]={3,}");
+    private static final Pattern COMPOUND_DELIMITER = Pattern.compile("={4,}|\\*{4,}|_{4,}|--");
+    private static final Pattern CALLOUT = Pattern.compile(".*(<\\d+>|<!--\\d+-->)\\s*");
+
+    /**
+     * Titles which are not affected by substitutions applied by Asciidoctor.
+     */
+    private static final Pattern PLAIN_TITLE = Pattern.compile("[\\p{L}\\p{N} :,/.()-]*");
+    private static final Pattern REPLACED_TITLE = Pattern.compile(".*(\\.\\.|--|\\(C\\)|\\(R\\)|\\(TM\\)).*");
+
+    /**
+     * A rule block extracted from the document.
+     */
+    @Builder(toBuilder = true)
+    @Getter
+    @ToString
+    static class RuleBlock {
+
+        private String id;
+
+        private String role;
+
+        private String style;
+
+        private String title;
+
+        private Map<String, Object> attributes;
+
+        private String content;
+    }
+
+    /**
+     * The extracted rule blocks by their ids.
+     */
+    @Builder
+    @Getter
+    @ToString
+    static class Result {
+
+        private Map<String, RuleBlock> concepts;
+
+        private Map<String, RuleBlock> constraints;
+
+        private Map<String, RuleBlock> groups;
+    }
+
+    /**
+     * Thrown if the document requires processing by Asciidoctor.
+     */
+    private static class UnsupportedContentException extends Exception {
+
+        private UnsupportedContentException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    /**
+     * Extract the rule blocks from an AsciiDoc document.
+     *
+     * @param content
+     *            The content of the document.
+     * @return The {@link Result} or {@link Optional#empty()} if the document must
+     *         be loaded by Asciidoctor.
+     */
+    Optional<Result> extract(String content) {
+        try {
+            return Optional.of(new DocumentScanner(content).scan());
+        } catch (UnsupportedContentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Scans the lines of a document, the attributes of the next block are
+     * collected until the block starts.
+     */
+    private static class DocumentScanner {
+
+        private final String[] lines;
+
+        private int index = 0;
+
+        private String anchor;
+
+        private String title;
+
+        private String attributeList;
+
+        private final Map<String, RuleBlock> concepts = new HashMap<>();
+
+        private final Map<String, RuleBlock> constraints = new HashMap<>();
+
+        private final Map<String, RuleBlock> groups = new HashMap<>();
+
+        private DocumentScanner(String content) {
+            String text = content.startsWith("\uFEFF") ? content.substring(1) : content;
+            this.lines = text.split("\r?\n", -1);
+        }
+
+        private Result scan() throws UnsupportedContentException {
+            boolean paragraph = false;
+            while (index < lines.length) {
+                String line = rtrim(lines[index++]);
+                if (CONDITIONAL_DIRECTIVE.matcher(line).matches()) {
+                    throw new UnsupportedContentException("Conditional preprocessor directive: " + line);
+                }
+                if (line.startsWith("include::")) {
+                    // includes are ignored for rules
+                    continue;
+                }
+                if (paragraph) {
+                    if (line.isEmpty()) {
+                        paragraph = false;
+                        continue;
+                    } else if (!isDelimiter(line) && !ATTRIBUTE_LIST.matcher(line).matches()) {
+                        continue;
+                    }
+                    paragraph = false;
+                }
+                Matcher matcher;
+                if (line.isEmpty() || (line.startsWith("//") && !line.startsWith("////"))) {
+                    continue;
+                } else if ((matcher = ATTRIBUTE_ENTRY.matcher(line)).matches()) {
+                    if (ROLE.equals(matcher.group(1))) {
+                        throw new UnsupportedContentException("Role declared by document attribute.");
+                    }
+                } else if ((matcher = ANCHOR.matcher(line)).matches()) {
+                    anchor = matcher.group(1).trim();
+                } else if ((matcher = ATTRIBUTE_LIST.matcher(line)).matches()) {
+                    if (attributeList != null) {
+                        throw new UnsupportedContentException("Multiple attribute lists for a block.");
+                    }
+                    attributeList = matcher.group(1);
+                } else if ((matcher = BLOCK_TITLE.matcher(line)).matches()) {
+                    title = matcher.group(1);
+                } else if ((matcher = SECTION_TITLE.matcher(line)).matches()) {
+                    section(matcher.group(1).length() - 1, matcher.group(2).trim());
+                } else if (isDelimiter(line)) {
+                    delimitedBlock(line);
+                } else {
+                    paragraph();
+                    paragraph = true;
+                }
+            }
+            return Result.builder().concepts(unmodifiableMap(concepts)).constraints(unmodifiableMap(constraints)).groups(unmodifiableMap(groups)).build();
+        }
+
+        private void section(int level, String sectionTitle) throws UnsupportedContentException {
+            RuleBlock block = createBlock();
+            if (block != null) {
+                if (level == 0 || !ROLE_GROUP.equalsIgnoreCase(block.getRole())) {
+                    throw new UnsupportedContentException("Unsupported rule section: " + sectionTitle);
+                }
+                groups.put(block.getId(), block.toBuilder().title(getPlainTitle(sectionTitle)).build());
+            }
+        }
+
+        private void paragraph() throws UnsupportedContentException {
+            RuleBlock block = createBlock();
+            if (block != null) {
+                if (!ROLE_GROUP.equalsIgnoreCase(block.getRole())) {
+                    throw new UnsupportedContentException("Unsupported rule paragraph: " + block.getId());
+                }
+                groups.put(block.getId(), block.toBuilder().title(block.getTitle() != null ? getPlainTitle(block.getTitle()) : null).build());
+            }
+        }
+
+        private void delimitedBlock(String delimiter) throws UnsupportedContentException {
+            RuleBlock block = createBlock();
+            boolean verbatim = VERBATIM_DELIMITER.matcher(delimiter).matches();
+            if (block == null) {
+                if (verbatim) {
+                    // the content of verbatim blocks does not contain any further blocks
+                    readContent(delimiter);
+                }
+                return;
+            }
+            if (!SOURCE.equals(block.getStyle()) || !(delimiter.startsWith("-") || delimiter.startsWith("."))) {
+                throw new UnsupportedContentException("Rule " + block.getId() + " requires native block rendering.");
+            }
+            if (block.getId() == null || block.getAttributes().get(LANGUAGE) == null) {
+                throw new UnsupportedContentException("Rule without id or language.");
+            }
+            if (block.getAttributes().keySet().stream().anyMatch(CONTENT_ATTRIBUTES::contains)) {
+                throw new UnsupportedContentException("Rule " + block.getId() + " uses content substitutions.");
+            }
+            String content = readContent(delimiter);
+            if (content.contains("&") || Arrays.stream(content.split("\n")).anyMatch(line -> CALLOUT.matcher(line).matches())) {
+                // Asciidoctor escapes ampersands and replaces callouts in listings
+                throw new UnsupportedContentException("Rule " + block.getId() + " contains ampersands or callouts.");
+            }
+            RuleBlock ruleBlock = block.toBuilder().content(content).build();
+            if (ROLE_CONCEPT.equalsIgnoreCase(block.getRole())) {
+                concepts.put(block.getId(), ruleBlock);
+            } else if (ROLE_CONSTRAINT.equalsIgnoreCase(block.getRole())) {
+                constraints.put(block.getId(), ruleBlock);
+            } else {
+                throw new UnsupportedContentException("Unsupported rule listing: " + block.getId());
+            }
+        }
+
+        /**
+         * Read the content of a verbatim block until the closing delimiter,
+         * leading and trailing blank lines are removed like by Asciidoctor.
+         */
+        private String readContent(String delimiter) throws UnsupportedContentException {
+            List<String> content = new ArrayList<>();
+            while (index < lines.length) {
+                String line = rtrim(lines[index++]);
+                if (line.equals(delimiter)) {
+                    while (!content.isEmpty() && content.get(0).isEmpty()) {
+                        content.remove(0);
+                    }
+                    while (!content.isEmpty() && content.get(content.size() - 1).isEmpty()) {
+                        content.remove(content.size() - 1);
+                    }
+                    return String.join("\n", content);
+                }
+                if (!line.startsWith("include::")) {
+                    content.add(line);
+                }
+            }
+            throw new UnsupportedContentException("Unterminated block " + delimiter);
+        }
+
+        /**
+         * Create a block from the collected attributes and reset them.
+         *
+         * @return The {@link RuleBlock} or `null` if the attributes do not declare
+         *         a rule.
+         */
+        private RuleBlock createBlock() throws UnsupportedContentException {
+            String blockAnchor = anchor;
+            String blockTitle = title;
+            String blockAttributeList = attributeList;
+            anchor = null;
+            title = null;
+            attributeList = null;
+            if (blockAttributeList == null) {
+                return null;
+            }
+            Map<String, Object> attributes = parseAttributeList(blockAttributeList);
+            if (attributes == null) {
+                String lowerCase = blockAttributeList.toLowerCase(Locale.ENGLISH);
+                if (lowerCase.contains(ROLE_CONCEPT) || lowerCase.contains(ROLE_CONSTRAINT) || lowerCase.contains(ROLE_GROUP)) {
+                    throw new UnsupportedContentException("Unsupported attribute list: " + blockAttributeList);
+                }
+                return null;
+            }
+            String role = (String) attributes.get(ROLE);
+            if (role == null || !(ROLE_CONCEPT.equalsIgnoreCase(role) || ROLE_CONSTRAINT.equalsIgnoreCase(role) || ROLE_GROUP.equalsIgnoreCase(role))) {
+                return null;
+            }
+            String id = (String) attributes.get(ID);
+            if (blockAnchor != null) {
+                if (id != null && !id.equals(blockAnchor)) {
+                    throw new UnsupportedContentException("Conflicting ids " + id + " and " + blockAnchor);
+                }
+                id = blockAnchor;
+                attributes.put(ID, id);
+            }
+            if (blockTitle != null) {
+                if (attributes.containsKey(TITLE)) {
+                    throw new UnsupportedContentException("Conflicting titles for " + id);
+                }
+                attributes.put(TITLE, blockTitle);
+            }
+            return RuleBlock.builder().id(id).role(role).style((String) attributes.get(STYLE)).title((String) attributes.get(TITLE)).attributes(attributes)
+                    .build();
+        }
+
+        private static boolean isDelimiter(String line) {
+            return VERBATIM_DELIMITER.matcher(line).matches() || COMPOUND_DELIMITER.matcher(line).matches();
+        }
+
+        /**
+         * Verifies that Asciidoctor would not apply any substitution to a title.
+         */
+        private static String getPlainTitle(String title) throws UnsupportedContentException {
+            if (!PLAIN_TITLE.matcher(title).matches() || REPLACED_TITLE.matcher(title).matches()) {
+                throw new UnsupportedContentException("Title requires substitutions: " + title);
+            }
+            return title;
+        }
+
+        private static String rtrim(String line) {
+            int end = line.length();
+            while (end > 0 && Character.isWhitespace(line.charAt(end - 1))) {
+                end--;
+            }
+            return line.substring(0, end);
+        }
+    }
+
+    /**
+     * Parse an attribute list, e.g. `source,cypher,role=concept,requiresConcepts="a,b"`.
+     *
+     * @param attributeList
+     *            The attribute list without the enclosing brackets.
+     * @return The attributes or `null` if the attribute list uses unsupported
+     *         syntax.
+     */
+    static Map<String, Object> parseAttributeList(String attributeList) {
+        if (attributeList.contains("{") || attributeList.contains("'") || attributeList.contains("[") || attributeList.contains("]")) {
+            // attribute references and single quoted values are subject to substitutions, brackets are ambiguous
+            return null;
+        }
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        int position = 0;
+        int positionalIndex = 0;
+        int length = attributeList.length();
+        while (position <= length) {
+            position = skipWhitespace(attributeList, position);
+            String name = null;
+            String value;
+            if (position < length && attributeList.charAt(position) == '"') {
+                int end = findClosingQuote(attributeList, position);
+                if (end < 0) {
+                    return null;
+                }
+                value = unescape(attributeList.substring(position + 1, end));
+                position = skipWhitespace(attributeList, end + 1);
+            } else {
+                int end = position;
+                while (end < length && attributeList.charAt(end) != ',' && attributeList.charAt(end) != '=') {
+                    end++;
+                }
+                String token = attributeList.substring(position, end).trim();
+                position = end;
+                if (position < length && attributeList.charAt(position) == '=') {
+                    name = token;
+                    position = skipWhitespace(attributeList, position + 1);
+                    if (position < length && attributeList.charAt(position) == '"') {
+                        int closing = findClosingQuote(attributeList, position);
+                        if (closing < 0) {
+                            return null;
+                        }
+                        value = unescape(attributeList.substring(position + 1, closing));
+                        position = skipWhitespace(attributeList, closing + 1);
+                    } else {
+                        int valueEnd = position;
+                        while (valueEnd < length && attributeList.charAt(valueEnd) != ',') {
+                            valueEnd++;
+                        }
+                        value = attributeList.substring(position, valueEnd).trim();
+                        position = valueEnd;
+                    }
+                } else {
+                    value = token;
+                }
+            }
+            if (position < length && attributeList.charAt(position) != ',') {
+                return null;
+            }
+            if (name != null) {
+                if (name.isEmpty() || attributes.containsKey(name)) {
+                    return null;
+                }
+                attributes.put(name, value);
+            } else {
+                positionalIndex++;
+                if (!value.isEmpty() && !addPositional(attributes, positionalIndex, value)) {
+                    return null;
+                }
+            }
+            position++;
+        }
+        return attributes;
+    }
+
+    /**
+     * Add a positional attribute, the first one may use the shorthand syntax
+     * `style#id.role`.
+     */
+    private static boolean addPositional(Map<String, Object> attributes, int positionalIndex, String value) {
+        if (positionalIndex == 1) {
+            Matcher matcher = Pattern.compile("([^#.%]*)((?:[#.%][^#.%]+)*)").matcher(value);
+            if (!matcher.matches()) {
+                return false;
+            }
+            String style = matcher.group(1);
+            if (!style.isEmpty()) {
+                attributes.put("1", style);
+                attributes.put(STYLE, style);
+            }
+            List<String> roles = new ArrayList<>();
+            Matcher shorthand = Pattern.compile("([#.%])([^#.%]+)").matcher(matcher.group(2));
+            while (shorthand.find()) {
+                switch (shorthand.group(1)) {
+                case "#":
+                    if (attributes.put(ID, shorthand.group(2)) != null) {
+                        return false;
+                    }
+                    break;
+                case ".":
+                    roles.add(shorthand.group(2));
+                    break;
+                default:
+                    attributes.put(shorthand.group(2) + "-option", "");
+                    break;
+                }
+            }
+            if (!roles.isEmpty()) {
+                attributes.put(ROLE, String.join(" ", roles));
+            }
+        } else {
+            attributes.put(Integer.toString(positionalIndex), value);
+            if (positionalIndex == 2 && SOURCE.equals(attributes.get(STYLE))) {
+                attributes.put(LANGUAGE, value);
+            }
+        }
+        return true;
+    }
+
+    private static int skipWhitespace(String value, int position) {
+        while (position < value.length() && Character.isWhitespace(value.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static int findClosingQuote(String value, int position) {
+        for (int i = position + 1; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String unescape(String value) {
+        return value.replace("\\\"", "\"");
+    }
+}
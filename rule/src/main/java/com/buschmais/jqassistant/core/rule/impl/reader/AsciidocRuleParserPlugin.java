@@ -14,6 +14,7 @@ import com.buschmais.jqassistant.core.rule.api.reader.RowCountVerification;
 import com.buschmais.jqassistant.core.rule.api.source.RuleSource;
 import com.buschmais.jqassistant.core.rule.impl.SourceExecutable;
 import com.buschmais.jqassistant.core.shared.asciidoc.AsciidoctorFactory;
+import com.buschmais.jqassistant.core.shared.asciidoc.AsciidoctorPool;
 import com.buschmais.jqassistant.core.shared.asciidoc.DocumentParser;
 
 import org.apache.commons.io.FileUtils;
@@ -66,7 +67,12 @@ public class AsciidocRuleParserPlugin extends AbstractRuleParserPlugin {
     private static final String CYPHER = "cypher";
     private static final String OPTIONAL = "optional";
 
-    private Asciidoctor asciidoctor = null;
+    /**
+     * The profile of pooled {@link Asciidoctor} instances used for parsing rules.
+     */
+    private static final String ASCIIDOCTOR_PROFILE = "rules";
+
+    private final AsciidocRuleExtractor ruleExtractor = new AsciidocRuleExtractor();
 
     private File tempDir;
 
@@ -81,9 +87,7 @@ public class AsciidocRuleParserPlugin extends AbstractRuleParserPlugin {
 
     @Override
     public void destroy() throws RuleException {
-        if (asciidoctor != null) {
-            asciidoctor.shutdown();
-        }
+        AsciidoctorPool.getInstance().shutdown(ASCIIDOCTOR_PROFILE);
         try {
             FileUtils.deleteDirectory(tempDir);
         } catch (IOException e) {
@@ -104,29 +108,39 @@ public class AsciidocRuleParserPlugin extends AbstractRuleParserPlugin {
         } catch (IOException e) {
             throw new RuleException("Cannot parse AsciiDoc document from " + source.getId(), e);
         }
+        Optional<AsciidocRuleExtractor.Result> extractedRules = ruleExtractor.extract(content);
+        if (extractedRules.isPresent()) {
+            extractRules(source, extractedRules.get(), ruleSetBuilder);
+            return;
+        }
+        LOGGER.debug("Loading '{}' using Asciidoctor.", source.getId());
         org.asciidoctor.Attributes attributes = org.asciidoctor.Attributes.builder()
                 .attribute(AsciidoctorFactory.ATTRIBUTE_IMAGES_OUT_DIR, tempDir.getAbsolutePath()).experimental(true).build();
         OptionsBuilder optionsBuilder = Options.builder().mkDirs(true).safe(SafeMode.UNSAFE).baseDir(tempDir).attributes(attributes);
-        Document document = getAsciidoctor().load(content, optionsBuilder.build());
+        Document document = load(content, optionsBuilder.build());
         DocumentParser documentParser = new DocumentParser();
         DocumentParser.Result result = documentParser.parse(document);
         extractRules(source, result, ruleSetBuilder);
     }
 
     /**
-     * Returns an {@link Asciidoctor} instance which is created lazliy to reduce
-     * startup time.
+     * Load a document using a pooled {@link Asciidoctor} instance, sources may be
+     * parsed concurrently up to the size of the pool.
+     */
+    private Document load(String content, Options options) {
+        return AsciidoctorPool.getInstance().apply(ASCIIDOCTOR_PROFILE, AsciidocRuleParserPlugin::initializeAsciidoctor,
+                asciidoctor -> asciidoctor.load(content, options));
+    }
+
+    /**
+     * Initializes a pooled {@link Asciidoctor} instance for parsing rules.
      *
-     * @return The {@link Asciidoctor} instance.
+     * @param asciidoctor
+     *            The {@link Asciidoctor} instance.
      */
-    private Asciidoctor getAsciidoctor() {
-        if (asciidoctor == null) {
-            asciidoctor = AsciidoctorFactory.getAsciidoctor();
-            IgnoreIncludeProcessor includeProcessor = new IgnoreIncludeProcessor();
-            JavaExtensionRegistry extensionRegistry = asciidoctor.javaExtensionRegistry();
-            extensionRegistry.includeProcessor(includeProcessor);
-        }
-        return asciidoctor;
+    private static void initializeAsciidoctor(Asciidoctor asciidoctor) {
+        JavaExtensionRegistry extensionRegistry = asciidoctor.javaExtensionRegistry();
+        extensionRegistry.includeProcessor(new IgnoreIncludeProcessor());
     }
 
     /**
@@ -152,30 +166,64 @@ public class AsciidocRuleParserPlugin extends AbstractRuleParserPlugin {
         }
     }
 
+    /**
+     * Add the rules extracted from the document text by the
+     * {@link AsciidocRuleExtractor}.
+     *
+     * @param ruleSource
+     *            The rule source.
+     * @param result
+     *            The result from the {@link AsciidocRuleExtractor}.
+     * @param builder
+     *            The {@link RuleSetBuilder}.
+     */
+    private void extractRules(RuleSource ruleSource, AsciidocRuleExtractor.Result result, RuleSetBuilder builder) throws RuleException {
+        for (AsciidocRuleExtractor.RuleBlock value : result.getConcepts().values()) {
+            extractExecutableRule(ruleSource, value, builder);
+        }
+        for (AsciidocRuleExtractor.RuleBlock value : result.getConstraints().values()) {
+            extractExecutableRule(ruleSource, value, builder);
+        }
+        for (AsciidocRuleExtractor.RuleBlock value : result.getGroups().values()) {
+            addGroup(ruleSource, value.getId(), value.getTitle(), value.getAttributes(), builder);
+        }
+    }
+
+    private void extractExecutableRule(RuleSource ruleSource, AsciidocRuleExtractor.RuleBlock ruleBlock, RuleSetBuilder builder) throws RuleException {
+        Attributes attributes = new Attributes(ruleBlock.getAttributes());
+        Executable<?> executable = getSourceExecutable(attributes.getString(LANGUAGE), ruleBlock.getContent());
+        addExecutableRule(ruleSource, ruleBlock.getId(), ruleBlock.getRole(), attributes, executable, builder);
+    }
+
     private void extractExecutableRule(RuleSource ruleSource, StructuralNode executableRuleBlock, RuleSetBuilder builder) throws RuleException {
         Attributes attributes = new Attributes(executableRuleBlock.getAttributes());
         String id = executableRuleBlock.id();
         if (id == null) {
             throw new RuleException("An id attribute is required for the rule '" + executableRuleBlock + "' (i.e. '[[rule:id]]' is required.");
         }
+        Executable<?> executable = getExecutable(executableRuleBlock, attributes);
+        addExecutableRule(ruleSource, id, executableRuleBlock.getRole(), attributes, executable, builder);
+    }
+
+    private void addExecutableRule(RuleSource ruleSource, String id, String role, Attributes attributes, Executable<?> executable, RuleSetBuilder builder)
+            throws RuleException {
         String description = attributes.getString(TITLE, "");
         if (description == null) {
             LOGGER.info("Description of rule is missing: Using empty text for description (source='{}', id='{}').", ruleSource.getId(), id);
         }
         Map<String, Boolean> required = getRequiresConcepts(attributes);
         Map<String, Parameter> parameters = getParameters(attributes.getString(REQUIRES_PARAMETERS));
-        Executable<?> executable = getExecutable(executableRuleBlock, attributes);
         if (executable != null) {
             Verification verification = getVerification(attributes);
-            Report report = getReport(executableRuleBlock);
-            if (CONCEPT.equals(executableRuleBlock.getRole())) {
+            Report report = getReport(attributes);
+            if (CONCEPT.equals(role)) {
                 Map<String, String> providesConcepts = getReferences(attributes, PROVIDES_CONCEPTS);
                 Severity severity = getSeverity(attributes, getRuleConfiguration().getDefaultConceptSeverity());
                 Concept concept = Concept.builder().id(id).description(description).severity(severity).executable(executable)
                         .providesConcepts(providesConcepts.keySet()).requiresConcepts(required).parameters(parameters).verification(verification).report(report)
                         .ruleSource(ruleSource).build();
                 builder.addConcept(concept);
-            } else if (CONSTRAINT.equals(executableRuleBlock.getRole())) {
+            } else if (CONSTRAINT.equals(role)) {
                 Severity severity = getSeverity(attributes, getRuleConfiguration().getDefaultConstraintSeverity());
                 Constraint constraint = Constraint.builder().id(id).description(description).severity(severity).executable(executable)
                         .requiresConcepts(required).parameters(parameters).verification(verification).report(report).ruleSource(ruleSource).build();
@@ -187,13 +235,7 @@ public class AsciidocRuleParserPlugin extends AbstractRuleParserPlugin {
     private Executable<?> getExecutable(StructuralNode block, Attributes attributes) {
         String language;
         if (SOURCE.equals(block.getStyle())) {
-            language = attributes.getString(LANGUAGE);
-            String source = unescapeHtml(block.getContent());
-            if (CYPHER.equals(language)) {
-                return new CypherExecutable(source);
-            } else {
-                return new ScriptExecutable(language.toLowerCase(), source);
-            }
+            return getSourceExecutable(attributes.getString(LANGUAGE), unescapeHtml(block.getContent()));
         } else {
             // Use style for native Asciidoc blocks
             language = block.getStyle();
@@ -210,6 +252,14 @@ public class AsciidocRuleParserPlugin extends AbstractRuleParserPlugin {
         return null;
     }
 
+    private Executable<?> getSourceExecutable(String language, String source) {
+        if (CYPHER.equals(language)) {
+            return new CypherExecutable(source);
+        } else {
+            return new ScriptExecutable(language.toLowerCase(), source);
+        }
+    }
+
     private Verification getVerification(Attributes attributes) {
         if (AGGREGATION.equals(attributes.getString(VERIFY))) {
             return AggregationVerification.builder().column(attributes.getString(AGGREGATION_COLUMN)).min(attributes.getInt(AGGREGATION_MIN))
@@ -244,12 +294,17 @@ public class AsciidocRuleParserPlugin extends AbstractRuleParserPlugin {
     }
 
     private void extractGroup(RuleSource ruleSource, StructuralNode groupBlock, RuleSetBuilder ruleSetBuilder) throws RuleException {
-        Attributes attributes = new Attributes(groupBlock.getAttributes());
+        addGroup(ruleSource, groupBlock.id(), groupBlock.getTitle(), groupBlock.getAttributes(), ruleSetBuilder);
+    }
+
+    private void addGroup(RuleSource ruleSource, String id, String description, Map<String, Object> groupAttributes, RuleSetBuilder ruleSetBuilder)
+            throws RuleException {
+        Attributes attributes = new Attributes(groupAttributes);
         Map<String, Severity> constraints = getGroupElements(attributes, INCLUDES_CONSTRAINTS);
         Map<String, Severity> concepts = getGroupElements(attributes, INCLUDES_CONCEPTS);
         Map<String, Severity> groups = getGroupElements(attributes, INCLUDES_GROUPS);
         Severity severity = getSeverity(attributes, getRuleConfiguration().getDefaultGroupSeverity());
-        Group group = Group.builder().id(groupBlock.id()).description(groupBlock.getTitle()).severity(severity).ruleSource(ruleSource).concepts(concepts)
+        Group group = Group.builder().id(id).description(description).severity(severity).ruleSource(ruleSource).concepts(concepts)
                 .constraints(constraints).groups(groups).build();
         ruleSetBuilder.addGroup(group);
     }
@@ -329,20 +384,20 @@ public class AsciidocRuleParserPlugin extends AbstractRuleParserPlugin {
     /**
      * Create the report part of a rule.
      *
-     * @param part
-     *            The content part.
+     * @param attributes
+     *            The attributes of the rule.
      * @return The report.
      */
-    private Report getReport(StructuralNode part) {
-        Object primaryReportColum = part.getAttributes().get(PRIMARY_REPORT_COLUM);
-        Object reportType = part.getAttributes().get(REPORT_TYPE);
-        Properties reportProperties = parseProperties(part, REPORT_PROPERTIES);
+    private Report getReport(Attributes attributes) {
+        String primaryReportColum = attributes.getString(PRIMARY_REPORT_COLUM);
+        String reportType = attributes.getString(REPORT_TYPE);
+        Properties reportProperties = parseProperties(attributes, REPORT_PROPERTIES);
         Report.ReportBuilder reportBuilder = Report.builder();
         if (reportType != null) {
-            reportBuilder.selectedTypes(Report.selectTypes(reportType.toString()));
+            reportBuilder.selectedTypes(Report.selectTypes(reportType));
         }
         if (primaryReportColum != null) {
-            reportBuilder.primaryColumn(primaryReportColum.toString());
+            reportBuilder.primaryColumn(primaryReportColum);
         }
         return reportBuilder.properties(reportProperties).build();
     }
@@ -350,19 +405,19 @@ public class AsciidocRuleParserPlugin extends AbstractRuleParserPlugin {
     /**
      * Parse properties from an attribute.
      *
-     * @param part
-     *            The content part containing the attribute.
+     * @param attributes
+     *            The attributes containing the attribute.
      * @param attributeName
      *            The attribute name.
      * @return The properties.
      */
-    private Properties parseProperties(StructuralNode part, String attributeName) {
+    private Properties parseProperties(Attributes attributes, String attributeName) {
         Properties properties = new Properties();
-        Object attribute = part.getAttributes().get(attributeName);
+        String attribute = attributes.getString(attributeName);
         if (attribute == null) {
             return properties;
         }
-        Scanner propertiesScanner = new Scanner(attribute.toString());
+        Scanner propertiesScanner = new Scanner(attribute);
         propertiesScanner.useDelimiter(";");
         while (propertiesScanner.hasNext()) {
             String next = propertiesScanner.next().trim();
@@ -426,7 +481,7 @@ public class AsciidocRuleParserPlugin extends AbstractRuleParserPlugin {
     /**
      * Include processor that ignores all included files.
      */
-    private class IgnoreIncludeProcessor extends IncludeProcessor {
+    private static class IgnoreIncludeProcessor extends IncludeProcessor {
 
         @Override
         public boolean handles(String target) {
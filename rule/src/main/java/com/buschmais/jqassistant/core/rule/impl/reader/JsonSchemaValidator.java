@@ -40,20 +40,35 @@ class JsonSchemaValidator {
     }
 
     public ValidationResult validate(RuleSource ruleSource) throws IOException {
-        ValidationResult result = new ValidationResult();
-
         try (InputStream inputStream = ruleSource.getInputStream()) {
-            JsonNode rootNode = mapper.readTree(inputStream);
+            return validate(mapper.readTree(inputStream));
+        }
+    }
+
+    /**
+     * Validates a document which has already been loaded, e.g. by snakeyaml-engine,
+     * without reading the rule source again.
+     *
+     * @param document
+     *            The loaded document, i.e. a structure of maps, lists and scalar
+     *            values, or `null` for an empty document.
+     * @return The {@link ValidationResult}.
+     */
+    public ValidationResult validateDocument(Object document) {
+        return validate(document != null ? mapper.valueToTree(document) : MissingNode.getInstance());
+    }
+
+    private ValidationResult validate(JsonNode rootNode) {
+        ValidationResult result = new ValidationResult();
 
-            if (rootNode.equals(MissingNode.getInstance())) {
-                result.setSourceWasEmpty(true);
-                result.setValidationMessages(emptySet());
-            } else {
-                Set<ValidationMessage> validationMessages = schema.validate(rootNode);
+        if (rootNode.equals(MissingNode.getInstance())) {
+            result.setSourceWasEmpty(true);
+            result.setValidationMessages(emptySet());
+        } else {
+            Set<ValidationMessage> validationMessages = schema.validate(rootNode);
 
-                result.setValidationMessages(validationMessages);
-                result.setSourceWasEmpty(false);
-            }
+            result.setValidationMessages(validationMessages);
+            result.setSourceWasEmpty(false);
         }
 
         return result;
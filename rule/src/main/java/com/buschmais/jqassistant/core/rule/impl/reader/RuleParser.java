@@ -1,7 +1,12 @@
 package com.buschmais.jqassistant.core.rule.impl.reader;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.buschmais.jqassistant.core.rule.api.model.RuleException;
 import com.buschmais.jqassistant.core.rule.api.model.RuleSet;
@@ -20,26 +25,137 @@ public class RuleParser {
 
     private Collection<? extends RuleParserPlugin> ruleParserPlugins;
 
+    private RuleSetCache ruleSetCache;
+
+    private int parallelism;
+
     public RuleParser(Collection<RuleParserPlugin> ruleParserPlugins) {
+        this(ruleParserPlugins, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param ruleParserPlugins
+     *            The {@link RuleParserPlugin}s.
+     * @param ruleSetCache
+     *            The {@link RuleSetCache} for loading the rules of unchanged
+     *            sources, may be `null`.
+     */
+    public RuleParser(Collection<RuleParserPlugin> ruleParserPlugins, RuleSetCache ruleSetCache) {
+        this(ruleParserPlugins, ruleSetCache, 1);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param ruleParserPlugins
+     *            The {@link RuleParserPlugin}s, they must support parsing
+     *            different sources concurrently if parallelism is greater than
+     *            `1`.
+     * @param ruleSetCache
+     *            The {@link RuleSetCache} for loading the rules of unchanged
+     *            sources, may be `null`.
+     * @param parallelism
+     *            The number of threads used for parsing sources, `1` parses all
+     *            sources sequentially.
+     */
+    public RuleParser(Collection<RuleParserPlugin> ruleParserPlugins, RuleSetCache ruleSetCache, int parallelism) {
         this.ruleParserPlugins = ruleParserPlugins;
+        this.ruleSetCache = ruleSetCache;
+        this.parallelism = parallelism;
     }
 
     public RuleSet parse(List<? extends RuleSource> sources) throws RuleException {
         RuleSetBuilder ruleSetBuilder = RuleSetBuilder.newInstance();
-        for (RuleSource source : sources) {
-            parse(source, ruleSetBuilder);
+        if (parallelism > 1 && sources.size() > 1) {
+            // Merge the partial rule sets in the order of the sources, i.e. the same duplicate rule is reported as for a sequential parse
+            for (RuleSet partialRuleSet : parseConcurrently(sources)) {
+                ruleSetBuilder.addRuleSet(partialRuleSet);
+            }
+        } else {
+            for (RuleSource source : sources) {
+                parse(source, ruleSetBuilder);
+            }
         }
         return ruleSetBuilder.getRuleSet();
     }
 
+    /**
+     * Parse each source into its own {@link RuleSet} using a thread pool.
+     *
+     * @param sources
+     *            The sources.
+     * @return The {@link RuleSet}s, ordered like the sources.
+     * @throws RuleException
+     *             The exception thrown for the first source (in the order of the
+     *             sources) that could not be parsed.
+     */
+    private List<RuleSet> parseConcurrently(List<? extends RuleSource> sources) throws RuleException {
+        int threads = Math.min(parallelism, sources.size());
+        logger.debug("Parsing {} rule sources using {} threads.", sources.size(), threads);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<RuleSet>> futures = new ArrayList<>(sources.size());
+            for (RuleSource source : sources) {
+                futures.add(executorService.submit(() -> {
+                    RuleSetBuilder partialRuleSetBuilder = RuleSetBuilder.newInstance();
+                    parse(source, partialRuleSetBuilder);
+                    return partialRuleSetBuilder.getRuleSet();
+                }));
+            }
+            List<RuleSet> ruleSets = new ArrayList<>(sources.size());
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    ruleSets.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuleException) {
+                        throw (RuleException) cause;
+                    }
+                    throw new RuleException("Cannot parse rule source " + sources.get(i).getId(), cause);
+                }
+            }
+            return ruleSets;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuleException("Interrupted while parsing rule sources.", e);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
     private void parse(RuleSource source, RuleSetBuilder ruleSetBuilder) throws RuleException {
         for (RuleParserPlugin ruleParserPlugin : ruleParserPlugins) {
             if (ruleParserPlugin.accepts(source)) {
-                logger.debug("Parsing rule source with id '{}' using '{}'.", source.getId(), ruleParserPlugin);
-                ruleParserPlugin.parse(source, ruleSetBuilder);
+                if (ruleSetCache != null) {
+                    parseCached(source, ruleParserPlugin, ruleSetBuilder);
+                } else {
+                    logger.debug("Parsing rule source with id '{}' using '{}'.", source.getId(), ruleParserPlugin);
+                    ruleParserPlugin.parse(source, ruleSetBuilder);
+                }
                 return;
             }
         }
         logger.debug("Rule source with id '{}' has not been accepted by any rule parser.", source.getId());
     }
+
+    /**
+     * Load the rules of a source from the {@link RuleSetCache} or parse and cache
+     * them if the source has been changed.
+     */
+    private void parseCached(RuleSource source, RuleParserPlugin ruleParserPlugin, RuleSetBuilder ruleSetBuilder) throws RuleException {
+        String checksum = ruleSetCache.getChecksum(source, ruleParserPlugin);
+        RuleSet sourceRuleSet = ruleSetCache.load(source, checksum);
+        if (sourceRuleSet != null) {
+            logger.debug("Loaded cached rules of rule source with id '{}'.", source.getId());
+        } else {
+            logger.debug("Parsing rule source with id '{}' using '{}'.", source.getId(), ruleParserPlugin);
+            RuleSetBuilder sourceRuleSetBuilder = RuleSetBuilder.newInstance();
+            ruleParserPlugin.parse(source, sourceRuleSetBuilder);
+            sourceRuleSet = sourceRuleSetBuilder.getRuleSet();
+            ruleSetCache.store(source, checksum, sourceRuleSet);
+        }
+        ruleSetBuilder.addRuleSet(sourceRuleSet);
+    }
 }
@@ -0,0 +1,443 @@
+package com.buschmais.jqassistant.core.rule.impl.reader;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.*;
+
+import com.buschmais.jqassistant.core.rule.api.model.*;
+import com.buschmais.jqassistant.core.rule.api.reader.AggregationVerification;
+import com.buschmais.jqassistant.core.rule.api.reader.RowCountVerification;
+import com.buschmais.jqassistant.core.rule.api.reader.RuleConfiguration;
+import com.buschmais.jqassistant.core.rule.api.reader.RuleParserPlugin;
+import com.buschmais.jqassistant.core.rule.api.source.RuleSource;
+import com.buschmais.jqassistant.core.rule.impl.SourceExecutable;
+import com.buschmais.jqassistant.core.shared.hash.HashHelper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A persistent cache for the rules parsed from {@link RuleSource}s.
+ *
+ * The rules of each source are stored in a binary file within the cache
+ * directory. A file is only used if the checksum stored within matches the
+ * current checksum of the source, which covers the content of the source, the
+ * {@link RuleParserPlugin} and the {@link RuleConfiguration} (as the default
+ * severities are applied while parsing).
+ *
+ * Rules which cannot be represented (e.g. executables which are not based on a
+ * source {@link String} or custom {@link Verification}s) are not cached, such
+ * sources are parsed on each run.
+ */
+public class RuleSetCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RuleSetCache.class);
+
+    private static final int MAGIC = 0x6a514152;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String FILE_EXTENSION = ".rules";
+
+    private static final byte CYPHER_EXECUTABLE = 0;
+    private static final byte SCRIPT_EXECUTABLE = 1;
+    private static final byte SOURCE_EXECUTABLE = 2;
+
+    private static final byte NO_VERIFICATION = 0;
+    private static final byte ROW_COUNT_VERIFICATION = 1;
+    private static final byte AGGREGATION_VERIFICATION = 2;
+
+    private final File directory;
+
+    private final RuleConfiguration ruleConfiguration;
+
+    /**
+     * Constructor.
+     *
+     * @param directory
+     *            The directory containing the cache files, it is created if
+     *            required.
+     * @param ruleConfiguration
+     *            The {@link RuleConfiguration} used to configure the
+     *            {@link RuleParserPlugin}s.
+     */
+    public RuleSetCache(File directory, RuleConfiguration ruleConfiguration) {
+        this.directory = directory;
+        this.ruleConfiguration = ruleConfiguration;
+    }
+
+    /**
+     * Calculate the checksum of a {@link RuleSource}.
+     *
+     * @param ruleSource
+     *            The {@link RuleSource}.
+     * @param ruleParserPlugin
+     *            The {@link RuleParserPlugin} accepting the source.
+     * @return The checksum.
+     * @throws RuleException
+     *             If the source cannot be read.
+     */
+    public String getChecksum(RuleSource ruleSource, RuleParserPlugin ruleParserPlugin) throws RuleException {
+        MessageDigest digest = HashHelper.createDigest();
+        try (InputStream inputStream = ruleSource.getInputStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new RuleException("Cannot read rule source " + ruleSource.getId(), e);
+        }
+        Class<? extends RuleParserPlugin> pluginType = ruleParserPlugin.getClass();
+        digest.update((pluginType.getName() + ":" + pluginType.getPackage().getImplementationVersion() + ":" + ruleConfiguration).getBytes(UTF_8));
+        return HashHelper.toHex(digest);
+    }
+
+    /**
+     * Load the cached rules of a {@link RuleSource}.
+     *
+     * @param ruleSource
+     *            The {@link RuleSource}.
+     * @param checksum
+     *            The current checksum of the {@link RuleSource}.
+     * @return The {@link RuleSet} or `null` if no up-to-date rules are cached.
+     */
+    public RuleSet load(RuleSource ruleSource, String checksum) {
+        File file = getFile(ruleSource);
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION || !ruleSource.getId().equals(readString(input))
+                    || !checksum.equals(readString(input))) {
+                return null;
+            }
+            RuleSetBuilder ruleSetBuilder = RuleSetBuilder.newInstance();
+            int concepts = input.readInt();
+            for (int i = 0; i < concepts; i++) {
+                Concept.ConceptBuilder builder = readExecutableRule(input, Concept.builder(), ruleSource);
+                builder.providesConcepts(readStrings(input));
+                ruleSetBuilder.addConcept(builder.build());
+            }
+            int constraints = input.readInt();
+            for (int i = 0; i < constraints; i++) {
+                ruleSetBuilder.addConstraint(readExecutableRule(input, Constraint.builder(), ruleSource).build());
+            }
+            int groups = input.readInt();
+            for (int i = 0; i < groups; i++) {
+                Group.GroupBuilder builder = Group.builder().id(readString(input)).description(readString(input)).deprecation(readString(input))
+                        .ruleSource(ruleSource);
+                builder.severity(readSeverity(input));
+                builder.concepts(readSeverities(input));
+                builder.constraints(readSeverities(input));
+                builder.groups(readSeverities(input));
+                ruleSetBuilder.addGroup(builder.build());
+            }
+            return ruleSetBuilder.getRuleSet();
+        } catch (IOException | RuleException | RuntimeException e) {
+            LOGGER.warn("Cannot read cached rules of '{}' from '{}', parsing source.", ruleSource.getId(), file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Store the rules parsed from a {@link RuleSource}.
+     *
+     * @param ruleSource
+     *            The {@link RuleSource}.
+     * @param checksum
+     *            The checksum of the {@link RuleSource}.
+     * @param ruleSet
+     *            The {@link RuleSet} containing the rules parsed from the source.
+     */
+    public void store(RuleSource ruleSource, String checksum, RuleSet ruleSet) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            writeString(output, ruleSource.getId());
+            writeString(output, checksum);
+            Collection<Concept> concepts = ruleSet.getConceptBucket().getAll();
+            output.writeInt(concepts.size());
+            for (Concept concept : concepts) {
+                writeExecutableRule(output, concept);
+                writeStrings(output, concept.getProvidesConcepts());
+            }
+            Collection<Constraint> constraints = ruleSet.getConstraintBucket().getAll();
+            output.writeInt(constraints.size());
+            for (Constraint constraint : constraints) {
+                writeExecutableRule(output, constraint);
+            }
+            Collection<Group> groups = ruleSet.getGroupsBucket().getAll();
+            output.writeInt(groups.size());
+            for (Group group : groups) {
+                writeRule(output, group);
+                writeSeverity(output, group.getSeverity());
+                writeSeverities(output, group.getConcepts());
+                writeSeverities(output, group.getConstraints());
+                writeSeverities(output, group.getGroups());
+            }
+        } catch (NotCacheableException e) {
+            LOGGER.debug("Rules of '{}' cannot be cached: {}", ruleSource.getId(), e.getMessage());
+            return;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot serialize rules of " + ruleSource.getId(), e);
+        }
+        File file = getFile(ruleSource);
+        try {
+            directory.mkdirs();
+            // Write to a temporary file first, concurrent readers must not see partial content
+            File tempFile = File.createTempFile(file.getName(), ".tmp", directory);
+            Files.write(tempFile.toPath(), bytes.toByteArray());
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot write cached rules of '{}' to '{}'.", ruleSource.getId(), file, e);
+        }
+    }
+
+    private File getFile(RuleSource ruleSource) {
+        return new File(directory, HashHelper.hash(ruleSource.getId()) + FILE_EXTENSION);
+    }
+
+    private void writeRule(DataOutputStream output, AbstractRule rule) throws IOException {
+        writeString(output, rule.getId());
+        writeString(output, rule.getDescription());
+        writeString(output, rule.getDeprecation());
+    }
+
+    private void writeExecutableRule(DataOutputStream output, AbstractExecutableRule rule) throws IOException {
+        writeRule(output, rule);
+        writeSeverity(output, rule.getSeverity());
+        writeExecutable(output, rule.getExecutable());
+        Map<String, Parameter> parameters = rule.getParameters();
+        output.writeInt(parameters.size());
+        for (Parameter parameter : parameters.values()) {
+            writeString(output, parameter.getName());
+            output.writeByte(parameter.getType().ordinal());
+            Object defaultValue = parameter.getDefaultValue();
+            writeString(output, defaultValue != null ? defaultValue.toString() : null);
+        }
+        Map<String, Boolean> requiresConcepts = rule.getRequiresConcepts();
+        output.writeInt(requiresConcepts.size());
+        for (Map.Entry<String, Boolean> entry : requiresConcepts.entrySet()) {
+            writeString(output, entry.getKey());
+            output.writeBoolean(Boolean.TRUE.equals(entry.getValue()));
+        }
+        writeVerification(output, rule.getVerification());
+        writeReport(output, rule.getReport());
+    }
+
+    private <B extends AbstractExecutableRule.Builder<B, R>, R extends AbstractExecutableRule> B readExecutableRule(DataInputStream input, B builder,
+            RuleSource ruleSource) throws IOException, RuleException {
+        builder.id(readString(input)).description(readString(input)).deprecation(readString(input)).ruleSource(ruleSource);
+        builder.severity(readSeverity(input));
+        builder.executable(readExecutable(input));
+        int parameterCount = input.readInt();
+        Map<String, Parameter> parameters = new HashMap<>(parameterCount * 2);
+        for (int i = 0; i < parameterCount; i++) {
+            String name = readString(input);
+            Parameter.Type type = Parameter.Type.values()[input.readByte()];
+            parameters.put(name, new Parameter(name, type, type.parse(readString(input))));
+        }
+        builder.parameters(parameters);
+        int requiresConceptCount = input.readInt();
+        Map<String, Boolean> requiresConcepts = new HashMap<>(requiresConceptCount * 2);
+        for (int i = 0; i < requiresConceptCount; i++) {
+            requiresConcepts.put(readString(input), input.readBoolean());
+        }
+        builder.requiresConcepts(requiresConcepts);
+        builder.verification(readVerification(input));
+        builder.report(readReport(input));
+        return builder;
+    }
+
+    private void writeExecutable(DataOutputStream output, Executable<?> executable) throws IOException {
+        if (!(executable instanceof SourceExecutable) || !String.class.equals(executable.getType())) {
+            throw new NotCacheableException("Unsupported executable " + executable);
+        }
+        if (executable instanceof CypherExecutable) {
+            output.writeByte(CYPHER_EXECUTABLE);
+        } else if (executable instanceof ScriptExecutable) {
+            output.writeByte(SCRIPT_EXECUTABLE);
+        } else if (executable.getClass().equals(SourceExecutable.class)) {
+            output.writeByte(SOURCE_EXECUTABLE);
+        } else {
+            throw new NotCacheableException("Unsupported executable type " + executable.getClass().getName());
+        }
+        writeString(output, executable.getLanguage());
+        writeString(output, (String) executable.getSource());
+    }
+
+    private Executable<?> readExecutable(DataInputStream input) throws IOException {
+        byte type = input.readByte();
+        String language = readString(input);
+        String source = readString(input);
+        switch (type) {
+        case CYPHER_EXECUTABLE:
+            return new CypherExecutable(source);
+        case SCRIPT_EXECUTABLE:
+            return new ScriptExecutable(language, source);
+        case SOURCE_EXECUTABLE:
+            return new SourceExecutable<>(language, source, String.class);
+        default:
+            throw new IOException("Unknown executable type " + type);
+        }
+    }
+
+    private void writeVerification(DataOutputStream output, Verification verification) throws IOException {
+        if (verification == null) {
+            output.writeByte(NO_VERIFICATION);
+        } else if (verification instanceof RowCountVerification) {
+            RowCountVerification rowCountVerification = (RowCountVerification) verification;
+            output.writeByte(ROW_COUNT_VERIFICATION);
+            writeInteger(output, rowCountVerification.getMin());
+            writeInteger(output, rowCountVerification.getMax());
+        } else if (verification instanceof AggregationVerification) {
+            AggregationVerification aggregationVerification = (AggregationVerification) verification;
+            output.writeByte(AGGREGATION_VERIFICATION);
+            writeString(output, aggregationVerification.getColumn());
+            writeInteger(output, aggregationVerification.getMin());
+            writeInteger(output, aggregationVerification.getMax());
+        } else {
+            throw new NotCacheableException("Unsupported verification " + verification);
+        }
+    }
+
+    private Verification readVerification(DataInputStream input) throws IOException {
+        byte type = input.readByte();
+        switch (type) {
+        case NO_VERIFICATION:
+            return null;
+        case ROW_COUNT_VERIFICATION:
+            return RowCountVerification.builder().min(readInteger(input)).max(readInteger(input)).build();
+        case AGGREGATION_VERIFICATION:
+            return AggregationVerification.builder().column(readString(input)).min(readInteger(input)).max(readInteger(input)).build();
+        default:
+            throw new IOException("Unknown verification type " + type);
+        }
+    }
+
+    private void writeReport(DataOutputStream output, Report report) throws IOException {
+        output.writeBoolean(report != null);
+        if (report != null) {
+            Set<String> selectedTypes = report.getSelectedTypes();
+            output.writeBoolean(selectedTypes != null);
+            if (selectedTypes != null) {
+                writeStrings(output, selectedTypes);
+            }
+            writeString(output, report.getPrimaryColumn());
+            Properties properties = report.getProperties();
+            Set<String> names = properties.stringPropertyNames();
+            output.writeInt(names.size());
+            for (String name : names) {
+                writeString(output, name);
+                writeString(output, properties.getProperty(name));
+            }
+        }
+    }
+
+    private Report readReport(DataInputStream input) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        Set<String> selectedTypes = input.readBoolean() ? readStrings(input) : null;
+        String primaryColumn = readString(input);
+        Properties properties = new Properties();
+        int propertyCount = input.readInt();
+        for (int i = 0; i < propertyCount; i++) {
+            properties.setProperty(readString(input), readString(input));
+        }
+        return Report.builder().selectedTypes(selectedTypes).primaryColumn(primaryColumn).properties(properties).build();
+    }
+
+    private void writeSeverities(DataOutputStream output, Map<String, Severity> severities) throws IOException {
+        output.writeInt(severities.size());
+        for (Map.Entry<String, Severity> entry : severities.entrySet()) {
+            writeString(output, entry.getKey());
+            writeSeverity(output, entry.getValue());
+        }
+    }
+
+    private Map<String, Severity> readSeverities(DataInputStream input) throws IOException {
+        int size = input.readInt();
+        Map<String, Severity> severities = new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            severities.put(readString(input), readSeverity(input));
+        }
+        return severities;
+    }
+
+    private void writeSeverity(DataOutputStream output, Severity severity) throws IOException {
+        output.writeByte(severity != null ? severity.ordinal() : -1);
+    }
+
+    private Severity readSeverity(DataInputStream input) throws IOException {
+        byte ordinal = input.readByte();
+        return ordinal >= 0 ? Severity.values()[ordinal] : null;
+    }
+
+    private void writeStrings(DataOutputStream output, Collection<String> values) throws IOException {
+        output.writeInt(values.size());
+        for (String value : values) {
+            writeString(output, value);
+        }
+    }
+
+    private Set<String> readStrings(DataInputStream input) throws IOException {
+        int size = input.readInt();
+        Set<String> values = new LinkedHashSet<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(input));
+        }
+        return values;
+    }
+
+    private void writeInteger(DataOutputStream output, Integer value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeInt(value);
+        }
+    }
+
+    private Integer readInteger(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readInt() : null;
+    }
+
+    /**
+     * Writes a nullable string, in contrast to
+     * {@link DataOutputStream#writeUTF(String)} the length is not limited.
+     */
+    private void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * Indicates that rules cannot be represented within the cache.
+     */
+    private static class NotCacheableException extends IOException {
+
+        private NotCacheableException(String message) {
+            super(message);
+        }
+    }
+}
@@ -15,6 +15,7 @@ import com.buschmais.jqassistant.core.rule.api.source.RuleSource;
 import org.snakeyaml.engine.v2.api.Load;
 import org.snakeyaml.engine.v2.api.LoadSettings;
 import org.snakeyaml.engine.v2.api.YamlUnicodeReader;
+import org.snakeyaml.engine.v2.exceptions.YamlEngineException;
 
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
@@ -25,6 +26,8 @@ import static java.util.Optional.ofNullable;
 public class YamlRuleParserPlugin extends AbstractRuleParserPlugin {
     private static JsonSchemaValidator validator;
 
+    private static final LoadSettings LOAD_SETTINGS = LoadSettings.builder().build();
+
     private static final String YAML_EXTENSION_LONG = ".yaml";
     private static final String YAML_EXTENSION_SHORT = ".yml";
 
@@ -52,8 +55,21 @@ public class YamlRuleParserPlugin extends AbstractRuleParserPlugin {
     protected void doParse(RuleSource ruleSource, RuleSetBuilder ruleSetBuilder) throws RuleException {
         RuleContext context = new RuleContext(ruleSource, ruleSetBuilder);
 
-        try {
-            ValidationResult validationResult = validator.validate(ruleSource);
+        // the source is read and parsed once, the loaded documents are validated and processed
+        List<Object> documents = new ArrayList<>();
+        try (InputStream inputStream = ruleSource.getInputStream();
+             Reader reader = new YamlUnicodeReader(inputStream)) {
+            Load load = new Load(LOAD_SETTINGS);
+            for (Object object : load.loadAllFromReader(reader)) {
+                documents.add(object);
+            }
+        } catch (IOException | YamlEngineException e) {
+            String message = format("Cannot read rules from '%s'.", ruleSource.getId());
+            throw new RuleException(message, e);
+        }
+
+        for (Object object : documents) {
+            ValidationResult validationResult = validator.validateDocument(object);
 
             boolean throwException = !validationResult.isSourceWasEmpty() &&
                                      validationResult.hasErrors();
@@ -62,29 +78,21 @@ public class YamlRuleParserPlugin extends AbstractRuleParserPlugin {
                 String message = errorMessageGenerator.generate(ruleSource, validationResult.getValidationMessages());
                 throw new RuleException(message);
             }
+        }
+
+        try {
+            for (Object object : documents) {
+                // if read document is empty, object might be null
+                if (null == object) {
+                    continue;
+                }
 
-            try (InputStream inputStream = ruleSource.getInputStream();
-                 Reader reader = new YamlUnicodeReader(inputStream)) {
-                LoadSettings settings = LoadSettings.builder().build();
-                Load load = new Load(settings);
-                Iterable<Object> objects = load.loadAllFromReader(reader);
-
-                for (Object object : objects) {
-                    // if read document is empty, object might be null
-                    if (null == object) {
-                        continue;
-                    }
-
-                    if (Map.class.isAssignableFrom(object.getClass())) {
-                        processDocument((Map<String, Object>) object, context);
-                    } else {
-                        throw new RuleException("Cannot process rules from '" + ruleSource.getId() + "'.");
-                    }
+                if (Map.class.isAssignableFrom(object.getClass())) {
+                    processDocument((Map<String, Object>) object, context);
+                } else {
+                    throw new RuleException("Cannot process rules from '" + ruleSource.getId() + "'.");
                 }
             }
-        } catch (IOException e) {
-            String message = format("Cannot read rules from '%s'.", ruleSource.getId());
-            throw new RuleException(message, e);
         } catch (ClassCastException e) {
             String message = format("Cannot process rules from '%s' because of an invalid YAML datastructure",
                                     ruleSource.getId());
@@ -1,10 +1,13 @@
 package com.buschmais.jqassistant.core.rule.api.filter;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
+import org.apache.commons.io.FilenameUtils;
 import org.junit.jupiter.api.Test;
 
+import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 
 class RuleFilterTest {
@@ -33,4 +36,27 @@ class RuleFilterTest {
 
         assertThat(result).containsExactly("foo");
     }
+
+    @Test
+    void compiledPatternMatchesLikeWildcardMatch() {
+        List<String> rules = asList("", "java:Throwable", "java:Type", "javaee:Entity", "java:", "a?b", "aXb", "test:Concept1", "test:Concept12");
+        List<String> patterns = asList("*", "java:*", "java*", "java:T*e", "*:*e*", "?", "a?b", "a\\?b", "test:Concept?", "test:Concept*2", "**", "*?", "");
+
+        for (String pattern : patterns) {
+            WildcardPattern wildcardPattern = ruleFilter.compile(pattern);
+            for (String rule : rules) {
+                assertThat(wildcardPattern.matches(rule)).as("'%s' matches '%s'", rule, pattern).isEqualTo(FilenameUtils.wildcardMatch(rule, pattern));
+            }
+        }
+    }
+
+    @Test
+    void compiledPatternIsCached() {
+        WildcardPattern wildcardPattern = ruleFilter.compile("java:*");
+
+        assertThat(ruleFilter.compile("java:*")).isSameAs(wildcardPattern);
+        assertThat(wildcardPattern.getPrefix()).isEqualTo("java:");
+        assertThat(wildcardPattern.hasWildcards()).isTrue();
+        assertThat(ruleFilter.compile("java:Type").hasWildcards()).isFalse();
+    }
 }
@@ -206,6 +206,31 @@ class AbstractRuleBucketTest {
         assertThat(bucket.match("concept*"), equalTo(asList(c1, c2, c3)));
     }
 
+    @Test
+    void matchUsesPrefixOfPattern() throws RuleException {
+        Concept a = mock(Concept.class);
+        Concept b = mock(Concept.class);
+        Concept c = mock(Concept.class);
+        Concept d = mock(Concept.class);
+
+        when(a.getId()).thenReturn("java:Throwable");
+        when(b.getId()).thenReturn("java:Type");
+        when(c.getId()).thenReturn("javaee:Entity");
+        when(d.getId()).thenReturn("junit:Test");
+
+        TestBucket bucket = new TestBucket();
+        bucket.add(a);
+        bucket.add(b);
+        bucket.add(c);
+        bucket.add(d);
+
+        assertThat(bucket.match("java:*"), equalTo(asList(a, b)));
+        assertThat(bucket.match("java*"), equalTo(asList(a, b, c)));
+        assertThat(bucket.match("java:T?pe"), equalTo(singletonList(b)));
+        assertThat(bucket.match("j*:T*"), equalTo(asList(a, b, d)));
+        assertThat(bucket.match("maven:*"), empty());
+    }
+
     // --- Helper Classes
     private static class TestBucket extends AbstractRuleBucket<Concept> {
 
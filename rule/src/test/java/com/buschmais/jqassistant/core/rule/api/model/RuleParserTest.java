@@ -1,16 +1,29 @@
 package com.buschmais.jqassistant.core.rule.api.model;
 
 import java.io.File;
+import java.util.List;
+
+import com.buschmais.jqassistant.core.rule.api.reader.RuleParserPlugin;
 
 import com.buschmais.jqassistant.core.rule.api.reader.RuleConfiguration;
 import com.buschmais.jqassistant.core.rule.api.source.FileRuleSource;
+import com.buschmais.jqassistant.core.rule.api.source.RuleSource;
 import com.buschmais.jqassistant.core.rule.impl.reader.RuleParser;
+import com.buschmais.jqassistant.core.rule.impl.reader.RuleSetCache;
+import com.buschmais.jqassistant.core.rule.impl.reader.XmlRuleParserPlugin;
+
+import org.apache.commons.io.FileUtils;
 
 import org.junit.jupiter.api.Test;
 
 import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 class RuleParserTest {
 
@@ -36,4 +49,88 @@ class RuleParserTest {
         assertThat(group.getConstraints().size(), equalTo(1));
         assertThat(group.getConstraints(), hasKey("example:ConstructorOfDateMustNotBeUsed"));
     }
+
+    @Test
+    void parseConcurrently() throws Exception {
+        File rulesDirectory = new File(RuleParserTest.class.getResource("/").getPath());
+        List<RuleSource> sources = asList(new FileRuleSource(rulesDirectory, "junit-without-assert.adoc"),
+                new FileRuleSource(rulesDirectory, "test-concepts.xml"), new FileRuleSource(rulesDirectory, "parameters.xml"),
+                new FileRuleSource(rulesDirectory, "severity.adoc"));
+        List<RuleParserPlugin> ruleParserPlugins = RuleSetTestHelper.getDefaultRuleParserPlugins(RuleConfiguration.DEFAULT);
+
+        RuleSet sequentialRuleSet = new RuleParser(ruleParserPlugins).parse(sources);
+        RuleSet concurrentRuleSet = new RuleParser(ruleParserPlugins, null, 4).parse(sources);
+
+        assertThat(concurrentRuleSet.getConceptBucket().getIds(), equalTo(sequentialRuleSet.getConceptBucket().getIds()));
+        assertThat(concurrentRuleSet.getConstraintBucket().getIds(), equalTo(sequentialRuleSet.getConstraintBucket().getIds()));
+        assertThat(concurrentRuleSet.getGroupsBucket().getIds(), equalTo(sequentialRuleSet.getGroupsBucket().getIds()));
+    }
+
+    @Test
+    void parseConcurrentlyReportsDuplicateRule() throws Exception {
+        File rulesDirectory = new File(RuleParserTest.class.getResource("/").getPath());
+        List<RuleSource> sources = asList(new FileRuleSource(rulesDirectory, "parameters.xml"), new FileRuleSource(rulesDirectory, "parameters.adoc"));
+        List<RuleParserPlugin> ruleParserPlugins = RuleSetTestHelper.getDefaultRuleParserPlugins(RuleConfiguration.DEFAULT);
+
+        RuleException sequentialException = assertThrows(RuleException.class, () -> new RuleParser(ruleParserPlugins).parse(sources));
+        RuleException concurrentException = assertThrows(RuleException.class, () -> new RuleParser(ruleParserPlugins, null, 2).parse(sources));
+
+        assertThat(concurrentException.getMessage(), equalTo(sequentialException.getMessage()));
+    }
+
+    @Test
+    void cachedRuleSet() throws Exception {
+        File rulesDirectory = new File(RuleParserTest.class.getResource("/").getPath());
+        File cacheDirectory = new File("target/rule-cache");
+        FileUtils.deleteDirectory(cacheDirectory);
+        List<RuleSource> sources = asList(new FileRuleSource(rulesDirectory, "parameters.xml"), new FileRuleSource(rulesDirectory, "report.xml"),
+                new FileRuleSource(rulesDirectory, "resultVerification.xml"), new FileRuleSource(rulesDirectory, "test-concepts.xml"));
+        RuleSet parsedRuleSet = new RuleParser(RuleSetTestHelper.getDefaultRuleParserPlugins(RuleConfiguration.DEFAULT),
+                new RuleSetCache(cacheDirectory, RuleConfiguration.DEFAULT)).parse(sources);
+        XmlRuleParserPlugin xmlRuleParserPlugin = spy(new XmlRuleParserPlugin());
+        xmlRuleParserPlugin.initialize();
+        xmlRuleParserPlugin.configure(RuleConfiguration.DEFAULT);
+
+        RuleSet cachedRuleSet = new RuleParser(asList(xmlRuleParserPlugin), new RuleSetCache(cacheDirectory, RuleConfiguration.DEFAULT)).parse(sources);
+
+        verify(xmlRuleParserPlugin, never()).parse(any(RuleSource.class), any(RuleSetBuilder.class));
+        assertThat(cachedRuleSet.getConceptBucket().getIds(), equalTo(parsedRuleSet.getConceptBucket().getIds()));
+        assertThat(cachedRuleSet.getConstraintBucket().getIds(), equalTo(parsedRuleSet.getConstraintBucket().getIds()));
+        assertThat(cachedRuleSet.getGroupsBucket().getIds(), equalTo(parsedRuleSet.getGroupsBucket().getIds()));
+        for (Concept parsed : parsedRuleSet.getConceptBucket().getAll()) {
+            Concept cached = cachedRuleSet.getConceptBucket().getById(parsed.getId());
+            verifyExecutableRule(cached, parsed);
+            assertThat(cached.getProvidesConcepts(), equalTo(parsed.getProvidesConcepts()));
+        }
+        for (Constraint parsed : parsedRuleSet.getConstraintBucket().getAll()) {
+            verifyExecutableRule(cachedRuleSet.getConstraintBucket().getById(parsed.getId()), parsed);
+        }
+        for (Group parsed : parsedRuleSet.getGroupsBucket().getAll()) {
+            Group cached = cachedRuleSet.getGroupsBucket().getById(parsed.getId());
+            assertThat(cached.getSeverity(), equalTo(parsed.getSeverity()));
+            assertThat(cached.getConcepts(), equalTo(parsed.getConcepts()));
+            assertThat(cached.getConstraints(), equalTo(parsed.getConstraints()));
+            assertThat(cached.getGroups(), equalTo(parsed.getGroups()));
+        }
+    }
+
+    private void verifyExecutableRule(AbstractExecutableRule cached, AbstractExecutableRule parsed) {
+        assertThat(cached.getSource(), equalTo(parsed.getSource()));
+        assertThat(cached.getDescription(), equalTo(parsed.getDescription()));
+        assertThat(cached.getSeverity(), equalTo(parsed.getSeverity()));
+        assertThat(cached.getExecutable().getClass(), equalTo(parsed.getExecutable().getClass()));
+        assertThat(cached.getExecutable().getLanguage(), equalTo(parsed.getExecutable().getLanguage()));
+        assertThat(cached.getExecutable().getSource(), equalTo(parsed.getExecutable().getSource()));
+        assertThat(cached.getRequiresConcepts(), equalTo(parsed.getRequiresConcepts()));
+        assertThat(cached.getParameters().keySet(), equalTo(parsed.getParameters().keySet()));
+        for (Parameter parameter : parsed.getParameters().values()) {
+            RuleSetTestHelper.verifyParameter(cached.getParameters(), parameter.getName(), parameter.getType(), parameter.getDefaultValue());
+        }
+        assertThat(String.valueOf(cached.getVerification()), equalTo(String.valueOf(parsed.getVerification())));
+        Report cachedReport = cached.getReport();
+        Report parsedReport = parsed.getReport();
+        assertThat(cachedReport.getSelectedTypes(), equalTo(parsedReport.getSelectedTypes()));
+        assertThat(cachedReport.getPrimaryColumn(), equalTo(parsedReport.getPrimaryColumn()));
+        assertThat(cachedReport.getProperties(), equalTo(parsedReport.getProperties()));
+    }
 }
@@ -5,6 +5,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import com.buschmais.jqassistant.core.rule.api.executor.ConcurrentRuleVisitor;
 import com.buschmais.jqassistant.core.rule.api.executor.RuleSetExecutor;
 import com.buschmais.jqassistant.core.rule.api.executor.RuleSetExecutorConfiguration;
 import com.buschmais.jqassistant.core.rule.api.executor.RuleVisitor;
@@ -19,6 +20,9 @@ import org.mockito.verification.VerificationMode;
 
 import static com.buschmais.jqassistant.core.rule.api.model.Severity.CRITICAL;
 import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +31,9 @@ class RuleSetExecutorTest {
     @Mock
     private RuleVisitor visitor;
 
+    @Mock
+    private ConcurrentRuleVisitor<String> concurrentVisitor;
+
     private RuleSetExecutorConfiguration configuration;
 
     private RuleSetExecutor ruleExecutor;
@@ -244,4 +251,55 @@ class RuleSetExecutorTest {
         inOrder.verify(visitor).visitConcept(providingConcept, CRITICAL);
         inOrder.verify(visitor).visitConcept(baseConcept, CRITICAL);
     }
+
+    @Test
+    void concurrentConstraints() throws RuleException {
+        configuration.setParallelism(2);
+        RuleSetExecutor concurrentRuleExecutor = new RuleSetExecutor(concurrentVisitor, configuration);
+        doAnswer(invocation -> ((Constraint) invocation.getArgument(0)).getId()).when(concurrentVisitor).executeConstraint(any(Constraint.class),
+                any());
+        Concept concept1 = Concept.builder().id("concept:1").build();
+        Constraint constraint1 = Constraint.builder().id("constraint:1").build();
+        Constraint constraint2 = Constraint.builder().id("constraint:2").build();
+        Concept concept2 = Concept.builder().id("concept:2").build();
+        Constraint constraint3 = Constraint.builder().id("constraint:3").build();
+        Group group = Group.builder().id("group").concept("concept:1", null).constraint("constraint:1", null).constraint("constraint:2", null).build();
+        RuleSet ruleSet = RuleSetBuilder.newInstance().addConcept(concept1).addConcept(concept2).addConstraint(constraint1).addConstraint(constraint2)
+                .addConstraint(constraint3).addGroup(group).getRuleSet();
+        RuleSelection ruleSelection = RuleSelection.builder().groupId("group").conceptId("concept:2").constraintId("constraint:3").build();
+
+        concurrentRuleExecutor.execute(ruleSet, ruleSelection);
+
+        InOrder inOrder = inOrder(concurrentVisitor);
+        inOrder.verify(concurrentVisitor).visitConcept(concept2, null);
+        inOrder.verify(concurrentVisitor).beforeGroup(group, null);
+        inOrder.verify(concurrentVisitor).visitConcept(concept1, null);
+        inOrder.verify(concurrentVisitor).reportConstraint(constraint1, null, "constraint:1");
+        inOrder.verify(concurrentVisitor).reportConstraint(constraint2, null, "constraint:2");
+        inOrder.verify(concurrentVisitor).afterGroup(group);
+        inOrder.verify(concurrentVisitor).reportConstraint(constraint3, null, "constraint:3");
+        inOrder.verify(concurrentVisitor).afterRules();
+        verify(concurrentVisitor, never()).visitConstraint(any(Constraint.class), any());
+    }
+
+    @Test
+    void discardPendingConstraintsIfReportingFails() throws RuleException {
+        configuration.setParallelism(2);
+        RuleSetExecutor concurrentRuleExecutor = new RuleSetExecutor(concurrentVisitor, configuration);
+        doAnswer(invocation -> ((Constraint) invocation.getArgument(0)).getId()).when(concurrentVisitor).executeConstraint(any(Constraint.class),
+                any());
+        Constraint constraint1 = Constraint.builder().id("constraint:1").build();
+        Constraint constraint2 = Constraint.builder().id("constraint:2").build();
+        doThrow(new RuleException("Cannot report")).when(concurrentVisitor).reportConstraint(constraint1, null, "constraint:1");
+        RuleSet ruleSet = RuleSetBuilder.newInstance().addConstraint(constraint1).addConstraint(constraint2).getRuleSet();
+        RuleSelection ruleSelection = RuleSelection.builder().constraintId("constraint:1").constraintId("constraint:2").build();
+
+        RuleException ruleException = assertThrows(RuleException.class, () -> concurrentRuleExecutor.execute(ruleSet, ruleSelection));
+
+        assertThat(ruleException.getMessage()).isEqualTo("Cannot report");
+
+        verify(concurrentVisitor, never()).reportConstraint(eq(constraint2), any(), any());
+        verify(concurrentVisitor).discardConstraint(constraint2, "constraint:2");
+        verify(concurrentVisitor, never()).discardConstraint(eq(constraint1), any());
+    }
 }
@@ -0,0 +1,104 @@
+package com.buschmais.jqassistant.core.rule.impl.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsciidocRuleExtractorTest {
+
+    private final AsciidocRuleExtractor ruleExtractor = new AsciidocRuleExtractor();
+
+    @Test
+    void sourceListings() {
+        String document = String.join("\n", //
+                "= Rules", //
+                "", //
+                "[[test:Concept]]", //
+                ".Test Concept", //
+                "[source,cypher,role=concept,requiresConcepts=\"test:A,test:B(optional)\",reportProperties=\"key1=value1;key2=value2\"]", //
+                "----", //
+                "", //
+                "MATCH (n:Node)-->(m)   ", //
+                "WHERE n.value < 5", //
+                "RETURN n", //
+                "", //
+                "----", //
+                "", //
+                ".Test Constraint", //
+                "[source.constraint#test:Constraint,javascript]", //
+                "----", //
+                "var result = null;", //
+                "----");
+
+        Optional<AsciidocRuleExtractor.Result> result = ruleExtractor.extract(document);
+
+        assertThat(result).isPresent();
+        AsciidocRuleExtractor.RuleBlock concept = result.get().getConcepts().get("test:Concept");
+        assertThat(concept.getRole()).isEqualTo("concept");
+        assertThat(concept.getStyle()).isEqualTo("source");
+        assertThat(concept.getTitle()).isEqualTo("Test Concept");
+        assertThat(concept.getContent()).isEqualTo("MATCH (n:Node)-->(m)\nWHERE n.value < 5\nRETURN n");
+        Map<String, Object> attributes = concept.getAttributes();
+        assertThat(attributes.get("language")).isEqualTo("cypher");
+        assertThat(attributes.get("requiresConcepts")).isEqualTo("test:A,test:B(optional)");
+        assertThat(attributes.get("reportProperties")).isEqualTo("key1=value1;key2=value2");
+        AsciidocRuleExtractor.RuleBlock constraint = result.get().getConstraints().get("test:Constraint");
+        assertThat(constraint.getTitle()).isEqualTo("Test Constraint");
+        assertThat(constraint.getAttributes().get("language")).isEqualTo("javascript");
+        assertThat(constraint.getContent()).isEqualTo("var result = null;");
+    }
+
+    @Test
+    void groups() throws IOException {
+        Optional<AsciidocRuleExtractor.Result> result = ruleExtractor.extract(read("/group.adoc"));
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getConcepts()).containsOnlyKeys("test:Concept", "test:CriticalConcept");
+        assertThat(result.get().getConstraints()).containsOnlyKeys("test:Constraint", "test:CriticalConstraint");
+        assertThat(result.get().getGroups()).containsOnlyKeys("test:Default", "test:Group");
+        AsciidocRuleExtractor.RuleBlock group = result.get().getGroups().get("test:Default");
+        assertThat(group.getTitle()).isEqualTo("Default Rules");
+        assertThat(group.getAttributes().get("includesConcepts")).isEqualTo("test:Concept,test:CriticalConcept(CRITICAL)");
+    }
+
+    @Test
+    void listingsWithoutRolesAreSkipped() {
+        String document = String.join("\n", //
+                "[source,java]", //
+                "----", //
+                "[[test:NoRule]]", //
+                "[source,cypher,role=concept]", //
+                "----");
+
+        Optional<AsciidocRuleExtractor.Result> result = ruleExtractor.extract(document);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getConcepts()).isEmpty();
+    }
+
+    @Test
+    void nativeBlocksRequireAsciidoctor() throws IOException {
+        assertThat(ruleExtractor.extract(read("/executables.adoc"))).isEmpty();
+        assertThat(ruleExtractor.extract(read("/document-as-group.adoc"))).isEmpty();
+    }
+
+    @Test
+    void substitutionsRequireAsciidoctor() {
+        assertThat(ruleExtractor.extract("[[test:Concept]]\n[source,cypher,role=concept,severity={severity}]\n----\nMATCH (n) RETURN n\n----")).isEmpty();
+        assertThat(ruleExtractor.extract("[[test:Concept]]\n[source,cypher,role=concept]\n----\nMATCH (n) RETURN n <1>\n----")).isEmpty();
+        assertThat(ruleExtractor.extract("ifdef::backend-html5[]\n[[test:Concept]]\n[source,cypher,role=concept]\n----\nMATCH (n) RETURN n\n----\nendif::[]"))
+                .isEmpty();
+    }
+
+    private String read(String resource) throws IOException {
+        try (InputStream stream = AsciidocRuleExtractorTest.class.getResourceAsStream(resource)) {
+            return IOUtils.toString(stream, "UTF-8");
+        }
+    }
+}
@@ -11,6 +11,7 @@ import com.buschmais.jqassistant.core.rule.api.reader.AggregationVerification;
 import com.buschmais.jqassistant.core.rule.api.reader.RowCountVerification;
 import com.buschmais.jqassistant.core.rule.api.reader.RuleConfiguration;
 import com.buschmais.jqassistant.core.rule.api.source.RuleSource;
+import com.buschmais.jqassistant.core.rule.api.source.UrlRuleSource;
 
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Nested;
@@ -22,6 +23,9 @@ import org.mockito.Mockito;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static java.util.Collections.singletonList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class YamlRuleParserPluginTest {
@@ -368,6 +372,27 @@ class YamlRuleParserPluginTest {
                 .isExactlyInstanceOf(RuleException.class)
                 .hasMessageMatching(regex);
         }
+
+        @Test
+        void documentMultipleSecondInvalid() throws Exception {
+            String regex = "Rule source '[^']+' contains the unknown " +
+                           "keyword 'foobar' at '\\$.concepts\\[0]'";
+
+            assertThatThrownBy(() -> readRuleSet("/yaml/document-multiple-second-invalid.yaml"))
+                .isExactlyInstanceOf(RuleException.class)
+                .hasMessageMatching(regex);
+        }
+
+        @Test
+        void documentIsReadOnce() throws Exception {
+            RuleSource ruleSource = Mockito.spy(new UrlRuleSource(YamlRuleParserPluginTest.class.getResource("/yaml/concept-single-simple.yaml")));
+            RuleParser ruleParser = new RuleParser(RuleSetTestHelper.getDefaultRuleParserPlugins(RuleConfiguration.DEFAULT));
+
+            RuleSet ruleSet = ruleParser.parse(singletonList(ruleSource));
+
+            assertThat(ruleSet.getConceptBucket().getIds()).containsExactly("java:Throwable");
+            verify(ruleSource, times(1)).getInputStream();
+        }
     }
 
     @Nested
@@ -0,0 +1,24 @@
+package com.buschmais.jqassistant.core.scanner.api;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Represents an independent top-level item to be scanned, e.g. a file or URL
+ * resolved from a {@link ScopeHelper.ScopedResource}.
+ *
+ * @param <I>
+ *            The item type.
+ */
+@Builder
+@Getter
+@ToString
+public class ScanItem<I> {
+
+    private I item;
+
+    private String path;
+
+    private Scope scope;
+}
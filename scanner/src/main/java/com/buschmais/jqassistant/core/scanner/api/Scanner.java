@@ -1,6 +1,7 @@
 package com.buschmais.jqassistant.core.scanner.api;
 
 import java.io.IOException;
+import java.util.Collection;
 
 import com.buschmais.jqassistant.core.store.api.model.Descriptor;
 
@@ -30,6 +31,21 @@ public interface Scanner {
 
     <I, D extends Descriptor> D scan(I item, D descriptor, String path, Scope scope);
 
+    /**
+     * Scan the given independent top-level items.
+     *
+     * Depending on the configuration an implementation may scan the items
+     * concurrently, therefore no descriptors are returned.
+     *
+     * @param items
+     *            The items.
+     */
+    default void scan(Collection<ScanItem<?>> items) {
+        for (ScanItem<?> item : items) {
+            scan(item.getItem(), item.getPath(), item.getScope());
+        }
+    }
+
     /**
      * Return an instance of the scanner context.
      * 
@@ -1,5 +1,7 @@
 package com.buschmais.jqassistant.core.scanner.api;
 
+import com.buschmais.jqassistant.core.shared.metrics.MetricsRegistry;
+
 /**
  * Represents the configuration of the scanner.
  */
@@ -7,6 +9,14 @@ public class ScannerConfiguration {
 
     private boolean continueOnError = false;
 
+    private int parallelism = 1;
+
+    private boolean incremental = false;
+
+    private boolean hashContent = false;
+
+    private MetricsRegistry metricsRegistry = MetricsRegistry.NOOP;
+
     public boolean isContinueOnError() {
         return continueOnError;
     }
@@ -14,4 +24,63 @@ public class ScannerConfiguration {
     public void setContinueOnError(boolean continueOnError) {
         this.continueOnError = continueOnError;
     }
+
+    /**
+     * Return the number of threads used for scanning independent items.
+     *
+     * @return The degree of parallelism, `1` disables parallel scanning.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Determine if files which have not been changed since they have been scanned
+     * before shall be skipped.
+     *
+     * The scanner records a fingerprint for each scanned file, the nodes created
+     * for a changed file (i.e. its descriptor and all nodes it contains) are
+     * deleted before it is scanned again.
+     *
+     * @return `true` if incremental scanning is enabled.
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * Determine if the fingerprints of incremental scans shall include a hash of
+     * the file content, otherwise size and last modification time are used.
+     *
+     * @return `true` if the content shall be hashed.
+     */
+    public boolean isHashContent() {
+        return hashContent;
+    }
+
+    public void setHashContent(boolean hashContent) {
+        this.hashContent = hashContent;
+    }
+
+    /**
+     * Return the {@link MetricsRegistry} for recording the number of scanned items
+     * and the durations of accepts() and scan() per scanner plugin.
+     *
+     * @return The {@link MetricsRegistry}.
+     */
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
 }
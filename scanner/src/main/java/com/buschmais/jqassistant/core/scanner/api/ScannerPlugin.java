@@ -2,6 +2,8 @@ package com.buschmais.jqassistant.core.scanner.api;
 
 import java.io.IOException;
 import java.lang.annotation.*;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 
 import com.buschmais.jqassistant.core.shared.lifecycle.ContextualConfigurableLifecycleAware;
@@ -101,6 +103,19 @@ public interface ScannerPlugin<I, D extends Descriptor> extends ContextualConfig
      */
     D scan(I item, String path, Scope scope, Scanner scanner) throws IOException;
 
+    /**
+     * Return the types of relations from descriptors created by the plugin to
+     * descriptors they own, e.g. `DECLARES` from a type to its members.
+     *
+     * The owned descriptors of a changed file are deleted together with it by
+     * an incremental scan, `CONTAINS` relations are always followed.
+     *
+     * @return The relation types.
+     */
+    default Collection<String> getOwnedRelationTypes() {
+        return Collections.emptySet();
+    }
+
     /**
      * Returns a unique name for the plugin required to identifiy the plugin by its
      * name and to assign configuration settings to it.
@@ -0,0 +1,45 @@
+package com.buschmais.jqassistant.core.scanner.api.model;
+
+import com.buschmais.jqassistant.core.store.api.model.Descriptor;
+import com.buschmais.xo.neo4j.api.annotation.Indexed;
+import com.buschmais.xo.neo4j.api.annotation.Label;
+import com.buschmais.xo.neo4j.api.annotation.Relation;
+
+/**
+ * Describes the state of a file at the time it has been scanned, used for
+ * incremental scans.
+ */
+@Label("ScanFingerprint")
+public interface ScanFingerprintDescriptor extends Descriptor {
+
+    @Indexed
+    String getPath();
+
+    void setPath(String path);
+
+    String getScope();
+
+    void setScope(String scope);
+
+    long getSize();
+
+    void setSize(long size);
+
+    long getLastModified();
+
+    void setLastModified(long lastModified);
+
+    String getContentHash();
+
+    void setContentHash(String contentHash);
+
+    /**
+     * Return the descriptor which has been created by scanning the file.
+     *
+     * @return The descriptor.
+     */
+    @Relation("FINGERPRINT_OF")
+    Descriptor getDescriptor();
+
+    void setDescriptor(Descriptor descriptor);
+}
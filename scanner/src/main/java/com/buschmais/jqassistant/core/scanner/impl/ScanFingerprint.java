@@ -0,0 +1,85 @@
+package com.buschmais.jqassistant.core.scanner.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.Objects;
+
+import com.buschmais.jqassistant.core.scanner.api.model.ScanFingerprintDescriptor;
+import com.buschmais.jqassistant.core.shared.hash.HashHelper;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The fingerprint of a file, i.e. its path, size, last modification time and
+ * optionally the hash of its content.
+ */
+@Getter
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+final class ScanFingerprint {
+
+    private final String path;
+
+    private final long size;
+
+    private final long lastModified;
+
+    private final String contentHash;
+
+    /**
+     * Create the fingerprint of a file.
+     *
+     * @param file
+     *            The file.
+     * @param hashContent
+     *            If `true` the hash of the content is calculated.
+     * @return The fingerprint.
+     * @throws IOException
+     *             If the content cannot be read.
+     */
+    static ScanFingerprint of(File file, boolean hashContent) throws IOException {
+        return new ScanFingerprint(file.getAbsolutePath(), file.length(), file.lastModified(), hashContent ? hash(file) : null);
+    }
+
+    /**
+     * Determine if this fingerprint matches a recorded fingerprint.
+     *
+     * @param descriptor
+     *            The recorded fingerprint.
+     * @return `true` if the file has not been changed.
+     */
+    boolean matches(ScanFingerprintDescriptor descriptor) {
+        return size == descriptor.getSize() && lastModified == descriptor.getLastModified() && Objects.equals(contentHash, descriptor.getContentHash());
+    }
+
+    /**
+     * Record this fingerprint.
+     *
+     * @param descriptor
+     *            The descriptor.
+     */
+    void applyTo(ScanFingerprintDescriptor descriptor) {
+        descriptor.setPath(path);
+        descriptor.setSize(size);
+        descriptor.setLastModified(lastModified);
+        descriptor.setContentHash(contentHash);
+    }
+
+    private static String hash(File file) throws IOException {
+        MessageDigest digest = HashHelper.createDigest();
+        byte[] buffer = new byte[8192];
+        try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HashHelper.toHex(digest);
+    }
+}
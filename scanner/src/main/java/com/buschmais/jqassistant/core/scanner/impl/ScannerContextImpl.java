@@ -1,10 +1,9 @@
 package com.buschmais.jqassistant.core.scanner.impl;
 
 import java.io.File;
-import java.util.Deque;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.buschmais.jqassistant.core.scanner.api.ScannerContext;
 import com.buschmais.jqassistant.core.store.api.Store;
@@ -14,17 +13,35 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * Implementation of the scanner context.
+ *
+ * The values are kept in array-backed stacks. Each key class is assigned a
+ * slot index once, so pushing, peeking and popping values does not allocate
+ * anything after a stack has reached its maximum depth.
  */
 @Slf4j
 public class ScannerContextImpl implements ScannerContext {
 
+    private static final int INITIAL_STACK_CAPACITY = 8;
+
+    private static final AtomicInteger SLOT_COUNTER = new AtomicInteger();
+
+    /**
+     * The slot index assigned to each key class.
+     */
+    private static final ClassValue<Integer> SLOTS = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            return SLOT_COUNTER.getAndIncrement();
+        }
+    };
+
     private final Store store;
 
     private final File dataDirectory;
 
     private Descriptor current;
 
-    private final Map<Class<?>, Deque<?>> contextValuesPerKey = new HashMap<>();
+    private ValueStack[] stacks = new ValueStack[0];
 
     /**
      * Constructor.
@@ -46,7 +63,7 @@ public class ScannerContextImpl implements ScannerContext {
 
     @Override
     public <T> T peek(Class<T> key) {
-        T value = getValues(key).peek();
+        T value = (T) getValues(key).peek();
         if (value == null) {
             throw new IllegalStateException("Cannot find a value for '" + key.getName() + "' in the context");
         }
@@ -55,13 +72,13 @@ public class ScannerContextImpl implements ScannerContext {
 
     @Override
     public <T> T peekOrDefault(Class<T> key, T defaultValue) {
-        T value = getValues(key).peek();
+        T value = (T) getValues(key).peek();
         return value != null ? value : defaultValue;
     }
 
     @Override
     public <T> T pop(Class<T> key) {
-        return getValues(key).pop();
+        return (T) getValues(key).pop();
     }
 
     @Override
@@ -79,19 +96,33 @@ public class ScannerContextImpl implements ScannerContext {
      *
      * @param key
      *            The key.
-     * @param <T>
-     *            The key key.
      * @return The stack.
      */
-    private <T> Deque<T> getValues(Class<T> key) {
-        Deque<T> values = (Deque<T>) contextValuesPerKey.get(key);
+    private ValueStack getValues(Class<?> key) {
+        int slot = SLOTS.get(key);
+        if (slot >= stacks.length) {
+            stacks = Arrays.copyOf(stacks, Math.max(slot + 1, stacks.length * 2));
+        }
+        ValueStack values = stacks[slot];
         if (values == null) {
-            values = new LinkedList<>();
-            contextValuesPerKey.put(key, values);
+            values = new ValueStack();
+            stacks[slot] = values;
         }
         return values;
     }
 
+    /**
+     * Create a new context for a worker of a parallel scan using the given store
+     * session and the data directory of this context.
+     *
+     * @param store
+     *            The store session of the worker.
+     * @return The worker context.
+     */
+    ScannerContextImpl createWorkerContext(Store store) {
+        return new ScannerContextImpl(store, dataDirectory.getParentFile());
+    }
+
     @Override
     public Store getStore() {
         return store;
@@ -105,4 +136,34 @@ public class ScannerContextImpl implements ScannerContext {
         }
         return directory;
     }
+
+    /**
+     * An array-backed stack of context values, `null` values are permitted.
+     */
+    private static final class ValueStack {
+
+        private Object[] values = new Object[INITIAL_STACK_CAPACITY];
+
+        private int size = 0;
+
+        private void push(Object value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private Object peek() {
+            return size > 0 ? values[size - 1] : null;
+        }
+
+        private Object pop() {
+            if (size == 0) {
+                throw new NoSuchElementException();
+            }
+            Object value = values[--size];
+            values[size] = null;
+            return value;
+        }
+    }
 }
@@ -1,13 +1,21 @@
 package com.buschmais.jqassistant.core.scanner.impl;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.*;
 
 import com.buschmais.jqassistant.core.scanner.api.*;
 import com.buschmais.jqassistant.core.scanner.api.Scanner;
+import com.buschmais.jqassistant.core.scanner.api.model.ScanFingerprintDescriptor;
 import com.buschmais.jqassistant.core.scanner.spi.ScannerPluginRepository;
+import com.buschmais.jqassistant.core.shared.metrics.Counter;
+import com.buschmais.jqassistant.core.shared.metrics.Histogram;
+import com.buschmais.jqassistant.core.shared.metrics.MetricsRegistry;
 import com.buschmais.jqassistant.core.store.api.Store;
 import com.buschmais.jqassistant.core.store.api.model.Descriptor;
+import com.buschmais.xo.api.Query.Result;
+import com.buschmais.xo.api.Query.Result.CompositeRowObject;
 import com.buschmais.xo.spi.reflection.DependencyResolver;
 
 import org.slf4j.Logger;
@@ -15,6 +23,7 @@ import org.slf4j.LoggerFactory;
 
 import static com.buschmais.jqassistant.core.scanner.api.ScannerPlugin.Requires;
 import static com.buschmais.xo.spi.reflection.DependencyResolver.DependencyProvider;
+import static java.util.Arrays.asList;
 
 /**
  * Implementation of the {@link Scanner}.
@@ -23,17 +32,77 @@ public class ScannerImpl implements Scanner {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ScannerImpl.class);
 
+    /**
+     * The relation types which are always followed from the fingerprint for
+     * deleting the nodes of a changed file on an incremental scan.
+     */
+    private static final List<String> FINGERPRINT_SUBGRAPH_RELATION_TYPES = asList("FINGERPRINT_OF", "CONTAINS");
+
+    private static final String FINGERPRINTS_QUERY = "MATCH (f:ScanFingerprint) RETURN f";
+
     private final ScannerConfiguration configuration;
 
+    private final Map<String, Object> pluginProperties;
+
     private final ScannerContext scannerContext;
 
     private final ScannerPluginRepository scannerPluginRepository;
 
     private final Map<String, ScannerPlugin<?, ?>> scannerPlugins;
 
-    private final Map<Class<?>, List<ScannerPlugin<?, ?>>> scannerPluginsPerType = new HashMap<>();
+    /**
+     * The scanner plugins indexed by their position within pipelines.
+     */
+    private final ScannerPlugin<?, ?>[] pluginsByIndex;
+
+    /**
+     * The metrics per scanner plugin, indexed like {@link #pluginsByIndex}.
+     */
+    private final Counter[] scannedItems;
+
+    private final Histogram[] acceptsTimes;
+
+    private final Histogram[] scanTimes;
+
+    /**
+     * Indicates if plugin metrics are recorded, otherwise measuring is skipped.
+     */
+    private final boolean metricsEnabled;
+
+    /**
+     * The relation types followed for deleting the nodes of a changed file,
+     * including the owned relation types contributed by the scanner plugins.
+     */
+    private final String[] fingerprintSubgraphRelationTypes;
+
+    /**
+     * Indicates if the fingerprints of previous scans have been checked for
+     * removed and changed files, see {@link #prepareIncrementalScan(Store)}.
+     */
+    private boolean incrementalScanPrepared = false;
+
+    /**
+     * The fingerprints of files determined while preparing the incremental scan,
+     * shared with the workers of a parallel scan to avoid hashing files twice.
+     */
+    private Map<String, ScanFingerprint> fingerprints = new ConcurrentHashMap<>();
+
+    /**
+     * The dispatch table containing the ordered plugin chain per item type.
+     */
+    private final Map<Class<?>, PluginChain> pluginChains = new HashMap<>();
+
+    /**
+     * The pipelines of the items currently being scanned, i.e. the flags
+     * (indexed like {@link #pluginsByIndex}) of plugins which already processed
+     * an item.
+     */
+    private final Map<Object, boolean[]> pipelines = new IdentityHashMap<>();
 
-    private final Map<Object, Set<ScannerPlugin<?, ?>>> pipelines = new IdentityHashMap<>();
+    /**
+     * Pipelines which can be re-used.
+     */
+    private final Deque<boolean[]> pipelinePool = new ArrayDeque<>();
 
     /**
      * Constructor.
@@ -47,11 +116,43 @@ public class ScannerImpl implements Scanner {
      */
     public ScannerImpl(ScannerConfiguration configuration, Map<String, Object> pluginProperties, ScannerContext scannerContext,
             ScannerPluginRepository scannerPluginRepository) {
+        this(configuration, pluginProperties, scannerContext, scannerPluginRepository,
+                scannerPluginRepository.getScannerPlugins(scannerContext, pluginProperties));
+    }
+
+    private ScannerImpl(ScannerConfiguration configuration, Map<String, Object> pluginProperties, ScannerContext scannerContext,
+            ScannerPluginRepository scannerPluginRepository, Map<String, ScannerPlugin<?, ?>> scannerPlugins) {
         this.configuration = configuration;
+        this.pluginProperties = pluginProperties;
         this.scannerContext = scannerContext;
         this.scannerPluginRepository = scannerPluginRepository;
-        this.scannerPlugins = scannerPluginRepository.getScannerPlugins(scannerContext, pluginProperties);
+        this.scannerPlugins = scannerPlugins;
+        this.pluginsByIndex = new ScannerPlugin<?, ?>[scannerPlugins.size()];
+        this.scannedItems = new Counter[pluginsByIndex.length];
+        this.acceptsTimes = new Histogram[pluginsByIndex.length];
+        this.scanTimes = new Histogram[pluginsByIndex.length];
+        MetricsRegistry metricsRegistry = configuration.getMetricsRegistry();
+        this.metricsEnabled = metricsRegistry.isEnabled();
+        Set<String> relationTypes = new LinkedHashSet<>(FINGERPRINT_SUBGRAPH_RELATION_TYPES);
+        int pluginIndex = 0;
+        for (Map.Entry<String, ScannerPlugin<?, ?>> entry : scannerPlugins.entrySet()) {
+            relationTypes.addAll(entry.getValue().getOwnedRelationTypes());
+            String prefix = "scanner.plugin." + entry.getKey();
+            pluginsByIndex[pluginIndex] = entry.getValue();
+            scannedItems[pluginIndex] = metricsRegistry.counter(prefix + ".items");
+            acceptsTimes[pluginIndex] = metricsRegistry.histogram(prefix + ".accepts");
+            scanTimes[pluginIndex] = metricsRegistry.histogram(prefix + ".scan");
+            pluginIndex++;
+        }
+        this.fingerprintSubgraphRelationTypes = relationTypes.toArray(new String[0]);
         this.scannerContext.push(Scope.class, null);
+        // Compile the plugin chains for the declared plugin types, chains for other item types are compiled on first use
+        for (ScannerPlugin<?, ?> scannerPlugin : pluginsByIndex) {
+            Class<?> type = scannerPlugin.getType();
+            if (type != null) {
+                getPluginChain(type);
+            }
+        }
     }
 
     @Override
@@ -64,9 +165,9 @@ public class ScannerImpl implements Scanner {
         // Each item may be scanned by multiple plugins, therefore track all plugins
         // that already processed that item in a pipeline
         boolean pipelineCreated;
-        Set<ScannerPlugin<?, ?>> pipeline = this.pipelines.get(item);
+        boolean[] pipeline = this.pipelines.get(item);
         if (pipeline == null) {
-            pipeline = new LinkedHashSet<>();
+            pipeline = pipelinePool.isEmpty() ? new boolean[pluginsByIndex.length] : pipelinePool.pop();
             this.pipelines.put(item, pipeline);
             pipelineCreated = true;
         } else {
@@ -74,14 +175,16 @@ public class ScannerImpl implements Scanner {
         }
         Store store = scannerContext.getStore();
         try {
+            // Only top level files are fingerprinted for incremental scans
+            ScanFingerprint fingerprint = pipelineCreated && pipelines.size() == 1 ? getFingerprint(item) : null;
             if (!store.hasActiveTransaction()) {
                 // Begin a new transaction if no transaction is active
                 store.beginTransaction();
-                descriptor = scan(item, descriptor, path, scope, pipeline);
+                descriptor = scan(item, descriptor, path, scope, pipeline, fingerprint);
                 store.commitTransaction();
             } else {
                 // Re-use an existing transaction
-                descriptor = scan(item, descriptor, path, scope, pipeline);
+                descriptor = scan(item, descriptor, path, scope, pipeline, fingerprint);
             }
         } catch (UnrecoverableScannerException e) {
             // The exception is thrown by a nested scanner invocation, just pass it through
@@ -92,7 +195,7 @@ public class ScannerImpl implements Scanner {
                 store.rollbackTransaction();
             }
             String message = "Unexpected problem encountered while scanning: item='" + item + "', path='" + path + "', scope='" + scope + "', pipeline='"
-                    + pipeline + "'. Please report this error including the full stacktrace (continueOnError=" + configuration.isContinueOnError() + ").";
+                    + getPipelinePlugins(pipeline) + "'. Please report this error including the full stacktrace (continueOnError=" + configuration.isContinueOnError() + ").";
             if (configuration.isContinueOnError()) {
                 LOGGER.error(message, e);
                 LOGGER.info("Continuing scan after error. NOTE: Data might be inconsistent.");
@@ -102,51 +205,283 @@ public class ScannerImpl implements Scanner {
         } finally {
             if (pipelineCreated) {
                 pipelines.remove(item);
+                Arrays.fill(pipeline, false);
+                pipelinePool.push(pipeline);
+            }
+        }
+        return descriptor;
+    }
+
+    @Override
+    public void scan(Collection<ScanItem<?>> items) {
+        int parallelism = Math.min(configuration.getParallelism(), items.size());
+        if (parallelism <= 1) {
+            Scanner.super.scan(items);
+            return;
+        }
+        if (!(scannerContext instanceof ScannerContextImpl)) {
+            LOGGER.warn("Parallel scan is not supported by scanner context " + scannerContext + ", falling back to sequential scan.");
+            Scanner.super.scan(items);
+            return;
+        }
+        Store store = scannerContext.getStore();
+        if (configuration.isIncremental() && !incrementalScanPrepared) {
+            // Prepare once using this store instead of concurrently by all workers
+            if (store.hasActiveTransaction()) {
+                prepareIncrementalScan(store);
+            } else {
+                store.beginTransaction();
+                prepareIncrementalScan(store);
+                store.commitTransaction();
+            }
+        }
+        if (store.hasActiveTransaction()) {
+            // Make pending changes visible to the sessions of the workers
+            store.flush();
+        }
+        LOGGER.info("Scanning {} items using {} threads.", items.size(), parallelism);
+        Queue<ScanItem<?>> queue = new ConcurrentLinkedQueue<>(items);
+        ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> workers = new ArrayList<>(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                workers.add(executorService.submit(() -> scan(queue, (ScannerContextImpl) scannerContext)));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnrecoverableScannerException("Interrupted while waiting for parallel scan to finish.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UnrecoverableScannerException) {
+                throw (UnrecoverableScannerException) cause;
+            }
+            throw new UnrecoverableScannerException("Parallel scan failed.", cause);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Scans items from the given queue until it is empty, executed by a worker of
+     * a parallel scan.
+     *
+     * The worker uses its own store session, scanner context and scanner plugin
+     * instances, the created descriptors are merged into the graph by committing
+     * the transactions of the session.
+     *
+     * @param queue
+     *            The queue of items shared by all workers.
+     * @param context
+     *            The context of this scanner.
+     */
+    private void scan(Queue<ScanItem<?>> queue, ScannerContextImpl context) {
+        Store session = context.getStore().openSession();
+        try {
+            ScannerContext workerContext = context.createWorkerContext(session);
+            Map<String, ScannerPlugin<?, ?>> workerPlugins = scannerPluginRepository.createScannerPlugins(workerContext, pluginProperties);
+            try {
+                ScannerImpl worker = new ScannerImpl(configuration, pluginProperties, workerContext, scannerPluginRepository, workerPlugins);
+                worker.incrementalScanPrepared = incrementalScanPrepared;
+                worker.fingerprints = fingerprints;
+                ScanItem<?> item;
+                while ((item = queue.poll()) != null) {
+                    worker.scan(item.getItem(), item.getPath(), item.getScope());
+                }
+            } catch (RuntimeException e) {
+                // Stop the other workers
+                queue.clear();
+                throw e;
+            } finally {
+                workerPlugins.values().forEach(ScannerPlugin::destroy);
+            }
+        } finally {
+            session.stop();
+        }
+    }
+
+    /**
+     * Determine the fingerprint of an item if incremental scanning is enabled.
+     *
+     * @param item
+     *            The item.
+     * @return The fingerprint or `null` if the item shall not be scanned
+     *         incrementally.
+     */
+    private ScanFingerprint getFingerprint(Object item) {
+        if (!configuration.isIncremental() || !(item instanceof File) || !((File) item).isFile()) {
+            return null;
+        }
+        ScanFingerprint fingerprint = fingerprints.remove(((File) item).getAbsolutePath());
+        if (fingerprint != null) {
+            return fingerprint;
+        }
+        try {
+            return ScanFingerprint.of((File) item, configuration.isHashContent());
+        } catch (IOException e) {
+            LOGGER.warn("Cannot determine fingerprint of " + item + ", scanning it completely.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Scan an item, if a fingerprint is given the item is skipped if it has not
+     * been changed since the last scan.
+     *
+     * The graph is marked as modified unless the item is skipped, this allows
+     * the analyzer to detect outdated concepts.
+     */
+    private <I, D extends Descriptor> D scan(I item, D descriptor, String path, Scope scope, boolean[] pipeline, ScanFingerprint fingerprint) {
+        Store store = scannerContext.getStore();
+        if (fingerprint == null) {
+            store.touchGraph();
+            return scan(item, descriptor, path, scope, pipeline);
+        }
+        if (!incrementalScanPrepared) {
+            prepareIncrementalScan(store);
+        }
+        String scopeName = scope != null ? scope.getPrefix() + ":" + scope.getName() : "";
+        ScanFingerprintDescriptor fingerprintDescriptor = findFingerprint(store, fingerprint.getPath(), scopeName);
+        if (fingerprintDescriptor != null) {
+            Descriptor previous = fingerprintDescriptor.getDescriptor();
+            if (previous != null && fingerprint.matches(fingerprintDescriptor)) {
+                LOGGER.debug("Skipping unchanged file {}.", fingerprint.getPath());
+                return (D) previous;
             }
+            long deleted = store.deleteSubgraph(fingerprintDescriptor, fingerprintSubgraphRelationTypes);
+            LOGGER.debug("Deleted {} nodes of changed file {}.", deleted, fingerprint.getPath());
+        }
+        store.touchGraph();
+        descriptor = scan(item, descriptor, path, scope, pipeline);
+        if (descriptor != null) {
+            fingerprintDescriptor = store.create(ScanFingerprintDescriptor.class);
+            fingerprint.applyTo(fingerprintDescriptor);
+            fingerprintDescriptor.setScope(scopeName);
+            fingerprintDescriptor.setDescriptor(descriptor);
         }
         return descriptor;
     }
 
-    private <I, D extends Descriptor> D scan(I item, D descriptor, String path, Scope scope, Set<ScannerPlugin<?, ?>> pipeline) {
-        Class<?> itemClass = item.getClass();
+    /**
+     * Check the fingerprints of previous scans before the first file is scanned
+     * incrementally.
+     *
+     * The nodes of files which do not exist anymore are deleted. If the nodes of
+     * a removed or changed file are referenced by relations from other files (e.g.
+     * dependencies between artifacts) these relations would be lost by
+     * replacing the file, as unchanged files are skipped. In this case the
+     * incremental scan falls back to a full scan, i.e. the nodes of all
+     * fingerprinted files are deleted and all files are scanned completely.
+     */
+    private void prepareIncrementalScan(Store store) {
+        incrementalScanPrepared = true;
+        List<ScanFingerprintDescriptor> allFiles = new ArrayList<>();
+        List<ScanFingerprintDescriptor> missingFiles = new ArrayList<>();
+        List<ScanFingerprintDescriptor> changedFiles = new ArrayList<>();
+        try (Result<CompositeRowObject> result = store.executeQuery(FINGERPRINTS_QUERY)) {
+            for (CompositeRowObject row : result) {
+                ScanFingerprintDescriptor fingerprintDescriptor = row.get("f", ScanFingerprintDescriptor.class);
+                allFiles.add(fingerprintDescriptor);
+                File file = new File(fingerprintDescriptor.getPath());
+                if (!file.exists()) {
+                    missingFiles.add(fingerprintDescriptor);
+                } else if (isChanged(file, fingerprintDescriptor)) {
+                    changedFiles.add(fingerprintDescriptor);
+                }
+            }
+        }
+        List<ScanFingerprintDescriptor> replacedFiles = new ArrayList<>(missingFiles);
+        replacedFiles.addAll(changedFiles);
+        List<ScanFingerprintDescriptor> deletedFiles = missingFiles;
+        for (ScanFingerprintDescriptor fingerprintDescriptor : replacedFiles) {
+            if (store.isSubgraphReferenced(fingerprintDescriptor, fingerprintSubgraphRelationTypes)) {
+                LOGGER.warn("Nodes of file " + fingerprintDescriptor.getPath()
+                        + " are referenced by other files, falling back to full scan.");
+                deletedFiles = allFiles;
+                fingerprints.clear();
+                break;
+            }
+        }
+        for (ScanFingerprintDescriptor fingerprintDescriptor : deletedFiles) {
+            long deleted = store.deleteSubgraph(fingerprintDescriptor, fingerprintSubgraphRelationTypes);
+            LOGGER.debug("Deleted {} nodes of file {}.", deleted, fingerprintDescriptor.getPath());
+        }
+        if (!deletedFiles.isEmpty()) {
+            store.touchGraph();
+        }
+    }
+
+    /**
+     * Determine if a file has been changed since the last scan, the determined
+     * fingerprint is kept for scanning the file.
+     */
+    private boolean isChanged(File file, ScanFingerprintDescriptor fingerprintDescriptor) {
+        try {
+            ScanFingerprint fingerprint = ScanFingerprint.of(file, configuration.isHashContent());
+            fingerprints.put(fingerprint.getPath(), fingerprint);
+            return !fingerprint.matches(fingerprintDescriptor);
+        } catch (IOException e) {
+            LOGGER.warn("Cannot determine fingerprint of " + file + ".", e);
+            return true;
+        }
+    }
+
+    private ScanFingerprintDescriptor findFingerprint(Store store, String path, String scope) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("path", path);
+        parameters.put("scope", scope);
+        try (Result<CompositeRowObject> result = store
+                .executeQuery("MATCH (f:ScanFingerprint) WHERE f.path=$path AND f.scope=$scope RETURN f", parameters)) {
+            return result.hasResult() ? result.getSingleResult().get("f", ScanFingerprintDescriptor.class) : null;
+        }
+    }
+
+    private <I, D extends Descriptor> D scan(I item, D descriptor, String path, Scope scope, boolean[] pipeline) {
+        PluginChain chain = getPluginChain(item.getClass());
         Class<D> type = null;
-        for (ScannerPlugin<?, ?> scannerPlugin : getScannerPluginsForType(itemClass)) {
-            ScannerPlugin<I, D> selectedPlugin = (ScannerPlugin<I, D>) scannerPlugin;
-            if (!pipeline.contains(selectedPlugin) && accepts(selectedPlugin, item, path, scope) && satisfies(selectedPlugin, descriptor)) {
-                pipeline.add(selectedPlugin);
+        for (int i = 0; i < chain.plugins.length; i++) {
+            int pluginIndex = chain.pluginIndexes[i];
+            if (pipeline[pluginIndex] || (chain.requiresDescriptor[i] && descriptor == null)) {
+                continue;
+            }
+            ScannerPlugin<I, D> selectedPlugin = (ScannerPlugin<I, D>) chain.plugins[i];
+            boolean accepted;
+            if (metricsEnabled) {
+                long acceptsStart = System.nanoTime();
+                accepted = accepts(selectedPlugin, item, path, scope);
+                acceptsTimes[pluginIndex].record(System.nanoTime() - acceptsStart);
+            } else {
+                accepted = accepts(selectedPlugin, item, path, scope);
+            }
+            if (accepted) {
+                pipeline[pluginIndex] = true;
                 pushDesriptor(type, descriptor);
                 D newDescriptor = null;
+                long scanStart = 0;
+                if (metricsEnabled) {
+                    scannedItems[pluginIndex].increment();
+                    scanStart = System.nanoTime();
+                }
                 try {
                     newDescriptor = selectedPlugin.scan(item, path, scope, this);
                 } catch (IOException e) {
                     LOGGER.warn("Cannot scan item " + path, e);
                 } finally {
+                    if (metricsEnabled) {
+                        // The time includes nested scans of child items
+                        scanTimes[pluginIndex].record(System.nanoTime() - scanStart);
+                    }
                     popDescriptor(type, descriptor);
                     descriptor = newDescriptor;
-                    type = selectedPlugin.getDescriptorType();
+                    type = (Class<D>) chain.descriptorTypes[i];
                 }
             }
         }
         return descriptor;
     }
 
-    /**
-     * Verifies if the selected plugin requires a descriptor.
-     *
-     * @param selectedPlugin
-     *            The selected plugin.
-     * @param descriptor
-     *            The descriptor.
-     * @param <I>
-     *            The item type of the plugin.
-     * @param <D>
-     *            The descriptor type of the plugin.
-     * @return <code>true</code> if the selected plugin can be used.
-     */
-    private <I, D extends Descriptor> boolean satisfies(ScannerPlugin<I, D> selectedPlugin, D descriptor) {
-        return !(selectedPlugin.getClass().isAnnotationPresent(Requires.class) && descriptor == null);
-    }
-
     /**
      * Checks whether a plugin accepts an item.
      *
@@ -224,35 +559,50 @@ public class ScannerImpl implements Scanner {
     }
 
     /**
-     * Determine the list of scanner plugins that handle the given type.
+     * Return the plugins which already processed an item.
+     *
+     * @param pipeline
+     *            The pipeline of the item.
+     * @return The plugins.
+     */
+    private List<ScannerPlugin<?, ?>> getPipelinePlugins(boolean[] pipeline) {
+        List<ScannerPlugin<?, ?>> plugins = new ArrayList<>();
+        for (int i = 0; i < pipeline.length; i++) {
+            if (pipeline[i]) {
+                plugins.add(pluginsByIndex[i]);
+            }
+        }
+        return plugins;
+    }
+
+    /**
+     * Determine the chain of scanner plugins that handle the given type.
+     *
+     * The chain is compiled on first use of a type and ordered by the values of
+     * the optional {@link Requires} annotations of the plugins.
      *
      * @param type
      *            The type.
-     * @return The list of plugins.
+     * @return The {@link PluginChain}.
      */
-    private List<ScannerPlugin<?, ?>> getScannerPluginsForType(final Class<?> type) {
-        List<ScannerPlugin<?, ?>> plugins = scannerPluginsPerType.get(type);
-        if (plugins == null) {
+    private PluginChain getPluginChain(final Class<?> type) {
+        PluginChain chain = pluginChains.get(type);
+        if (chain == null) {
             // The list of all scanner plugins which accept the given type
-            final List<ScannerPlugin<?, ?>> candidates = new LinkedList<>();
+            final List<ScannerPlugin<?, ?>> candidates = new ArrayList<>();
             // The map of scanner plugins which produce a descriptor type
             Map<Class<? extends Descriptor>, Set<ScannerPlugin<?, ?>>> pluginsByDescriptor = new HashMap<>();
-            for (ScannerPlugin<?, ?> scannerPlugin : scannerPlugins.values()) {
+            for (ScannerPlugin<?, ?> scannerPlugin : pluginsByIndex) {
                 Class<?> scannerPluginType = scannerPlugin.getType();
-                if (scannerPluginType.isAssignableFrom(type)) {
+                if (scannerPluginType != null && scannerPluginType.isAssignableFrom(type)) {
                     Class<? extends Descriptor> descriptorType = scannerPlugin.getDescriptorType();
-                    Set<ScannerPlugin<?, ?>> pluginsForDescriptorType = pluginsByDescriptor.get(descriptorType);
-                    if (pluginsForDescriptorType == null) {
-                        pluginsForDescriptorType = new HashSet<>();
-                        pluginsByDescriptor.put(descriptorType, pluginsForDescriptorType);
-                    }
-                    pluginsForDescriptorType.add(scannerPlugin);
+                    pluginsByDescriptor.computeIfAbsent(descriptorType, key -> new HashSet<>()).add(scannerPlugin);
                     candidates.add(scannerPlugin);
                 }
             }
             // Order plugins by the values of their optional @Requires
             // annotation
-            plugins = DependencyResolver.newInstance(candidates, new DependencyProvider<ScannerPlugin<?, ?>>() {
+            List<ScannerPlugin<?, ?>> plugins = DependencyResolver.newInstance(candidates, new DependencyProvider<ScannerPlugin<?, ?>>() {
                 @Override
                 public Set<ScannerPlugin<?, ?>> getDependencies(ScannerPlugin<?, ?> dependent) {
                     Set<ScannerPlugin<?, ?>> dependencies = new HashSet<>();
@@ -272,8 +622,54 @@ public class ScannerImpl implements Scanner {
                     return dependencies;
                 }
             }).resolve();
-            scannerPluginsPerType.put(type, plugins);
+            chain = new PluginChain(plugins);
+            pluginChains.put(type, chain);
+        }
+        return chain;
+    }
+
+    /**
+     * Index of a scanner plugin within {@link #pluginsByIndex}.
+     *
+     * @param scannerPlugin
+     *            The scanner plugin.
+     * @return The index.
+     */
+    private int getPluginIndex(ScannerPlugin<?, ?> scannerPlugin) {
+        for (int i = 0; i < pluginsByIndex.length; i++) {
+            if (pluginsByIndex[i] == scannerPlugin) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Unknown scanner plugin " + scannerPlugin);
+    }
+
+    /**
+     * The ordered scanner plugins for an item type, stored in arrays to allow
+     * dispatching items without allocations or reflection.
+     */
+    private final class PluginChain {
+
+        private final ScannerPlugin<?, ?>[] plugins;
+
+        private final int[] pluginIndexes;
+
+        private final Class<?>[] descriptorTypes;
+
+        private final boolean[] requiresDescriptor;
+
+        private PluginChain(List<ScannerPlugin<?, ?>> plugins) {
+            int size = plugins.size();
+            this.plugins = plugins.toArray(new ScannerPlugin<?, ?>[size]);
+            this.pluginIndexes = new int[size];
+            this.descriptorTypes = new Class<?>[size];
+            this.requiresDescriptor = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                ScannerPlugin<?, ?> plugin = this.plugins[i];
+                pluginIndexes[i] = getPluginIndex(plugin);
+                descriptorTypes[i] = plugin.getDescriptorType();
+                requiresDescriptor[i] = plugin.getClass().isAnnotationPresent(Requires.class);
+            }
         }
-        return plugins;
     }
 }
@@ -21,6 +21,19 @@ public interface ScannerPluginRepository extends LifecycleAware {
      */
     Map<String, ScannerPlugin<?, ?>> getScannerPlugins(ScannerContext scannerContext, Map<String, Object> properties);
 
+    /**
+     * Create new instances of the configured scanner plugins, e.g. for a worker
+     * of a parallel scan.
+     *
+     * The instances are initialized and configured with the given context, they
+     * must be destroyed by the caller.
+     *
+     * @param scannerContext The scannerContext.
+     * @param properties     The configuration properties.
+     * @return The new instances of the configured scanner plugins.
+     */
+    Map<String, ScannerPlugin<?, ?>> createScannerPlugins(ScannerContext scannerContext, Map<String, Object> properties);
+
     /**
      * Return the scope for the given name.
      *
@@ -1,6 +1,7 @@
 package com.buschmais.jqassistant.core.scanner.impl;
 
 import java.io.File;
+import java.util.NoSuchElementException;
 
 import com.buschmais.jqassistant.core.store.api.Store;
 
@@ -12,6 +13,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.fail;
 
@@ -65,6 +67,30 @@ class ScannerContextImplTest {
         assertThat(scannerContext.peekOrDefault(String.class, "Bar"), equalTo("Bar"));
     }
 
+    @Test
+    void valuesAreSeparatedByKey() {
+        scannerContext.push(String.class, "Foo");
+        scannerContext.push(Integer.class, 42);
+        scannerContext.push(String.class, null);
+        assertThat(scannerContext.peekOrDefault(String.class, "Bar"), equalTo("Bar"));
+        assertThat(scannerContext.pop(String.class), nullValue());
+        assertThat(scannerContext.pop(Integer.class), equalTo(42));
+        assertThat(scannerContext.pop(String.class), equalTo("Foo"));
+        assertThatThrownBy(() -> scannerContext.pop(Integer.class)).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void deepStack() {
+        for (int i = 0; i < 100; i++) {
+            scannerContext.push(Integer.class, i);
+        }
+        for (int i = 99; i >= 0; i--) {
+            assertThat(scannerContext.peek(Integer.class), equalTo(i));
+            assertThat(scannerContext.pop(Integer.class), equalTo(i));
+        }
+        assertThat(scannerContext.peekOrDefault(Integer.class, -1), equalTo(-1));
+    }
+
     @Test
     void dataDirectory() {
         File test = scannerContext.getDataDirectory("test");
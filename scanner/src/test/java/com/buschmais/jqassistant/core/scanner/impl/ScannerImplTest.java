@@ -1,15 +1,25 @@
 package com.buschmais.jqassistant.core.scanner.impl;
 
 import java.io.File;
+import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
 import com.buschmais.jqassistant.core.scanner.api.*;
+import com.buschmais.jqassistant.core.scanner.api.model.ScanFingerprintDescriptor;
 import com.buschmais.jqassistant.core.scanner.spi.ScannerPluginRepository;
+import com.buschmais.jqassistant.core.shared.metrics.Counter;
+import com.buschmais.jqassistant.core.shared.metrics.Histogram;
+import com.buschmais.jqassistant.core.shared.metrics.InMemoryMetricsRegistry;
+import com.buschmais.jqassistant.core.shared.metrics.MetricsRegistry;
 import com.buschmais.jqassistant.core.store.api.Store;
 import com.buschmais.jqassistant.core.store.api.model.Descriptor;
+import com.buschmais.xo.api.Query.Result;
+import com.buschmais.xo.api.Query.Result.CompositeRowObject;
 
 import org.junit.Assert;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +33,8 @@ import org.mockito.quality.Strictness;
 import org.mockito.stubbing.Answer;
 
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.fail;
@@ -212,4 +224,246 @@ class ScannerImplTest {
         verify(store).addDescriptorType(any(TestItemDescriptor.class), eq(NestedTestItemDescriptor.class));
         verify(store).addDescriptorType(any(NestedTestItemDescriptor.class), eq(DependentTestItemDescriptor.class));
     }
+
+    @Test
+    void requiringPluginIsNotAskedWithoutDescriptor() throws IOException {
+        DependentTestItemScannerPlugin dependentPlugin = spy(new DependentTestItemScannerPlugin());
+        doReturn(singletonMap("DependentTestScanner", dependentPlugin)).when(scannerPluginRepository).getScannerPlugins(context, emptyMap());
+        Scanner scanner = new ScannerImpl(configuration, emptyMap(), context, scannerPluginRepository);
+
+        Descriptor descriptor = scanner.scan(new TestItem(), "/", DefaultScope.NONE);
+
+        assertThat(descriptor, nullValue());
+        verify(dependentPlugin, never()).accepts(any(TestItem.class), anyString(), any(Scope.class));
+        verify(dependentPlugin, never()).scan(any(TestItem.class), anyString(), any(Scope.class), any(Scanner.class));
+    }
+
+    @Test
+    void incrementalScanSkipsUnchangedFile() throws IOException {
+        File file = createTempFile();
+        ScannerPlugin<File, Descriptor> filePlugin = mockFilePlugin();
+        Descriptor previous = mock(Descriptor.class);
+        mockFingerprint(file.length(), file.lastModified(), previous);
+        configuration.setIncremental(true);
+        Scanner scanner = new ScannerImpl(configuration, emptyMap(), context, scannerPluginRepository);
+
+        Descriptor descriptor = scanner.scan(file, "/test.txt", DefaultScope.NONE);
+
+        assertThat(descriptor, sameInstance(previous));
+        verify(filePlugin, never()).scan(any(File.class), anyString(), any(Scope.class), any(Scanner.class));
+        verify(store, never()).deleteSubgraph(any(Descriptor.class), any(String[].class));
+        verify(store, never()).create(ScanFingerprintDescriptor.class);
+        verify(store, never()).touchGraph();
+    }
+
+    @Test
+    void incrementalScanReplacesChangedFile() throws IOException {
+        File file = createTempFile();
+        ScannerPlugin<File, Descriptor> filePlugin = mockFilePlugin();
+        ScanFingerprintDescriptor fingerprintDescriptor = mockFingerprint(file.length() + 1, file.lastModified(), mock(Descriptor.class));
+        ScanFingerprintDescriptor newFingerprintDescriptor = mock(ScanFingerprintDescriptor.class);
+        doReturn(newFingerprintDescriptor).when(store).create(ScanFingerprintDescriptor.class);
+        configuration.setIncremental(true);
+        Scanner scanner = new ScannerImpl(configuration, emptyMap(), context, scannerPluginRepository);
+
+        Descriptor descriptor = scanner.scan(file, "/test.txt", DefaultScope.NONE);
+
+        assertThat(descriptor, notNullValue());
+        verify(filePlugin).scan(eq(file), eq("/test.txt"), eq(DefaultScope.NONE), any(Scanner.class));
+        verify(store).deleteSubgraph(fingerprintDescriptor, "FINGERPRINT_OF", "CONTAINS");
+        verify(newFingerprintDescriptor).setPath(file.getAbsolutePath());
+        verify(newFingerprintDescriptor).setSize(file.length());
+        verify(newFingerprintDescriptor).setLastModified(file.lastModified());
+        verify(newFingerprintDescriptor).setScope("default:NONE");
+        verify(newFingerprintDescriptor).setDescriptor(descriptor);
+        verify(store).touchGraph();
+    }
+
+    @Test
+    void incrementalScanDeletesOwnedDescriptorsOfChangedFile() throws IOException {
+        File file = createTempFile();
+        ScannerPlugin<File, Descriptor> filePlugin = mockFilePlugin();
+        doReturn(singletonList("DECLARES")).when(filePlugin).getOwnedRelationTypes();
+        ScanFingerprintDescriptor fingerprintDescriptor = mockFingerprint(file.length() + 1, file.lastModified(), mock(Descriptor.class));
+        doReturn(mock(ScanFingerprintDescriptor.class)).when(store).create(ScanFingerprintDescriptor.class);
+        configuration.setIncremental(true);
+        Scanner scanner = new ScannerImpl(configuration, emptyMap(), context, scannerPluginRepository);
+
+        scanner.scan(file, "/test.txt", DefaultScope.NONE);
+
+        verify(store).deleteSubgraph(fingerprintDescriptor, "FINGERPRINT_OF", "CONTAINS", "DECLARES");
+    }
+
+    @Test
+    void incrementalScanPurgesRemovedFiles() throws IOException {
+        File file = createTempFile();
+        mockFilePlugin();
+        mockFingerprint(file.length(), file.lastModified(), mock(Descriptor.class));
+        ScanFingerprintDescriptor removedFingerprintDescriptor = mock(ScanFingerprintDescriptor.class);
+        doReturn(new File(file.getParentFile(), "removed-" + file.getName()).getAbsolutePath()).when(removedFingerprintDescriptor).getPath();
+        ScanFingerprintDescriptor existingFingerprintDescriptor = mock(ScanFingerprintDescriptor.class);
+        doReturn(file.getAbsolutePath()).when(existingFingerprintDescriptor).getPath();
+        mockFingerprints(removedFingerprintDescriptor, existingFingerprintDescriptor);
+        configuration.setIncremental(true);
+        Scanner scanner = new ScannerImpl(configuration, emptyMap(), context, scannerPluginRepository);
+
+        scanner.scan(file, "/test.txt", DefaultScope.NONE);
+        scanner.scan(file, "/test.txt", DefaultScope.NONE);
+
+        verify(store).deleteSubgraph(removedFingerprintDescriptor, "FINGERPRINT_OF", "CONTAINS");
+        verify(store, never()).deleteSubgraph(eq(existingFingerprintDescriptor), any(String[].class));
+        verify(store).touchGraph();
+    }
+
+    @Test
+    void incrementalScanFallsBackToFullScanIfChangedFileIsReferenced() throws IOException {
+        File file = createTempFile();
+        File otherFile = createTempFile();
+        ScannerPlugin<File, Descriptor> filePlugin = mockFilePlugin();
+        mockFingerprint(file.length() + 1, file.lastModified(), mock(Descriptor.class));
+        ScanFingerprintDescriptor changedFingerprintDescriptor = mock(ScanFingerprintDescriptor.class);
+        doReturn(file.getAbsolutePath()).when(changedFingerprintDescriptor).getPath();
+        doReturn(file.length() + 1).when(changedFingerprintDescriptor).getSize();
+        ScanFingerprintDescriptor unchangedFingerprintDescriptor = mock(ScanFingerprintDescriptor.class);
+        doReturn(otherFile.getAbsolutePath()).when(unchangedFingerprintDescriptor).getPath();
+        doReturn(otherFile.length()).when(unchangedFingerprintDescriptor).getSize();
+        doReturn(otherFile.lastModified()).when(unchangedFingerprintDescriptor).getLastModified();
+        mockFingerprints(changedFingerprintDescriptor, unchangedFingerprintDescriptor);
+        // A relation from the other file (e.g. a dependency) to a node of the changed file
+        doReturn(true).when(store).isSubgraphReferenced(changedFingerprintDescriptor, "FINGERPRINT_OF", "CONTAINS");
+        doReturn(mock(ScanFingerprintDescriptor.class)).when(store).create(ScanFingerprintDescriptor.class);
+        configuration.setIncremental(true);
+        Scanner scanner = new ScannerImpl(configuration, emptyMap(), context, scannerPluginRepository);
+
+        scanner.scan(file, "/test.txt", DefaultScope.NONE);
+
+        verify(store).deleteSubgraph(unchangedFingerprintDescriptor, "FINGERPRINT_OF", "CONTAINS");
+        verify(store, never()).isSubgraphReferenced(eq(unchangedFingerprintDescriptor), any(String[].class));
+        verify(filePlugin).scan(eq(file), eq("/test.txt"), eq(DefaultScope.NONE), any(Scanner.class));
+    }
+
+    private File createTempFile() throws IOException {
+        File file = File.createTempFile("jqassistant", ".txt");
+        file.deleteOnExit();
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write("test");
+        }
+        return file;
+    }
+
+    private ScannerPlugin<File, Descriptor> mockFilePlugin() throws IOException {
+        ScannerPlugin<File, Descriptor> filePlugin = mock(ScannerPlugin.class);
+        doReturn(File.class).when(filePlugin).getType();
+        doReturn(true).when(filePlugin).accepts(any(File.class), anyString(), any(Scope.class));
+        doAnswer(invocation -> mock(Descriptor.class)).when(filePlugin).scan(any(File.class), anyString(), any(Scope.class), any(Scanner.class));
+        doReturn(singletonMap("FileScanner", filePlugin)).when(scannerPluginRepository).getScannerPlugins(context, emptyMap());
+        return filePlugin;
+    }
+
+    private ScanFingerprintDescriptor mockFingerprint(long size, long lastModified, Descriptor descriptor) {
+        ScanFingerprintDescriptor fingerprintDescriptor = mock(ScanFingerprintDescriptor.class);
+        doReturn(size).when(fingerprintDescriptor).getSize();
+        doReturn(lastModified).when(fingerprintDescriptor).getLastModified();
+        doReturn(descriptor).when(fingerprintDescriptor).getDescriptor();
+        CompositeRowObject row = mock(CompositeRowObject.class);
+        doReturn(fingerprintDescriptor).when(row).get("f", ScanFingerprintDescriptor.class);
+        Result<CompositeRowObject> result = mock(Result.class);
+        doReturn(true).when(result).hasResult();
+        doReturn(row).when(result).getSingleResult();
+        doReturn(result).when(store).executeQuery(anyString(), anyMap());
+        mockFingerprints();
+        return fingerprintDescriptor;
+    }
+
+    /**
+     * Mocks the query for all fingerprints recorded by previous scans.
+     */
+    private void mockFingerprints(ScanFingerprintDescriptor... fingerprintDescriptors) {
+        List<CompositeRowObject> rows = new ArrayList<>();
+        for (ScanFingerprintDescriptor fingerprintDescriptor : fingerprintDescriptors) {
+            CompositeRowObject row = mock(CompositeRowObject.class);
+            doReturn(fingerprintDescriptor).when(row).get("f", ScanFingerprintDescriptor.class);
+            rows.add(row);
+        }
+        Result<CompositeRowObject> result = mock(Result.class);
+        doAnswer(invocation -> rows.iterator()).when(result).iterator();
+        doReturn(result).when(store).executeQuery("MATCH (f:ScanFingerprint) RETURN f");
+    }
+
+    @Test
+    void pluginMetrics() throws IOException {
+        InMemoryMetricsRegistry metricsRegistry = new InMemoryMetricsRegistry();
+        configuration.setMetricsRegistry(metricsRegistry);
+        Scanner scanner = new ScannerImpl(configuration, emptyMap(), context, scannerPluginRepository);
+
+        scanner.scan("test", "test", scope);
+
+        assertThat(metricsRegistry.getCounters().get("scanner.plugin.testPlugin.items").getCount(), equalTo(1L));
+        assertThat(metricsRegistry.getHistograms().get("scanner.plugin.testPlugin.accepts").getCount(), equalTo(1L));
+        assertThat(metricsRegistry.getHistograms().get("scanner.plugin.testPlugin.scan").getCount(), equalTo(1L));
+    }
+
+    @Test
+    void skipMeasuringIfMetricsAreDisabled() throws IOException {
+        MetricsRegistry metricsRegistry = mock(MetricsRegistry.class);
+        Histogram histogram = mock(Histogram.class);
+        Counter counter = mock(Counter.class);
+        doReturn(false).when(metricsRegistry).isEnabled();
+        doReturn(histogram).when(metricsRegistry).histogram(anyString());
+        doReturn(counter).when(metricsRegistry).counter(anyString());
+        configuration.setMetricsRegistry(metricsRegistry);
+        Scanner scanner = new ScannerImpl(configuration, emptyMap(), context, scannerPluginRepository);
+
+        scanner.scan("test", "test", scope);
+
+        verify(scannerPlugin).scan(eq("test"), eq("test"), eq(scope), any(Scanner.class));
+        verify(histogram, never()).record(anyLong());
+        verify(counter, never()).increment();
+    }
+
+    @Test
+    void parallelScan() {
+        configuration.setParallelism(2);
+        Store session = mock(Store.class);
+        when(store.openSession()).thenReturn(session);
+        ScannerPlugin<TestItem, TestItemDescriptor> workerPlugin = spy(new TestItemScannerPlugin());
+        doReturn(singletonMap("TestScanner", workerPlugin)).when(scannerPluginRepository).createScannerPlugins(any(ScannerContext.class), eq(emptyMap()));
+        when(session.create(TestItemDescriptor.class)).thenAnswer(invocation -> mock(TestItemDescriptor.class));
+        Scanner scanner = new ScannerImpl(configuration, emptyMap(), context, scannerPluginRepository);
+        List<ScanItem<?>> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(ScanItem.<TestItem> builder().item(new TestItem()).path("/" + i).scope(DefaultScope.NONE).build());
+        }
+
+        scanner.scan(items);
+
+        verify(store, times(2)).openSession();
+        verify(scannerPluginRepository, times(2)).createScannerPlugins(any(ScannerContext.class), eq(emptyMap()));
+        verify(session, times(10)).create(TestItemDescriptor.class);
+        verify(session, times(2)).stop();
+        verify(workerPlugin, times(2)).destroy();
+        verify(store, never()).create(any(Class.class));
+    }
+
+    @Test
+    void parallelIncrementalScanPreparesOnce() {
+        configuration.setParallelism(2);
+        configuration.setIncremental(true);
+        mockFingerprints();
+        Store session = mock(Store.class);
+        when(store.openSession()).thenReturn(session);
+        doReturn(singletonMap("TestScanner", new TestItemScannerPlugin())).when(scannerPluginRepository)
+                .createScannerPlugins(any(ScannerContext.class), eq(emptyMap()));
+        when(session.create(TestItemDescriptor.class)).thenAnswer(invocation -> mock(TestItemDescriptor.class));
+        Scanner scanner = new ScannerImpl(configuration, emptyMap(), context, scannerPluginRepository);
+        List<ScanItem<?>> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(ScanItem.<TestItem> builder().item(new TestItem()).path("/" + i).scope(DefaultScope.NONE).build());
+        }
+
+        scanner.scan(items);
+
+        verify(store).executeQuery("MATCH (f:ScanFingerprint) RETURN f");
+        verify(session, never()).executeQuery(anyString());
+    }
 }
@@ -0,0 +1,219 @@
+package com.buschmais.jqassistant.core.shared.asciidoc;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.asciidoctor.Asciidoctor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A process-wide pool of {@link Asciidoctor} instances.
+ *
+ * Creating an {@link Asciidoctor} instance boots a JRuby runtime including
+ * Asciidoctor Diagram which takes seconds and consumes a considerable amount
+ * of heap. The pool creates instances on demand up to a maximum number and
+ * hands them out to one thread at a time, callers block if all instances are
+ * in use.
+ *
+ * Consumers which need to register extensions (e.g. an include processor) use
+ * a profile: instances are initialized once per profile and only reused for
+ * the same profile. If the maximum number of instances is reached an idle
+ * instance of another profile is shut down to make room.
+ *
+ * The idle instances of the process-wide pool are shut down on JVM shutdown,
+ * consumers may release the idle instances of their profile earlier using
+ * {@link #shutdown(String)}.
+ */
+public final class AsciidoctorPool {
+
+    /**
+     * The system property for overriding the maximum number of instances.
+     */
+    public static final String PROPERTY_MAX_INSTANCES = "jqassistant.asciidoctor.maxInstances";
+
+    /**
+     * The profile for plain instances.
+     */
+    public static final String DEFAULT_PROFILE = "default";
+
+    private static final int DEFAULT_MAX_INSTANCES = 2;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsciidoctorPool.class);
+
+    private static final AsciidoctorPool INSTANCE = new AsciidoctorPool(AsciidoctorFactory::getAsciidoctor,
+            Integer.getInteger(PROPERTY_MAX_INSTANCES, DEFAULT_MAX_INSTANCES));
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(INSTANCE::shutdown, "jqassistant-asciidoctor-shutdown"));
+    }
+
+    private final Supplier<Asciidoctor> factory;
+
+    private final int maxInstances;
+
+    private final Map<String, Deque<Asciidoctor>> idle = new HashMap<>();
+
+    private int instances = 0;
+
+    AsciidoctorPool(Supplier<Asciidoctor> factory, int maxInstances) {
+        if (maxInstances < 1) {
+            throw new IllegalArgumentException("The maximum number of Asciidoctor instances must be positive: " + maxInstances);
+        }
+        this.factory = factory;
+        this.maxInstances = maxInstances;
+    }
+
+    /**
+     * Return the process-wide pool.
+     *
+     * @return The {@link AsciidoctorPool}.
+     */
+    public static AsciidoctorPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Apply a function to a plain {@link Asciidoctor} instance, e.g. for
+     * rendering a report.
+     *
+     * @param function
+     *            The function.
+     * @param <T>
+     *            The result type.
+     * @return The result of the function.
+     */
+    public <T> T apply(Function<Asciidoctor, T> function) {
+        return apply(DEFAULT_PROFILE, asciidoctor -> {
+        }, function);
+    }
+
+    /**
+     * Apply a function to an {@link Asciidoctor} instance of the given profile.
+     * The instance is exclusively used by the calling thread until the function
+     * returns.
+     *
+     * @param profile
+     *            The profile.
+     * @param initializer
+     *            The initializer which is invoked once for a new instance of the
+     *            profile, e.g. to register extensions.
+     * @param function
+     *            The function.
+     * @param <T>
+     *            The result type.
+     * @return The result of the function.
+     */
+    public <T> T apply(String profile, Consumer<Asciidoctor> initializer, Function<Asciidoctor, T> function) {
+        Asciidoctor asciidoctor = borrow(profile, initializer);
+        try {
+            return function.apply(asciidoctor);
+        } finally {
+            release(profile, asciidoctor);
+        }
+    }
+
+    /**
+     * Shut down all idle instances.
+     */
+    public synchronized void shutdown() {
+        for (Deque<Asciidoctor> asciidoctors : idle.values()) {
+            shutdown(asciidoctors);
+        }
+        idle.clear();
+        notifyAll();
+    }
+
+    /**
+     * Shut down the idle instances of the given profile, e.g. if a consumer is
+     * destroyed. Instances which are currently in use are not affected.
+     *
+     * @param profile
+     *            The profile.
+     */
+    public synchronized void shutdown(String profile) {
+        Deque<Asciidoctor> asciidoctors = idle.remove(profile);
+        if (asciidoctors != null) {
+            shutdown(asciidoctors);
+            notifyAll();
+        }
+    }
+
+    private void shutdown(Deque<Asciidoctor> asciidoctors) {
+        for (Asciidoctor asciidoctor : asciidoctors) {
+            asciidoctor.shutdown();
+            instances--;
+        }
+    }
+
+    private Asciidoctor borrow(String profile, Consumer<Asciidoctor> initializer) {
+        synchronized (this) {
+            while (true) {
+                Asciidoctor asciidoctor = getIdle(profile).pollFirst();
+                if (asciidoctor != null) {
+                    return asciidoctor;
+                }
+                if (instances < maxInstances || evictIdle()) {
+                    // reserve the slot, the instance is created outside of the lock
+                    instances++;
+                    break;
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for an Asciidoctor instance.", e);
+                }
+            }
+        }
+        Asciidoctor asciidoctor = null;
+        try {
+            long start = System.currentTimeMillis();
+            asciidoctor = factory.get();
+            initializer.accept(asciidoctor);
+            LOGGER.debug("Created Asciidoctor instance for profile '{}' in {}ms.", profile, System.currentTimeMillis() - start);
+            return asciidoctor;
+        } catch (RuntimeException | Error e) {
+            if (asciidoctor != null) {
+                asciidoctor.shutdown();
+            }
+            synchronized (this) {
+                instances--;
+                notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    private synchronized void release(String profile, Asciidoctor asciidoctor) {
+        getIdle(profile).addFirst(asciidoctor);
+        notifyAll();
+    }
+
+    /**
+     * Shut down an idle instance of any profile to make room for a new one.
+     *
+     * @return `true` if an instance has been shut down.
+     */
+    private boolean evictIdle() {
+        for (Deque<Asciidoctor> asciidoctors : idle.values()) {
+            Asciidoctor asciidoctor = asciidoctors.pollLast();
+            if (asciidoctor != null) {
+                asciidoctor.shutdown();
+                instances--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Deque<Asciidoctor> getIdle(String profile) {
+        return idle.computeIfAbsent(profile, key -> new ArrayDeque<>());
+    }
+
+    synchronized int getInstances() {
+        return instances;
+    }
+}
@@ -0,0 +1,72 @@
+package com.buschmais.jqassistant.core.shared.hash;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Provides functionality for calculating SHA-256 hashes, e.g. for detecting
+ * changes of files or rules.
+ */
+public final class HashHelper {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private HashHelper() {
+    }
+
+    /**
+     * Create a new {@link MessageDigest}.
+     *
+     * @return The {@link MessageDigest}.
+     */
+    public static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot create message digest " + HASH_ALGORITHM, e);
+        }
+    }
+
+    /**
+     * Calculate the hash of a {@link String} using its UTF-8 representation.
+     *
+     * @param value
+     *            The value.
+     * @return The hash as lower case hex {@link String}.
+     */
+    public static String hash(String value) {
+        return toHex(createDigest().digest(value.getBytes(UTF_8)));
+    }
+
+    /**
+     * Convert the digest of a {@link MessageDigest} to a lower case hex
+     * {@link String}.
+     *
+     * @param digest
+     *            The {@link MessageDigest}.
+     * @return The hex {@link String}.
+     */
+    public static String toHex(MessageDigest digest) {
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Convert bytes to a lower case hex {@link String}.
+     *
+     * @param bytes
+     *            The bytes.
+     * @return The hex {@link String}.
+     */
+    public static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(hex);
+    }
+}
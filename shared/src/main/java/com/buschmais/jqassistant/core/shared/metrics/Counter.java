@@ -0,0 +1,29 @@
+package com.buschmais.jqassistant.core.shared.metrics;
+
+/**
+ * A monotonically increasing counter.
+ */
+public interface Counter {
+
+    /**
+     * Increment the counter by one.
+     */
+    default void increment() {
+        increment(1);
+    }
+
+    /**
+     * Increment the counter.
+     *
+     * @param amount
+     *            The amount to add.
+     */
+    void increment(long amount);
+
+    /**
+     * Return the current value.
+     *
+     * @return The value.
+     */
+    long getCount();
+}
@@ -0,0 +1,62 @@
+package com.buschmais.jqassistant.core.shared.metrics;
+
+/**
+ * Records the distribution of values, e.g. durations or sizes.
+ */
+public interface Histogram {
+
+    /**
+     * Record a value.
+     *
+     * @param value
+     *            The value.
+     */
+    void record(long value);
+
+    /**
+     * Return the number of recorded values.
+     *
+     * @return The number of values.
+     */
+    long getCount();
+
+    /**
+     * Return the sum of all recorded values.
+     *
+     * @return The sum.
+     */
+    long getSum();
+
+    /**
+     * Return the minimum recorded value, `0` if no value has been recorded.
+     *
+     * @return The minimum.
+     */
+    long getMin();
+
+    /**
+     * Return the maximum recorded value, `0` if no value has been recorded.
+     *
+     * @return The maximum.
+     */
+    long getMax();
+
+    /**
+     * Return the mean of the recorded values.
+     *
+     * @return The mean.
+     */
+    default double getMean() {
+        long count = getCount();
+        return count > 0 ? (double) getSum() / count : 0;
+    }
+
+    /**
+     * Return an approximation of a percentile of the recorded values.
+     *
+     * @param percentile
+     *            The percentile, between `0` and `1`.
+     * @return The approximated value, which is not less than the exact value.
+     */
+    long getPercentile(double percentile);
+}
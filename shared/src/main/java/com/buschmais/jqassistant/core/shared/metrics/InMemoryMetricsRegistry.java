@@ -0,0 +1,123 @@
+package com.buschmais.jqassistant.core.shared.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * A {@link MetricsRegistry} keeping all metrics in memory.
+ *
+ * Histograms use buckets with power of two boundaries, i.e. percentiles are
+ * approximated by the upper boundary of the bucket containing them.
+ */
+public class InMemoryMetricsRegistry implements MetricsRegistry {
+
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    @Override
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new InMemoryCounter());
+    }
+
+    @Override
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new InMemoryHistogram());
+    }
+
+    @Override
+    public Map<String, Counter> getCounters() {
+        return unmodifiableMap(new TreeMap<>(counters));
+    }
+
+    @Override
+    public Map<String, Histogram> getHistograms() {
+        return unmodifiableMap(new TreeMap<>(histograms));
+    }
+
+    private static final class InMemoryCounter implements Counter {
+
+        private final LongAdder count = new LongAdder();
+
+        @Override
+        public void increment(long amount) {
+            count.add(amount);
+        }
+
+        @Override
+        public long getCount() {
+            return count.sum();
+        }
+    }
+
+    private static final class InMemoryHistogram implements Histogram {
+
+        /**
+         * Bucket `i` contains the values between `2^(i-1)` and `2^i - 1`, bucket `0`
+         * contains all values less than `1`.
+         */
+        private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE + 1);
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder sum = new LongAdder();
+
+        private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+        private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+        @Override
+        public void record(long value) {
+            buckets.incrementAndGet(value > 0 ? Long.SIZE - Long.numberOfLeadingZeros(value) : 0);
+            count.increment();
+            sum.add(value);
+            min.accumulateAndGet(value, Math::min);
+            max.accumulateAndGet(value, Math::max);
+        }
+
+        @Override
+        public long getCount() {
+            return count.sum();
+        }
+
+        @Override
+        public long getSum() {
+            return sum.sum();
+        }
+
+        @Override
+        public long getMin() {
+            return getCount() > 0 ? min.get() : 0;
+        }
+
+        @Override
+        public long getMax() {
+            return getCount() > 0 ? max.get() : 0;
+        }
+
+        @Override
+        public long getPercentile(double percentile) {
+            long total = getCount();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile * total));
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    long upperBound = i == 0 ? 0 : i == Long.SIZE ? Long.MAX_VALUE : (1L << i) - 1;
+                    return Math.max(getMin(), Math.min(getMax(), upperBound));
+                }
+            }
+            return getMax();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.buschmais.jqassistant.core.shared.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Exports metrics to a JSON file.
+ *
+ * The file contains an object `counters` mapping names to values and an object
+ * `histograms` mapping names to objects providing `count`, `sum`, `min`, `max`,
+ * `mean`, `p50`, `p95` and `p99`.
+ */
+public class JsonFileMetricsExporter implements MetricsExporter {
+
+    private final File file;
+
+    /**
+     * Constructor.
+     *
+     * @param file
+     *            The file to write, existing files are overwritten.
+     */
+    public JsonFileMetricsExporter(File file) {
+        this.file = file;
+    }
+
+    @Override
+    public void export(MetricsRegistry metricsRegistry) throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null) {
+            directory.mkdirs();
+        }
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), UTF_8)) {
+            writer.write("{\n  \"counters\": {");
+            Iterator<Map.Entry<String, Counter>> counters = metricsRegistry.getCounters().entrySet().iterator();
+            while (counters.hasNext()) {
+                Map.Entry<String, Counter> entry = counters.next();
+                writer.write("\n    " + quote(entry.getKey()) + ": " + entry.getValue().getCount() + (counters.hasNext() ? "," : "\n  "));
+            }
+            writer.write("},\n  \"histograms\": {");
+            Iterator<Map.Entry<String, Histogram>> histograms = metricsRegistry.getHistograms().entrySet().iterator();
+            while (histograms.hasNext()) {
+                Map.Entry<String, Histogram> entry = histograms.next();
+                Histogram histogram = entry.getValue();
+                writer.write("\n    " + quote(entry.getKey()) + ": {\"count\": " + histogram.getCount() + ", \"sum\": " + histogram.getSum() + ", \"min\": "
+                        + histogram.getMin() + ", \"max\": " + histogram.getMax() + ", \"mean\": " + histogram.getMean() + ", \"p50\": "
+                        + histogram.getPercentile(0.5) + ", \"p95\": " + histogram.getPercentile(0.95) + ", \"p99\": " + histogram.getPercentile(0.99) + "}"
+                        + (histograms.hasNext() ? "," : "\n  "));
+            }
+            writer.write("}\n}\n");
+        }
+    }
+
+    private static String quote(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+            case '"':
+                builder.append("\\\"");
+                break;
+            case '\\':
+                builder.append("\\\\");
+                break;
+            default:
+                if (c < 0x20) {
+                    builder.append(String.format("\\u%04x", (int) c));
+                } else {
+                    builder.append(c);
+                }
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
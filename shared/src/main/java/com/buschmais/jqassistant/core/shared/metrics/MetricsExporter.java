@@ -0,0 +1,19 @@
+package com.buschmais.jqassistant.core.shared.metrics;
+
+import java.io.IOException;
+
+/**
+ * Exports the metrics of a {@link MetricsRegistry}.
+ */
+public interface MetricsExporter {
+
+    /**
+     * Export the current values of all metrics.
+     *
+     * @param metricsRegistry
+     *            The {@link MetricsRegistry}.
+     * @throws IOException
+     *             If the export fails.
+     */
+    void export(MetricsRegistry metricsRegistry) throws IOException;
+}
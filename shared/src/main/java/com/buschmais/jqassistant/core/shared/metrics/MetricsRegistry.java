@@ -0,0 +1,59 @@
+package com.buschmais.jqassistant.core.shared.metrics;
+
+import java.util.Map;
+
+/**
+ * Provides {@link Counter}s and {@link Histogram}s identified by name.
+ *
+ * Names are dot separated, e.g. `scanner.plugin.JavaClassScanner.scan`.
+ * Durations are recorded in nanoseconds. Implementations must be thread-safe.
+ */
+public interface MetricsRegistry {
+
+    /**
+     * A registry which does not record anything.
+     */
+    MetricsRegistry NOOP = new NoopMetricsRegistry();
+
+    /**
+     * Determine if metrics are recorded, allows callers to skip measuring (e.g.
+     * taking timestamps) if not.
+     *
+     * @return `true` if metrics are recorded.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Get or create a {@link Counter}.
+     *
+     * @param name
+     *            The name.
+     * @return The {@link Counter}.
+     */
+    Counter counter(String name);
+
+    /**
+     * Get or create a {@link Histogram}.
+     *
+     * @param name
+     *            The name.
+     * @return The {@link Histogram}.
+     */
+    Histogram histogram(String name);
+
+    /**
+     * Return all {@link Counter}s.
+     *
+     * @return The {@link Counter}s ordered by name.
+     */
+    Map<String, Counter> getCounters();
+
+    /**
+     * Return all {@link Histogram}s.
+     *
+     * @return The {@link Histogram}s ordered by name.
+     */
+    Map<String, Histogram> getHistograms();
+}
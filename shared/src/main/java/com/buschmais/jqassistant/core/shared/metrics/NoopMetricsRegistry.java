@@ -0,0 +1,83 @@
+package com.buschmais.jqassistant.core.shared.metrics;
+
+import java.util.Map;
+
+import static java.util.Collections.emptyMap;
+
+/**
+ * A {@link MetricsRegistry} which does not record anything.
+ */
+final class NoopMetricsRegistry implements MetricsRegistry {
+
+    private static final Counter COUNTER = new Counter() {
+        @Override
+        public void increment(long amount) {
+        }
+
+        @Override
+        public long getCount() {
+            return 0;
+        }
+    };
+
+    private static final Histogram HISTOGRAM = new Histogram() {
+        @Override
+        public void record(long value) {
+        }
+
+        @Override
+        public long getCount() {
+            return 0;
+        }
+
+        @Override
+        public long getSum() {
+            return 0;
+        }
+
+        @Override
+        public long getMin() {
+            return 0;
+        }
+
+        @Override
+        public long getMax() {
+            return 0;
+        }
+
+        @Override
+        public long getPercentile(double percentile) {
+            return 0;
+        }
+    };
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public Counter counter(String name) {
+        return COUNTER;
+    }
+
+    @Override
+    public Histogram histogram(String name) {
+        return HISTOGRAM;
+    }
+
+    @Override
+    public Map<String, Counter> getCounters() {
+        return emptyMap();
+    }
+
+    @Override
+    public Map<String, Histogram> getHistograms() {
+        return emptyMap();
+    }
+
+    @Override
+    public String toString() {
+        return "NOOP";
+    }
+}
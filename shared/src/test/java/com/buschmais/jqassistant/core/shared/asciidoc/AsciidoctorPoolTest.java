@@ -0,0 +1,88 @@
+package com.buschmais.jqassistant.core.shared.asciidoc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.asciidoctor.Asciidoctor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AsciidoctorPoolTest {
+
+    private final List<Asciidoctor> created = new ArrayList<>();
+
+    private AsciidoctorPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new AsciidoctorPool(() -> {
+            Asciidoctor asciidoctor = mock(Asciidoctor.class);
+            created.add(asciidoctor);
+            return asciidoctor;
+        }, 1);
+    }
+
+    @Test
+    void reuseInstanceOfProfile() {
+        Consumer<Asciidoctor> initializer = mock(Consumer.class);
+
+        Asciidoctor first = pool.apply("test", initializer, asciidoctor -> asciidoctor);
+        Asciidoctor second = pool.apply("test", initializer, asciidoctor -> asciidoctor);
+
+        assertSame(first, second);
+        assertEquals(1, created.size());
+        assertEquals(1, pool.getInstances());
+        verify(initializer).accept(first);
+    }
+
+    @Test
+    void evictIdleInstanceOfOtherProfile() {
+        Asciidoctor plain = pool.apply(asciidoctor -> asciidoctor);
+        Asciidoctor rules = pool.apply("rules", asciidoctor -> {
+        }, asciidoctor -> asciidoctor);
+
+        assertNotSame(plain, rules);
+        assertEquals(1, pool.getInstances());
+        verify(plain).shutdown();
+        verify(rules, never()).shutdown();
+    }
+
+    @Test
+    void releaseSlotIfCreationFails() {
+        Consumer<Asciidoctor> failingInitializer = asciidoctor -> {
+            throw new IllegalStateException("Cannot initialize");
+        };
+
+        assertThrows(IllegalStateException.class, () -> pool.apply("test", failingInitializer, asciidoctor -> asciidoctor));
+
+        assertEquals(0, pool.getInstances());
+        assertNotNull(pool.apply(asciidoctor -> asciidoctor));
+    }
+
+    @Test
+    void shutdown() {
+        Asciidoctor asciidoctor = pool.apply(a -> a);
+
+        pool.shutdown();
+
+        verify(asciidoctor).shutdown();
+        assertEquals(0, pool.getInstances());
+    }
+
+    @Test
+    void shutdownProfile() {
+        Asciidoctor plain = pool.apply(a -> a);
+
+        pool.shutdown("rules");
+        verify(plain, never()).shutdown();
+        assertEquals(1, pool.getInstances());
+
+        pool.shutdown(AsciidoctorPool.DEFAULT_PROFILE);
+        verify(plain).shutdown();
+        assertEquals(0, pool.getInstances());
+    }
+}
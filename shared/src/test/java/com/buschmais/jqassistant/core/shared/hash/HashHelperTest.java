@@ -0,0 +1,31 @@
+package com.buschmais.jqassistant.core.shared.hash;
+
+import java.security.MessageDigest;
+
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HashHelperTest {
+
+    @Test
+    void hash() {
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", HashHelper.hash("abc"));
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", HashHelper.hash(""));
+    }
+
+    @Test
+    void digest() {
+        MessageDigest digest = HashHelper.createDigest();
+        digest.update("a".getBytes(UTF_8));
+        digest.update("bc".getBytes(UTF_8));
+
+        assertEquals(HashHelper.hash("abc"), HashHelper.toHex(digest));
+    }
+
+    @Test
+    void toHex() {
+        assertEquals("00017f80ff", HashHelper.toHex(new byte[] { 0, 1, 127, -128, -1 }));
+    }
+}
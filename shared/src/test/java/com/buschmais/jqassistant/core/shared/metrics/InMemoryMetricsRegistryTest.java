@@ -0,0 +1,89 @@
+package com.buschmais.jqassistant.core.shared.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryMetricsRegistryTest {
+
+    private final InMemoryMetricsRegistry metricsRegistry = new InMemoryMetricsRegistry();
+
+    @Test
+    void enabled() {
+        assertTrue(metricsRegistry.isEnabled());
+        assertFalse(MetricsRegistry.NOOP.isEnabled());
+    }
+
+    @Test
+    void emptyHistogram() {
+        Histogram histogram = metricsRegistry.histogram("test");
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(0.5));
+    }
+
+    @Test
+    void percentileIsUpperBoundOfBucket() {
+        Histogram histogram = metricsRegistry.histogram("test");
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        // 50th value is within the bucket [32, 63]
+        assertEquals(63, histogram.getPercentile(0.5));
+        // 95th value is within the bucket [64, 127] which is limited by the maximum
+        assertEquals(100, histogram.getPercentile(0.95));
+        assertEquals(100, histogram.getPercentile(1.0));
+        // the first value is the only one in the bucket [1, 1]
+        assertEquals(1, histogram.getPercentile(0.0));
+        assertEquals(1, histogram.getPercentile(0.01));
+        // 2nd and 3rd value are within the bucket [2, 3]
+        assertEquals(3, histogram.getPercentile(0.025));
+    }
+
+    @Test
+    void percentileOfPowersOfTwo() {
+        Histogram histogram = metricsRegistry.histogram("test");
+        histogram.record(4);
+        histogram.record(8);
+
+        // 4 is in the bucket [4, 7], 8 in the bucket [8, 15]
+        assertEquals(7, histogram.getPercentile(0.5));
+        assertEquals(8, histogram.getPercentile(0.99));
+    }
+
+    @Test
+    void percentileIsLimitedByMinimumAndMaximum() {
+        Histogram histogram = metricsRegistry.histogram("test");
+        histogram.record(5);
+        histogram.record(6);
+
+        assertEquals(6, histogram.getPercentile(0.5));
+        assertEquals(6, histogram.getPercentile(0.99));
+    }
+
+    @Test
+    void nonPositiveAndLargeValues() {
+        Histogram histogram = metricsRegistry.histogram("test");
+        histogram.record(-1);
+        histogram.record(0);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(-1, histogram.getMin());
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(0.5));
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(0.99));
+    }
+
+    @Test
+    void counter() {
+        Counter counter = metricsRegistry.counter("test");
+        counter.increment();
+        counter.increment(2);
+
+        assertEquals(3, metricsRegistry.counter("test").getCount());
+        assertEquals(1, metricsRegistry.getCounters().size());
+    }
+}
@@ -0,0 +1,53 @@
+package com.buschmais.jqassistant.core.shared.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JsonFileMetricsExporterTest {
+
+    @Test
+    void export() throws IOException {
+        InMemoryMetricsRegistry metricsRegistry = new InMemoryMetricsRegistry();
+        metricsRegistry.counter("scanner.items").increment(2);
+        metricsRegistry.histogram("scanner.scan").record(4);
+
+        String json = export(metricsRegistry);
+
+        assertEquals("{\n" + //
+                "  \"counters\": {\n" + //
+                "    \"scanner.items\": 2\n" + //
+                "  },\n" + //
+                "  \"histograms\": {\n" + //
+                "    \"scanner.scan\": {\"count\": 1, \"sum\": 4, \"min\": 4, \"max\": 4, \"mean\": 4.0, \"p50\": 4, \"p95\": 4, \"p99\": 4}\n" + //
+                "  }\n" + //
+                "}\n", json);
+    }
+
+    @Test
+    void escapeNames() throws IOException {
+        InMemoryMetricsRegistry metricsRegistry = new InMemoryMetricsRegistry();
+        metricsRegistry.counter("rule \"a\\b\"\n\t").increment();
+
+        String json = export(metricsRegistry);
+
+        assertEquals("{\n" + //
+                "  \"counters\": {\n" + //
+                "    \"rule \\\"a\\\\b\\\"\\u000a\\u0009\": 1\n" + //
+                "  },\n" + //
+                "  \"histograms\": {}\n" + //
+                "}\n", json);
+    }
+
+    private String export(MetricsRegistry metricsRegistry) throws IOException {
+        File file = File.createTempFile("metrics", ".json");
+        file.deleteOnExit();
+        new JsonFileMetricsExporter(file).export(metricsRegistry);
+        return new String(Files.readAllBytes(file.toPath()), UTF_8);
+    }
+}
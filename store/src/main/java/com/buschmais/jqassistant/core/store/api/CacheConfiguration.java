@@ -0,0 +1,52 @@
+package com.buschmais.jqassistant.core.store.api;
+
+import java.time.Duration;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Builder.Default;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Represents the configuration of a cache provided by
+ * {@link Store#getCache(String)}.
+ */
+@Setter
+@Getter
+@ToString
+@Builder
+@AllArgsConstructor(access = PRIVATE)
+@NoArgsConstructor
+public class CacheConfiguration {
+
+    /**
+     * The maximum number of entries, `null` for an unbounded cache.
+     */
+    private Long maximumSize;
+
+    /**
+     * The duration after which an entry expires if it has not been accessed,
+     * `null` if entries shall not expire.
+     */
+    private Duration expireAfterAccess;
+
+    /**
+     * If `true` values are softly referenced and may be reclaimed by the garbage
+     * collector, otherwise they are strongly referenced (and the cache should be
+     * bounded by {@link #maximumSize}).
+     */
+    @Default
+    private boolean softValues = true;
+
+    /**
+     * If `true` statistics are recorded, see {@link Store#getCacheStats()}.
+     */
+    @Default
+    private boolean recordStats = false;
+
+}
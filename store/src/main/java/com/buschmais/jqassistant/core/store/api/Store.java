@@ -1,6 +1,7 @@
 package com.buschmais.jqassistant.core.store.api;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import com.buschmais.jqassistant.core.shared.annotation.ToBeRemovedInVersion;
 import com.buschmais.jqassistant.core.store.api.model.Descriptor;
@@ -11,6 +12,7 @@ import com.buschmais.xo.api.Query.Result.CompositeRowObject;
 import com.buschmais.xo.api.XOManager;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
 /**
  * Defines the store for {@link Descriptor}s.
@@ -40,6 +42,18 @@ public interface Store {
      */
     XOManager getXOManager();
 
+    /**
+     * Open a new session on this store.
+     *
+     * The returned {@link Store} is already started and uses its own
+     * {@link XOManager} and transactions, i.e. it may be used by another thread
+     * concurrently to this store. Calling {@link #stop()} on the session only
+     * closes the session itself.
+     *
+     * @return The session.
+     */
+    Store openSession();
+
     /**
      * Clear the content of the store, i.e. delete all nodes and relationships.
      */
@@ -52,6 +66,23 @@ public interface Store {
      */
     void beginTransaction();
 
+    /**
+     * Begin a transaction which is terminated by the database if it has not been
+     * completed within the given timeout.
+     *
+     * No auto commits are performed within the transaction, i.e. all changes are
+     * discarded if it is terminated. If the store does not support transaction
+     * timeouts (e.g. a remote store where the timeout is controlled by the server
+     * setting <code>dbms.transaction.timeout</code>) a regular transaction is
+     * started.
+     *
+     * @param timeout
+     *            The timeout.
+     * @param unit
+     *            The {@link TimeUnit} of the timeout.
+     */
+    void beginTransaction(long timeout, TimeUnit unit);
+
     /**
      * Commit a transaction.
      *
@@ -149,6 +180,55 @@ public interface Store {
      */
     <T extends Descriptor> void delete(T descriptor);
 
+    /**
+     * Delete a descriptor and all descriptors which are reachable from it via
+     * outgoing relations of the given types, including all their relations.
+     *
+     * The deleted descriptors must not be used anymore, therefore all caches
+     * provided by {@link #getCache(String)} are invalidated. Other descriptors
+     * remain valid.
+     *
+     * @param descriptor
+     *            The descriptor.
+     * @param relationTypes
+     *            The types of the relations to follow.
+     * @return The number of deleted descriptors.
+     */
+    long deleteSubgraph(Descriptor descriptor, String... relationTypes);
+
+    /**
+     * Determine if the subgraph of a descriptor (see
+     * {@link #deleteSubgraph(Descriptor, String...)}) is referenced by relations
+     * from descriptors outside the subgraph, i.e. if these relations would be
+     * lost by deleting it.
+     *
+     * @param descriptor
+     *            The descriptor.
+     * @param relationTypes
+     *            The types of the relations to follow.
+     * @return `true` if the subgraph is referenced from outside.
+     */
+    boolean isSubgraphReferenced(Descriptor descriptor, String... relationTypes);
+
+    /**
+     * Mark the graph as modified by scanned content. The modification stamp
+     * provided by {@link #getGraphStamp()} is incremented once for the current
+     * transaction.
+     */
+    void touchGraph();
+
+    /**
+     * Return the modification stamp of the graph.
+     *
+     * The stamp is incremented for each committed transaction in which
+     * {@link #touchGraph()} has been called and starts again with 0 after
+     * {@link #reset()}. It allows detecting if information derived from the graph
+     * (e.g. applied concepts) may be outdated.
+     *
+     * @return The modification stamp.
+     */
+    long getGraphStamp();
+
     /**
      * Add a descriptor type to an existing descriptor.
      *
@@ -251,6 +331,10 @@ public interface Store {
     /**
      * Get or create a {@link Cache} for the given key.
      *
+     * The cache is configured according to
+     * {@link StoreConfiguration#getCaches()} or
+     * {@link StoreConfiguration#getCache()}.
+     *
      * @param cacheKey
      *            The cache key.
      * @param <K>
@@ -268,4 +352,12 @@ public interface Store {
      *            The cache key.
      */
     void invalidateCache(String cacheKey);
+
+    /**
+     * Return the statistics of all caches which record statistics (see
+     * {@link CacheConfiguration#isRecordStats()}).
+     *
+     * @return The {@link CacheStats} per cache key.
+     */
+    Map<String, CacheStats> getCacheStats();
 }
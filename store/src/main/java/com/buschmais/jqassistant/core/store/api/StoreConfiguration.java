@@ -1,8 +1,11 @@
 package com.buschmais.jqassistant.core.store.api;
 
 import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
+import com.buschmais.jqassistant.core.shared.metrics.MetricsRegistry;
 import com.buschmais.jqassistant.neo4j.backend.bootstrap.EmbeddedNeo4jConfiguration;
 
 import lombok.AllArgsConstructor;
@@ -42,6 +45,66 @@ public class StoreConfiguration {
     @Default
     private Properties properties = new Properties();
 
+    /**
+     * The lower bound for the adaptive auto commit threshold, `null` selects a
+     * store specific default.
+     */
+    private Integer autocommitMinThreshold;
+
+    /**
+     * The upper bound for the adaptive auto commit threshold, `null` selects a
+     * store specific default.
+     */
+    private Integer autocommitMaxThreshold;
+
+    /**
+     * The default configuration for caches provided by
+     * {@link Store#getCache(String)}.
+     */
+    @Default
+    private CacheConfiguration cache = CacheConfiguration.builder().build();
+
+    /**
+     * Cache configurations overriding {@link #cache} for specific cache keys.
+     */
+    @Default
+    private Map<String, CacheConfiguration> caches = new HashMap<>();
+
+    /**
+     * If `true` an embedded store which is empty on start or has been reset uses
+     * large transactions for the initial scan, the auto commit threshold may
+     * exceed {@link #autocommitMaxThreshold}.
+     */
+    @Default
+    private boolean bulkLoad = false;
+
+    /**
+     * The maximum number of nodes or relationships deleted within one transaction
+     * by {@link Store#reset()}.
+     */
+    @Default
+    private int resetBatchSize = 65536;
+
+    /**
+     * The number of concurrent sessions used by {@link Store#reset()}.
+     */
+    @Default
+    private int resetParallelism = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * If `true` an embedded store located in a directory is reset by deleting
+     * and re-creating the directory.
+     */
+    @Default
+    private boolean resetByDeletingDirectory = false;
+
+    /**
+     * The {@link MetricsRegistry} for recording the number of nodes and
+     * relationships created per transaction and the commit latency.
+     */
+    @Default
+    private MetricsRegistry metricsRegistry = MetricsRegistry.NOOP;
+
     @Default
     private EmbeddedNeo4jConfiguration embedded = EmbeddedNeo4jConfiguration.builder().build();
 
@@ -3,9 +3,12 @@ package com.buschmais.jqassistant.core.store.impl;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.*;
 
+import com.buschmais.jqassistant.core.shared.metrics.Histogram;
+import com.buschmais.jqassistant.core.shared.metrics.MetricsRegistry;
+import com.buschmais.jqassistant.core.store.api.CacheConfiguration;
 import com.buschmais.jqassistant.core.store.api.Store;
 import com.buschmais.jqassistant.core.store.api.StoreConfiguration;
 import com.buschmais.jqassistant.core.store.api.model.Descriptor;
@@ -18,9 +21,14 @@ import com.buschmais.xo.api.bootstrap.XOUnit;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Transaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static java.util.stream.Collectors.toList;
+
 /**
  * Abstract base implementation of a {@link Store}.
  *
@@ -31,19 +39,42 @@ public abstract class AbstractGraphStore implements Store {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractGraphStore.class);
 
+    private static final int MAX_RESET_BATCH_RETRIES = 3;
+
     private Map<String, Cache<?, ? extends Descriptor>> caches = new HashMap<>();
 
+    private Map<String, CacheStats> invalidatedCacheStats = new HashMap<>();
+
     protected final StoreConfiguration storeConfiguration;
 
     protected final StorePluginRepository storePluginRepository;
 
     private XOManagerFactory xoManagerFactory;
     private XOManager xoManager;
-    private int created;
+    private AutoCommitController autoCommitController;
+
+    private final Histogram nodesPerTransaction;
+    /**
+     * Only covers relations created explicitly using
+     * {@link #create(Descriptor, Class, Descriptor)}, relations created by
+     * setting relation properties of descriptors are not counted.
+     */
+    private final Histogram explicitRelationshipsPerTransaction;
+    private final Histogram commitTimes;
+    private long createdNodes = 0;
+    private long createdExplicitRelationships = 0;
+    private volatile boolean graphTouched = false;
+    private volatile boolean bulkLoad = false;
+
+    private Transaction timeoutTransaction;
 
     protected AbstractGraphStore(StoreConfiguration configuration, StorePluginRepository storePluginRepository) {
         this.storeConfiguration = configuration;
         this.storePluginRepository = storePluginRepository;
+        MetricsRegistry metricsRegistry = configuration.getMetricsRegistry();
+        this.nodesPerTransaction = metricsRegistry.histogram("store.transaction.nodes");
+        this.explicitRelationshipsPerTransaction = metricsRegistry.histogram("store.transaction.explicitRelationships");
+        this.commitTimes = metricsRegistry.histogram("store.commit");
     }
 
     @Override
@@ -55,10 +86,18 @@ public abstract class AbstractGraphStore implements Store {
         xoManagerFactory = XO.createXOManagerFactory(builder.build());
         initialize(xoManagerFactory);
         xoManager = xoManagerFactory.createXOManager();
+        autoCommitController = createAutoCommitController();
+        if (storeConfiguration.isBulkLoad() && isBulkLoadSupported() && isEmpty()) {
+            startBulkLoad();
+        }
     }
 
     @Override
     public void stop() {
+        if (LOGGER.isDebugEnabled()) {
+            getCacheStats().forEach((cacheKey, stats) -> LOGGER.debug("Cache '{}': {}", cacheKey, stats));
+        }
+        caches.clear();
         if (xoManager != null) {
             if (xoManager.currentTransaction().isActive()) {
                 LOGGER.warn("Rolling back an active transaction.");
@@ -76,9 +115,31 @@ public abstract class AbstractGraphStore implements Store {
         return xoManager;
     }
 
+    @Override
+    public Store openSession() {
+        AbstractGraphStore session = new GraphStoreSession(this);
+        session.xoManager = xoManagerFactory.createXOManager();
+        session.autoCommitController = createAutoCommitController();
+        return session;
+    }
+
+    private AutoCommitController createAutoCommitController() {
+        int initialThreshold = getAutocommitThreshold();
+        Integer minThreshold = storeConfiguration.getAutocommitMinThreshold();
+        Integer maxThreshold = storeConfiguration.getAutocommitMaxThreshold();
+        AutoCommitController controller = new AutoCommitController(initialThreshold, minThreshold != null ? minThreshold : Math.max(1, initialThreshold / 16),
+                maxThreshold != null ? maxThreshold : initialThreshold * 4);
+        if (bulkLoad) {
+            // Sessions (e.g. of concurrent scanners) write the bulk of the data
+            controller.startBulkLoad();
+        }
+        return controller;
+    }
+
     @Override
     public <T extends Descriptor> T create(Class<T> type) {
         T descriptor = xoManager.create(type);
+        createdNodes++;
         autoCommit();
         return descriptor;
     }
@@ -86,6 +147,7 @@ public abstract class AbstractGraphStore implements Store {
     @Override
     public <T extends Descriptor> T create(Class<T> type, Example<T> example) {
         T descriptor = xoManager.create(type, example);
+        createdNodes++;
         autoCommit();
         return descriptor;
     }
@@ -93,12 +155,16 @@ public abstract class AbstractGraphStore implements Store {
     @Override
     public <S extends Descriptor, R extends Descriptor, T extends Descriptor> R create(S source, Class<R> relationType, T target) {
         R descriptor = xoManager.create(source, relationType, target);
+        createdExplicitRelationships++;
+        autoCommit();
         return descriptor;
     }
 
     @Override
     public <S extends Descriptor, R extends Descriptor, T extends Descriptor> R create(S source, Class<R> relationType, T target, Example<R> example) {
         R descriptor = xoManager.create(source, relationType, target, example);
+        createdExplicitRelationships++;
+        autoCommit();
         return descriptor;
     }
 
@@ -107,9 +173,10 @@ public abstract class AbstractGraphStore implements Store {
      * transaction is committed and a new one started.
      */
     private void autoCommit() {
-        created++;
-        if (created == getAutocommitThreshold()) {
+        if (timeoutTransaction == null && autoCommitController.written()) {
+            long start = System.nanoTime();
             flush();
+            autoCommitController.committed(System.nanoTime() - start);
         }
     }
 
@@ -131,14 +198,95 @@ public abstract class AbstractGraphStore implements Store {
         xoManager.delete(descriptor);
     }
 
+    @Override
+    public void touchGraph() {
+        graphTouched = true;
+    }
+
+    @Override
+    public long getGraphStamp() {
+        // The stamp is requested by the analysis, i.e. the initial load is finished
+        endBulkLoad();
+        applyGraphStamp();
+        try (Result<Result.CompositeRowObject> result = executeQuery("MATCH (stamp:GraphStamp) RETURN stamp.value as value")) {
+            return result.hasResult() ? result.getSingleResult().get("value", Long.class) : 0;
+        }
+    }
+
+    /**
+     * Increments the persistent modification stamp if the graph has been touched
+     * within the current transaction.
+     */
+    private void applyGraphStamp() {
+        if (graphTouched) {
+            graphTouched = false;
+            executeQuery("MERGE (stamp:GraphStamp) ON CREATE SET stamp.value=1 ON MATCH SET stamp.value=stamp.value+1").close();
+        }
+    }
+
     @Override
     public <T extends Descriptor, N extends Descriptor> N addDescriptorType(T descriptor, Class<?> newDescriptorType, Class<N> as) {
-        return xoManager.migrate(descriptor).add(newDescriptorType).as(as);
+        N migrated = xoManager.migrate(descriptor).add(newDescriptorType).as(as);
+        autoCommit();
+        return migrated;
+    }
+
+    @Override
+    public long deleteSubgraph(Descriptor descriptor, String... relationTypes) {
+        // Apply pending changes of the descriptors before deleting them
+        xoManager.flush();
+        List<Descriptor> nodes = new ArrayList<>();
+        String query = subgraphQuery(relationTypes) + " RETURN node";
+        try (Result<Result.CompositeRowObject> result = executeQuery(query, Collections.singletonMap("root", descriptor.getId()))) {
+            for (Result.CompositeRowObject row : result) {
+                nodes.add(row.get("node", Descriptor.class));
+            }
+        }
+        // Delete the nodes using XO which only drops their instances, other descriptors (e.g. on the scanner context) stay valid
+        List<Object> ids = nodes.stream().map(Descriptor::getId).collect(toList());
+        executeQuery("MATCH (node)-[r]-() WHERE id(node) IN $nodes DELETE r", Collections.singletonMap("nodes", ids)).close();
+        nodes.forEach(xoManager::delete);
+        new ArrayList<>(caches.keySet()).forEach(this::invalidateCache);
+        return nodes.size();
+    }
+
+    @Override
+    public boolean isSubgraphReferenced(Descriptor descriptor, String... relationTypes) {
+        xoManager.flush();
+        String query = subgraphQuery(relationTypes) + " WITH collect(node) as subgraph UNWIND subgraph as node"
+                + " MATCH (node)<-[r]-(other) WHERE NOT other IN subgraph RETURN r LIMIT 1";
+        try (Result<Result.CompositeRowObject> result = executeQuery(query, Collections.singletonMap("root", descriptor.getId()))) {
+            return result.hasResult();
+        }
+    }
+
+    /**
+     * Create the part of a query matching the nodes of a subgraph as `node`,
+     * starting from the root node identified by the parameter `root`.
+     *
+     * @param relationTypes
+     *            The types of the relations to follow.
+     * @return The query.
+     */
+    private String subgraphQuery(String... relationTypes) {
+        StringBuilder query = new StringBuilder("MATCH (root) WHERE id(root)=$root");
+        if (relationTypes.length > 0) {
+            query.append(" OPTIONAL MATCH (root)-[:");
+            for (int i = 0; i < relationTypes.length; i++) {
+                query.append(i > 0 ? "|" : "").append(escape(relationTypes[i]));
+            }
+            query.append("*]->(n) WITH root, collect(DISTINCT n) as nodes UNWIND [root] + nodes as node WITH DISTINCT node");
+        } else {
+            query.append(" WITH root as node");
+        }
+        return query.toString();
     }
 
     @Override
     public <T extends Descriptor, N extends Descriptor> N addDescriptorType(T descriptor, Class<N> newDescriptorType) {
-        return xoManager.migrate(descriptor).add(newDescriptorType).as(newDescriptorType);
+        N migrated = xoManager.migrate(descriptor).add(newDescriptorType).as(newDescriptorType);
+        autoCommit();
+        return migrated;
     }
 
     @Override
@@ -170,17 +318,67 @@ public abstract class AbstractGraphStore implements Store {
     @Override
     public void beginTransaction() {
         xoManager.currentTransaction().begin();
-        created = 0;
+        autoCommitController.reset();
+        createdNodes = 0;
+        createdExplicitRelationships = 0;
+    }
+
+    @Override
+    public void beginTransaction(long timeout, TimeUnit unit) {
+        GraphDatabaseService graphDatabaseService = getGraphDatabaseService(xoManager);
+        if (graphDatabaseService != null) {
+            // The XO transaction is nested into the outer Neo4j transaction carrying the timeout
+            timeoutTransaction = graphDatabaseService.beginTx(timeout, unit);
+        } else {
+            LOGGER.debug("Transaction timeouts are not supported by the store, starting a regular transaction.");
+        }
+        beginTransaction();
     }
 
     @Override
     public void commitTransaction() {
+        applyGraphStamp();
+        long start = System.nanoTime();
         xoManager.currentTransaction().commit();
+        if (timeoutTransaction != null) {
+            timeoutTransaction.success();
+            closeTimeoutTransaction();
+        }
+        commitTimes.record(System.nanoTime() - start);
+        nodesPerTransaction.record(createdNodes);
+        explicitRelationshipsPerTransaction.record(createdExplicitRelationships);
     }
 
     @Override
     public void rollbackTransaction() {
-        xoManager.currentTransaction().rollback();
+        graphTouched = false;
+        try {
+            xoManager.currentTransaction().rollback();
+        } finally {
+            if (timeoutTransaction != null) {
+                timeoutTransaction.failure();
+                closeTimeoutTransaction();
+            }
+        }
+    }
+
+    private void closeTimeoutTransaction() {
+        Transaction transaction = timeoutTransaction;
+        timeoutTransaction = null;
+        transaction.close();
+    }
+
+    /**
+     * Return the {@link GraphDatabaseService} used by the given {@link XOManager}
+     * for starting transactions with a timeout.
+     *
+     * @param xoManager
+     *            The {@link XOManager}.
+     * @return The {@link GraphDatabaseService} or <code>null</code> if the store
+     *         does not provide direct access to the database.
+     */
+    protected GraphDatabaseService getGraphDatabaseService(XOManager xoManager) {
+        return null;
     }
 
     @Override
@@ -197,36 +395,227 @@ public abstract class AbstractGraphStore implements Store {
     @Override
     public void reset() {
         LOGGER.info("Resetting store.");
-        Map<String, Object> params = new HashMap<>();
-        params.put("batchSize", 65536);
-        long totalNodes = 0;
-        long nodes;
         Instant start = Instant.now();
-        do {
-            beginTransaction();
-            Result.CompositeRowObject result = executeQuery("MATCH (n) " + //
-                    "OPTIONAL MATCH (n)-[r]-() " + //
-                    "WITH n, r " + //
-                    "LIMIT $batchSize " + //
-                    "WITH distinct n " + //
-                    "DETACH DELETE n " + //
-                    "RETURN count(n) as nodes", params).getSingleResult();
-            nodes = result.get("nodes", Long.class);
-            totalNodes = totalNodes + nodes;
-            commitTransaction();
-        } while (nodes > 0);
+        caches.clear();
+        // Delete relationships first (partitioned by type), this allows deleting nodes without checking for relationships
+        List<String> relationshipTypes = getValues("CALL db.relationshipTypes() YIELD relationshipType RETURN relationshipType as value");
+        List<String> relationshipQueries = relationshipTypes.stream()
+                .map(relationshipType -> "MATCH ()-[r:" + escape(relationshipType) + "]->() WITH r LIMIT $batchSize DELETE r RETURN count(r) as deleted")
+                .collect(toList());
+        long totalRelationships = delete(relationshipQueries, "relationships");
+        // Delete nodes partitioned by label, each node is deleted by the partition of its first label
+        List<String> labels = getValues("CALL db.labels() YIELD label RETURN label as value");
+        List<String> nodeQueries = new ArrayList<>();
+        for (int i = 0; i < labels.size(); i++) {
+            StringBuilder query = new StringBuilder("MATCH (n:").append(escape(labels.get(i))).append(")");
+            for (int j = 0; j < i; j++) {
+                query.append(j == 0 ? " WHERE NOT n:" : " AND NOT n:").append(escape(labels.get(j)));
+            }
+            query.append(" WITH n LIMIT $batchSize DETACH DELETE n RETURN count(n) as deleted");
+            nodeQueries.add(query.toString());
+        }
+        // Finally delete all remaining nodes, e.g. without labels
+        nodeQueries.add("MATCH (n) WITH n LIMIT $batchSize DETACH DELETE n RETURN count(n) as deleted");
+        long totalNodes = delete(nodeQueries.subList(0, nodeQueries.size() - 1), "nodes");
+        totalNodes = totalNodes + delete(this, nodeQueries.get(nodeQueries.size() - 1), "nodes");
         Instant end = Instant.now();
-        LOGGER.info("Reset finished (removed {} nodes, duration: {}s).", totalNodes, Duration.between(start, end).get(ChronoUnit.SECONDS));
+        LOGGER.info("Reset finished (removed {} nodes and {} relationships, duration: {}s).", totalNodes, totalRelationships,
+                Duration.between(start, end).get(ChronoUnit.SECONDS));
+    }
+
+    /**
+     * Executes a query returning a single column named `value` and returns the
+     * values.
+     */
+    private List<String> getValues(String query) {
+        List<String> values = new ArrayList<>();
+        beginTransaction();
+        try (Result<Result.CompositeRowObject> result = executeQuery(query)) {
+            for (Result.CompositeRowObject row : result) {
+                values.add(row.get("value", String.class));
+            }
+        } finally {
+            commitTransaction();
+        }
+        Collections.sort(values);
+        return values;
+    }
+
+    private static String escape(String name) {
+        return "`" + name.replace("`", "``") + "`";
+    }
+
+    /**
+     * Executes the given delete queries (one per partition) concurrently using
+     * {@link StoreConfiguration#getResetParallelism()} sessions.
+     *
+     * @return The total number of deleted elements.
+     */
+    private long delete(List<String> queries, String elements) {
+        int parallelism = Math.min(storeConfiguration.getResetParallelism(), queries.size());
+        if (parallelism <= 1) {
+            long total = 0;
+            for (String query : queries) {
+                total = total + delete(this, query, elements);
+            }
+            return total;
+        }
+        ExecutorService executorService = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<Long>> partitions = new ArrayList<>();
+            for (String query : queries) {
+                partitions.add(executorService.submit(() -> {
+                    Store session = openSession();
+                    try {
+                        return delete(session, query, elements);
+                    } finally {
+                        session.stop();
+                    }
+                }));
+            }
+            long total = 0;
+            for (Future<Long> partition : partitions) {
+                total = total + partition.get();
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while resetting store.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Cannot reset store.", e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Executes a delete query in batches of
+     * {@link StoreConfiguration#getResetBatchSize()} until no more elements are
+     * deleted. A failing batch (e.g. caused by a deadlock between concurrent
+     * partitions) is retried.
+     *
+     * @return The number of deleted elements.
+     */
+    private long delete(Store store, String query, String elements) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("batchSize", storeConfiguration.getResetBatchSize());
+        long total = 0;
+        long deleted;
+        int failures = 0;
+        do {
+            store.beginTransaction();
+            try (Result<Result.CompositeRowObject> result = store.executeQuery(query, params)) {
+                deleted = result.getSingleResult().get("deleted", Long.class);
+                store.commitTransaction();
+                failures = 0;
+            } catch (RuntimeException e) {
+                if (store.hasActiveTransaction()) {
+                    store.rollbackTransaction();
+                }
+                if (++failures > MAX_RESET_BATCH_RETRIES) {
+                    throw e;
+                }
+                LOGGER.debug("Retrying failed batch of '{}'.", query, e);
+                deleted = 1;
+                continue;
+            }
+            total = total + deleted;
+            if (deleted > 0) {
+                LOGGER.info("Removed {} {}.", deleted, elements);
+            }
+        } while (deleted > 0);
+        return total;
     }
 
     @Override
     public <K, V extends Descriptor> Cache<K, V> getCache(String cacheKey) {
-        return (Cache<K, V>) caches.computeIfAbsent(cacheKey, key -> Caffeine.newBuilder().softValues().build());
+        return (Cache<K, V>) caches.computeIfAbsent(cacheKey, this::createCache);
+    }
+
+    private <K, V extends Descriptor> Cache<K, V> createCache(String cacheKey) {
+        CacheConfiguration cacheConfiguration = storeConfiguration.getCaches().getOrDefault(cacheKey, storeConfiguration.getCache());
+        Caffeine<Object, Object> builder = Caffeine.newBuilder();
+        if (cacheConfiguration.getMaximumSize() != null) {
+            builder.maximumSize(cacheConfiguration.getMaximumSize());
+        }
+        if (cacheConfiguration.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(cacheConfiguration.getExpireAfterAccess().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        if (cacheConfiguration.isSoftValues()) {
+            builder.softValues();
+        }
+        if (cacheConfiguration.isRecordStats()) {
+            builder.recordStats();
+        }
+        return builder.build();
     }
 
     @Override
     public void invalidateCache(String cacheKey) {
-        caches.remove(cacheKey);
+        Cache<?, ? extends Descriptor> cache = caches.remove(cacheKey);
+        if (cache != null) {
+            // Keep the statistics of the invalidated cache
+            invalidatedCacheStats.merge(cacheKey, cache.stats(), CacheStats::plus);
+        }
+    }
+
+    @Override
+    public Map<String, CacheStats> getCacheStats() {
+        Map<String, CacheStats> cacheStats = new TreeMap<>(invalidatedCacheStats);
+        caches.forEach((cacheKey, cache) -> cacheStats.merge(cacheKey, cache.stats(), CacheStats::plus));
+        cacheStats.values().removeIf(stats -> stats.requestCount() == 0 && stats.evictionCount() == 0);
+        return cacheStats;
+    }
+
+    /**
+     * Determine if the store contains any node.
+     *
+     * @return `true` if the store is empty.
+     */
+    protected boolean isEmpty() {
+        beginTransaction();
+        try (Result<Result.CompositeRowObject> result = executeQuery("MATCH (n) RETURN n LIMIT 1")) {
+            return !result.hasResult();
+        } finally {
+            commitTransaction();
+        }
+    }
+
+    /**
+     * Determine if the store supports bulk loading, i.e. if large transactions
+     * are beneficial for an empty store.
+     *
+     * @return `true` if bulk loading is supported.
+     */
+    protected boolean isBulkLoadSupported() {
+        return false;
+    }
+
+    /**
+     * Prepare the store for bulk loading, i.e. raise the auto commit threshold of
+     * the store and all sessions beyond the configured maximum to create large
+     * transactions.
+     *
+     * Bulk loading ends with the initial load, see {@link #endBulkLoad()}.
+     */
+    protected void startBulkLoad() {
+        bulkLoad = true;
+        autoCommitController.startBulkLoad();
+        LOGGER.info("Using bulk load mode (auto commit threshold: {}).", autoCommitController.getThreshold());
+    }
+
+    /**
+     * End bulk loading if it has been started, i.e. restore the configured
+     * maximum auto commit threshold for the store and all sessions opened
+     * afterwards. This happens if the modification stamp of the graph is
+     * requested, e.g. by the analysis after the initial load.
+     */
+    protected void endBulkLoad() {
+        if (bulkLoad) {
+            bulkLoad = false;
+            autoCommitController.endBulkLoad();
+            LOGGER.info("Finished bulk load mode (auto commit threshold: {}).", autoCommitController.getThreshold());
+        }
     }
 
     /**
@@ -239,6 +628,11 @@ public abstract class AbstractGraphStore implements Store {
      */
     protected abstract void initialize(XOManagerFactory xoManagerFactory);
 
+    /**
+     * Return the store specific initial auto commit threshold.
+     *
+     * @return The threshold.
+     */
     protected abstract int getAutocommitThreshold();
 
 }
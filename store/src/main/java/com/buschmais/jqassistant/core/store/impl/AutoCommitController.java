@@ -0,0 +1,163 @@
+package com.buschmais.jqassistant.core.store.impl;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Controls the auto commit threshold of a store, i.e. the number of write
+ * operations (created nodes and relationships) after which the current
+ * transaction is committed.
+ *
+ * The threshold is adapted at runtime within the configured bounds: it is
+ * decreased if a commit takes too long or the heap is nearly exhausted by the
+ * transaction state and increased if commits are fast. The heap usage is
+ * determined from the old generation after the last garbage collection, i.e.
+ * without garbage which has not been collected yet. While bulk loading the
+ * upper bound is raised by {@link #BULK_LOAD_FACTOR} until the bulk load ends.
+ */
+class AutoCommitController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AutoCommitController.class);
+
+    /**
+     * Commits taking longer than this are considered too expensive.
+     */
+    static final long MAX_COMMIT_MILLIS = 2000;
+
+    /**
+     * Commits taking less than this allow a larger threshold.
+     */
+    static final long MIN_COMMIT_MILLIS = 250;
+
+    /**
+     * The ratio of used to max heap which causes the threshold to be decreased.
+     */
+    static final double MAX_HEAP_USAGE = 0.75;
+
+    /**
+     * The memory pool of the old generation, i.e. the heap pool supporting a
+     * usage threshold, or `null` if it cannot be determined.
+     */
+    private static final MemoryPoolMXBean OLD_GENERATION = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isUsageThresholdSupported() && pool.isCollectionUsageThresholdSupported())
+            .findFirst().orElse(null);
+
+    /**
+     * The factor applied to the maximum threshold while bulk loading.
+     */
+    static final int BULK_LOAD_FACTOR = 4;
+
+    private final int minThreshold;
+
+    private final int configuredMaxThreshold;
+
+    private int maxThreshold;
+
+    private int threshold;
+
+    private int written = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param initialThreshold
+     *            The initial threshold.
+     * @param minThreshold
+     *            The minimum threshold.
+     * @param maxThreshold
+     *            The maximum threshold.
+     */
+    AutoCommitController(int initialThreshold, int minThreshold, int maxThreshold) {
+        if (minThreshold < 1 || maxThreshold < minThreshold) {
+            throw new IllegalArgumentException("Invalid auto commit threshold bounds [" + minThreshold + ", " + maxThreshold + "].");
+        }
+        this.minThreshold = minThreshold;
+        this.configuredMaxThreshold = maxThreshold;
+        this.maxThreshold = maxThreshold;
+        this.threshold = Math.min(maxThreshold, Math.max(minThreshold, initialThreshold));
+    }
+
+    /**
+     * Reset the number of write operations, called if a transaction is started.
+     */
+    void reset() {
+        written = 0;
+    }
+
+    /**
+     * Count a write operation.
+     *
+     * @return `true` if the threshold has been reached and the transaction shall
+     *         be committed.
+     */
+    boolean written() {
+        return ++written >= threshold;
+    }
+
+    /**
+     * Adapt the threshold after an auto commit.
+     *
+     * @param commitNanos
+     *            The duration of the commit.
+     */
+    void committed(long commitNanos) {
+        adjust(TimeUnit.NANOSECONDS.toMillis(commitNanos), getHeapUsage());
+    }
+
+    /**
+     * Determine the heap usage after the last garbage collection of the old
+     * generation.
+     *
+     * @return The ratio of used to max memory of the old generation, 0 if it
+     *         cannot be determined (e.g. before the first collection).
+     */
+    static double getHeapUsage() {
+        MemoryUsage usage = OLD_GENERATION != null ? OLD_GENERATION.getCollectionUsage() : null;
+        if (usage == null || usage.getMax() <= 0) {
+            return 0;
+        }
+        return (double) usage.getUsed() / usage.getMax();
+    }
+
+    void adjust(long commitMillis, double heapUsage) {
+        int previous = threshold;
+        if (commitMillis > MAX_COMMIT_MILLIS || heapUsage > MAX_HEAP_USAGE) {
+            threshold = Math.max(minThreshold, threshold / 2);
+        } else if (commitMillis < MIN_COMMIT_MILLIS) {
+            threshold = (int) Math.min(maxThreshold, threshold + threshold / 2L);
+        }
+        if (threshold != previous) {
+            LOGGER.debug("Adjusted auto commit threshold from {} to {} (commit: {}ms, heap usage: {}%).", previous, threshold, commitMillis,
+                    Math.round(heapUsage * 100));
+        }
+    }
+
+    /**
+     * Start bulk loading into an empty store, i.e. raise the maximum threshold
+     * beyond the configured bound and use it. The threshold will still be
+     * decreased if commits become too expensive.
+     */
+    void startBulkLoad() {
+        maxThreshold = (int) Math.min(Integer.MAX_VALUE, (long) configuredMaxThreshold * BULK_LOAD_FACTOR);
+        threshold = maxThreshold;
+    }
+
+    /**
+     * End bulk loading, i.e. restore the configured maximum threshold and bound
+     * the threshold by it.
+     */
+    void endBulkLoad() {
+        maxThreshold = configuredMaxThreshold;
+        threshold = Math.min(threshold, maxThreshold);
+    }
+
+    int getThreshold() {
+        return threshold;
+    }
+}
@@ -1,8 +1,16 @@
 package com.buschmais.jqassistant.core.store.impl;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.ServiceLoader;
+import java.util.stream.Stream;
 
 import com.buschmais.jqassistant.core.store.api.Store;
 import com.buschmais.jqassistant.core.store.api.StoreConfiguration;
@@ -50,6 +58,27 @@ public class EmbeddedGraphStore extends AbstractGraphStore {
         return this.server;
     }
 
+    @Override
+    public void reset() {
+        File directory = getDirectory();
+        if (storeConfiguration.isResetByDeletingDirectory() && directory != null) {
+            LOGGER.info("Resetting store by deleting directory '{}'.", directory.getAbsolutePath());
+            stop();
+            deleteDirectory(directory);
+            super.start();
+        } else {
+            super.reset();
+            if (storeConfiguration.isBulkLoad()) {
+                startBulkLoad();
+            }
+        }
+    }
+
+    @Override
+    protected boolean isBulkLoadSupported() {
+        return true;
+    }
+
     @Override
     protected XOUnit configure(XOUnit.XOUnitBuilder builder, StoreConfiguration storeConfiguration) {
         this.embeddedNeo4jConfiguration = storeConfiguration.getEmbedded();
@@ -73,6 +102,39 @@ public class EmbeddedGraphStore extends AbstractGraphStore {
         }
     }
 
+    @Override
+    protected GraphDatabaseService getGraphDatabaseService(XOManager xoManager) {
+        return xoManager.getDatastoreSession(EmbeddedNeo4jDatastoreSession.class).getGraphDatabaseService();
+    }
+
+    /**
+     * Determine the directory of a file based store.
+     *
+     * @return The directory or `null` if the store is not file based.
+     */
+    private File getDirectory() {
+        URI uri = storeConfiguration.getUri();
+        if (!"file".equalsIgnoreCase(uri.getScheme()) || uri.getPath() == null) {
+            return null;
+        }
+        File directory = new File(uri.getPath());
+        return directory.isDirectory() ? directory : null;
+    }
+
+    private void deleteDirectory(File directory) {
+        try (Stream<Path> paths = Files.walk(directory.toPath())) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            throw new IllegalStateException("Cannot delete store directory '" + directory.getAbsolutePath() + "'.", e);
+        }
+    }
+
     private EmbeddedNeo4jServerFactory getEmbeddedNeo4jServerFactory() {
         ServiceLoader<EmbeddedNeo4jServerFactory> serverFactories = ServiceLoader.load(EmbeddedNeo4jServerFactory.class);
         Iterator<EmbeddedNeo4jServerFactory> iterator = serverFactories.iterator();
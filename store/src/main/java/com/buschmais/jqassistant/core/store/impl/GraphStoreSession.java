@@ -0,0 +1,77 @@
+package com.buschmais.jqassistant.core.store.impl;
+
+import com.buschmais.jqassistant.core.store.api.Store;
+import com.buschmais.jqassistant.core.store.api.StoreConfiguration;
+import com.buschmais.xo.api.XOManager;
+import com.buschmais.xo.api.XOManagerFactory;
+import com.buschmais.xo.api.bootstrap.XOUnit;
+import org.neo4j.graphdb.GraphDatabaseService;
+
+/**
+ * A session on an {@link AbstractGraphStore} as returned by
+ * {@link Store#openSession()}.
+ *
+ * The session shares the {@link XOManagerFactory} of the store which opened it
+ * but uses its own {@link com.buschmais.xo.api.XOManager}, caches and
+ * transactions.
+ */
+class GraphStoreSession extends AbstractGraphStore {
+
+    private final AbstractGraphStore store;
+
+    GraphStoreSession(AbstractGraphStore store) {
+        super(store.storeConfiguration, store.storePluginRepository);
+        this.store = store;
+    }
+
+    @Override
+    public void start() {
+        // The session has already been opened by the store.
+    }
+
+    @Override
+    protected XOUnit configure(XOUnit.XOUnitBuilder builder, StoreConfiguration storeConfiguration) {
+        throw new IllegalStateException("A store session cannot be configured.");
+    }
+
+    @Override
+    protected void initialize(XOManagerFactory xoManagerFactory) {
+        throw new IllegalStateException("A store session cannot be initialized.");
+    }
+
+    /**
+     * The session does not own the {@link XOManagerFactory}, a new session is
+     * therefore opened by the store which opened this session.
+     */
+    @Override
+    public Store openSession() {
+        return store.openSession();
+    }
+
+    /**
+     * Sessions are used by concurrent workers, the modification is therefore
+     * recorded by the store which opened the session.
+     */
+    @Override
+    public void touchGraph() {
+        store.touchGraph();
+    }
+
+    /**
+     * Bulk loading is controlled by the store which opened the session.
+     */
+    @Override
+    protected void endBulkLoad() {
+        store.endBulkLoad();
+    }
+
+    @Override
+    protected GraphDatabaseService getGraphDatabaseService(XOManager xoManager) {
+        return store.getGraphDatabaseService(xoManager);
+    }
+
+    @Override
+    protected int getAutocommitThreshold() {
+        return store.getAutocommitThreshold();
+    }
+}
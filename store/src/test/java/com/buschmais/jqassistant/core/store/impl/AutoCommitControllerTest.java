@@ -0,0 +1,94 @@
+package com.buschmais.jqassistant.core.store.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AutoCommitControllerTest {
+
+    @Test
+    void thresholdReached() {
+        AutoCommitController controller = new AutoCommitController(3, 1, 10);
+
+        assertThat(controller.written()).isFalse();
+        assertThat(controller.written()).isFalse();
+        assertThat(controller.written()).isTrue();
+        controller.reset();
+        assertThat(controller.written()).isFalse();
+    }
+
+    @Test
+    void initialThresholdIsBounded() {
+        assertThat(new AutoCommitController(100, 1, 10).getThreshold()).isEqualTo(10);
+        assertThat(new AutoCommitController(0, 5, 10).getThreshold()).isEqualTo(5);
+        assertThatThrownBy(() -> new AutoCommitController(10, 20, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void slowCommitDecreasesThreshold() {
+        AutoCommitController controller = new AutoCommitController(1000, 400, 4000);
+
+        controller.adjust(AutoCommitController.MAX_COMMIT_MILLIS + 1, 0.1);
+        assertThat(controller.getThreshold()).isEqualTo(500);
+        controller.adjust(AutoCommitController.MAX_COMMIT_MILLIS + 1, 0.1);
+        assertThat(controller.getThreshold()).isEqualTo(400);
+    }
+
+    @Test
+    void heapUsageDecreasesThreshold() {
+        AutoCommitController controller = new AutoCommitController(1000, 1, 4000);
+
+        controller.adjust(AutoCommitController.MIN_COMMIT_MILLIS - 1, 0.9);
+
+        assertThat(controller.getThreshold()).isEqualTo(500);
+    }
+
+    @Test
+    void heapUsageIsRatio() {
+        assertThat(AutoCommitController.getHeapUsage()).isBetween(0.0, 1.0);
+    }
+
+    @Test
+    void fastCommitIncreasesThreshold() {
+        AutoCommitController controller = new AutoCommitController(1000, 1, 2000);
+
+        controller.adjust(AutoCommitController.MIN_COMMIT_MILLIS - 1, 0.1);
+        assertThat(controller.getThreshold()).isEqualTo(1500);
+        controller.adjust(AutoCommitController.MIN_COMMIT_MILLIS - 1, 0.1);
+        assertThat(controller.getThreshold()).isEqualTo(2000);
+        controller.adjust(AutoCommitController.MIN_COMMIT_MILLIS + 1, 0.1);
+        assertThat(controller.getThreshold()).isEqualTo(2000);
+    }
+
+    @Test
+    void bulkLoadExceedsMaximumThreshold() {
+        AutoCommitController controller = new AutoCommitController(1000, 1, 8000);
+
+        controller.startBulkLoad();
+        assertThat(controller.getThreshold()).isEqualTo(8000 * AutoCommitController.BULK_LOAD_FACTOR);
+        controller.adjust(AutoCommitController.MIN_COMMIT_MILLIS - 1, 0.9);
+        assertThat(controller.getThreshold()).isEqualTo(4000 * AutoCommitController.BULK_LOAD_FACTOR);
+        controller.adjust(AutoCommitController.MIN_COMMIT_MILLIS - 1, 0.1);
+        controller.adjust(AutoCommitController.MIN_COMMIT_MILLIS - 1, 0.1);
+        assertThat(controller.getThreshold()).isEqualTo(8000 * AutoCommitController.BULK_LOAD_FACTOR);
+        // repeated bulk loads (e.g. after a reset) do not raise the maximum threshold any further
+        controller.startBulkLoad();
+        assertThat(controller.getThreshold()).isEqualTo(8000 * AutoCommitController.BULK_LOAD_FACTOR);
+    }
+
+    @Test
+    void endBulkLoadRestoresMaximumThreshold() {
+        AutoCommitController controller = new AutoCommitController(1000, 1, 8000);
+        controller.startBulkLoad();
+
+        controller.endBulkLoad();
+
+        assertThat(controller.getThreshold()).isEqualTo(8000);
+        controller.adjust(AutoCommitController.MIN_COMMIT_MILLIS - 1, 0.1);
+        assertThat(controller.getThreshold()).isEqualTo(8000);
+        controller.adjust(AutoCommitController.MAX_COMMIT_MILLIS + 1, 0.1);
+        controller.endBulkLoad();
+        assertThat(controller.getThreshold()).isEqualTo(4000);
+    }
+}
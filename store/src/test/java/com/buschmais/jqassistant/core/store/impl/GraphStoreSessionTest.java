@@ -0,0 +1,82 @@
+package com.buschmais.jqassistant.core.store.impl;
+
+import com.buschmais.jqassistant.core.store.api.Store;
+import com.buschmais.jqassistant.core.store.api.StoreConfiguration;
+import com.buschmais.jqassistant.core.store.spi.StorePluginRepository;
+import com.buschmais.xo.api.XOManagerFactory;
+import com.buschmais.xo.api.bootstrap.XOUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GraphStoreSessionTest {
+
+    @Mock
+    private StorePluginRepository storePluginRepository;
+
+    private AbstractGraphStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = spy(new TestGraphStore(StoreConfiguration.builder().build(), storePluginRepository));
+    }
+
+    @Test
+    void openSessionDelegatesToStore() {
+        Store otherSession = mock(Store.class);
+        doReturn(otherSession).when(store).openSession();
+        GraphStoreSession session = new GraphStoreSession(store);
+
+        assertThat(session.openSession()).isSameAs(otherSession);
+    }
+
+    @Test
+    void touchGraphDelegatesToStore() {
+        GraphStoreSession session = new GraphStoreSession(store);
+
+        session.touchGraph();
+
+        verify(store).touchGraph();
+    }
+
+    @Test
+    void endBulkLoadDelegatesToStore() {
+        GraphStoreSession session = new GraphStoreSession(store);
+
+        session.endBulkLoad();
+
+        verify(store).endBulkLoad();
+    }
+
+    /**
+     * A store which cannot be started, sufficient for creating sessions.
+     */
+    private static class TestGraphStore extends AbstractGraphStore {
+
+        private TestGraphStore(StoreConfiguration configuration, StorePluginRepository storePluginRepository) {
+            super(configuration, storePluginRepository);
+        }
+
+        @Override
+        protected XOUnit configure(XOUnit.XOUnitBuilder builder, StoreConfiguration storeConfiguration) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected void initialize(XOManagerFactory xoManagerFactory) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected int getAutocommitThreshold() {
+            return 1;
+        }
+    }
+}